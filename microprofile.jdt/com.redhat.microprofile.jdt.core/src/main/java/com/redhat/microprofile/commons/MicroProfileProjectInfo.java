@@ -23,6 +23,8 @@ public class MicroProfileProjectInfo extends ConfigurationMetadata {
 
 	private ClasspathKind classpathKind;
 
+	private String classpathFingerprint;
+
 	/**
 	 * Returns the project URI.
 	 * 
@@ -59,4 +61,26 @@ public class MicroProfileProjectInfo extends ConfigurationMetadata {
 		this.classpathKind = classpathKind;
 	}
 
+	/**
+	 * Returns the fingerprint of the resolved classpath which was used to collect
+	 * the properties of the sources and dependencies and null otherwise (ex : the
+	 * properties of the sources only).
+	 * 
+	 * @return the fingerprint of the resolved classpath which was used to collect
+	 *         the properties of the sources and dependencies and null otherwise.
+	 */
+	public String getClasspathFingerprint() {
+		return classpathFingerprint;
+	}
+
+	/**
+	 * Set the fingerprint of the resolved classpath which was used to collect the
+	 * properties.
+	 * 
+	 * @param classpathFingerprint the fingerprint of the resolved classpath.
+	 */
+	public void setClasspathFingerprint(String classpathFingerprint) {
+		this.classpathFingerprint = classpathFingerprint;
+	}
+
 }
@@ -98,8 +98,9 @@ public class PropertiesManager {
 	public MicroProfileProjectInfo getMicroProfileProjectInfo(IJavaProject javaProject,
 			List<MicroProfilePropertiesScope> scopes, ClasspathKind classpathKind, IProgressMonitor monitor)
 			throws JavaModelException, CoreException {
-		MicroProfileProjectInfo info = createInfo(javaProject, classpathKind);
-		if (classpathKind == ClasspathKind.NONE) {
+		MicroProfileProjectInfo info = createInfo(javaProject, scopes, classpathKind);
+		if (classpathKind == ClasspathKind.NONE || scopes.isEmpty()) {
+			// no search is required, returns only the project URI and the classpath kind
 			info.setProperties(Collections.emptyList());
 			return info;
 		}
@@ -152,10 +153,17 @@ public class PropertiesManager {
 		}
 	}
 
-	private static MicroProfileProjectInfo createInfo(IJavaProject javaProject, ClasspathKind classpathKind) {
+	private static MicroProfileProjectInfo createInfo(IJavaProject javaProject,
+			List<MicroProfilePropertiesScope> scopes, ClasspathKind classpathKind) {
 		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
 		info.setProjectURI(JDTMicroProfileUtils.getProjectURI(javaProject));
 		info.setClasspathKind(classpathKind);
+		if (scopes.contains(MicroProfilePropertiesScope.dependencies)) {
+			// the fingerprint stats all the JARs of the classpath, it's computed only for
+			// the project information which is persisted (sources and dependencies) and
+			// not for the requests sent on each java source change (only sources)
+			info.setClasspathFingerprint(JDTMicroProfileUtils.getClasspathFingerprint(javaProject));
+		}
 		return info;
 	}
 
@@ -9,6 +9,11 @@
 *******************************************************************************/
 package com.redhat.microprofile.jdt.internal.core.utils;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -108,4 +113,53 @@ public class JDTMicroProfileUtils {
 		return entry.isTest() ? ClasspathKind.TEST : ClasspathKind.SRC;
 	}
 
+	/**
+	 * Returns a fingerprint of the resolved classpath of the given java project and
+	 * null if it cannot be computed.
+	 *
+	 * <p>
+	 * The fingerprint changes when a classpath entry is added or removed and when
+	 * a library (JAR) of the classpath is updated. It is used by the language
+	 * server to know if a persisted snapshot of the project information is still
+	 * valid.
+	 * </p>
+	 *
+	 * @param javaProject the java project
+	 * @return a fingerprint of the resolved classpath of the given java project and
+	 *         null if it cannot be computed.
+	 */
+	public static String getClasspathFingerprint(IJavaProject javaProject) {
+		try {
+			IClasspathEntry[] classpath = ((JavaProject) javaProject).getResolvedClasspath();
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			for (IClasspathEntry entry : classpath) {
+				IPath path = entry.getPath();
+				digest.update(path.toPortableString().getBytes(StandardCharsets.UTF_8));
+				if (entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY) {
+					File file = getLibraryFile(path);
+					digest.update(
+							(":" + file.lastModified() + ":" + file.length()).getBytes(StandardCharsets.UTF_8));
+				}
+				digest.update((byte) '\n');
+			}
+			StringBuilder fingerprint = new StringBuilder();
+			for (byte b : digest.digest()) {
+				fingerprint.append(String.format("%02x", b));
+			}
+			return fingerprint.toString();
+		} catch (JavaModelException | NoSuchAlgorithmException e) {
+			return null;
+		}
+	}
+
+	private static File getLibraryFile(IPath path) {
+		IResource resource = ResourcesPlugin.getWorkspace().getRoot().findMember(path);
+		if (resource != null && resource.getLocation() != null) {
+			// JAR stored in the workspace
+			return resource.getLocation().toFile();
+		}
+		// external JAR
+		return path.toFile();
+	}
+
 }
@@ -46,6 +46,12 @@ public enum MicroProfilePropertiesScope {
 		return allValues[value - 1];
 	}
 
+	/**
+	 * No scope: the project information hosts only the project URI and the
+	 * classpath kind of the properties file, without properties.
+	 */
+	public static final List<MicroProfilePropertiesScope> NONE = Collections.emptyList();
+
 	public static final List<MicroProfilePropertiesScope> ONLY_SOURCES = Collections
 			.singletonList(MicroProfilePropertiesScope.sources);
 
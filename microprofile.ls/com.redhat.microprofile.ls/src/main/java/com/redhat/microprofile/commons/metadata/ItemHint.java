@@ -9,7 +9,9 @@
 *******************************************************************************/
 package com.redhat.microprofile.commons.metadata;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Configuration item hint.
@@ -22,12 +24,17 @@ public class ItemHint extends ItemBase {
 
 	private List<ValueHint> values;
 
+	private transient Map<String, ValueHint> valuesCache;
+
+	private transient int valuesCacheSize;
+
 	public List<ValueHint> getValues() {
 		return values;
 	}
 
 	public void setValues(List<ValueHint> values) {
 		this.values = values;
+		this.valuesCache = null;
 	}
 
 	/**
@@ -88,16 +95,35 @@ public class ItemHint extends ItemBase {
 
 	}
 
+	/**
+	 * Returns the value hint of the given value and null otherwise.
+	 * 
+	 * @param value the value
+	 * @return the value hint of the given value and null otherwise.
+	 */
 	public ValueHint getValue(String value) {
 		if (values == null || value == null) {
 			return null;
 		}
+		Map<String, ValueHint> cache = valuesCache;
+		if (cache == null || valuesCacheSize != values.size()) {
+			// the values list can be filled after the hint creation
+			cache = createValuesCache(values);
+			valuesCacheSize = values.size();
+			valuesCache = cache;
+		}
+		return cache.get(value);
+	}
+
+	private static Map<String, ValueHint> createValuesCache(List<ValueHint> values) {
+		Map<String, ValueHint> cache = new HashMap<>(values.size() * 4 / 3 + 1);
 		for (ValueHint valueHint : values) {
-			if (value.equals(valueHint.getValue())) {
-				return valueHint;
+			if (valueHint != null && valueHint.getValue() != null) {
+				// the first value wins, like a linear scan
+				cache.putIfAbsent(valueHint.getValue(), valueHint);
 			}
 		}
-		return null;
+		return cache;
 	}
 
 	@Override
@@ -33,6 +33,58 @@ public class ItemMetadata extends ItemBase {
 	 */
 	public static final int CONFIG_PHASE_RUN_TIME = 3;
 
+	/**
+	 * Kind of the type of an item, used to validate its values.
+	 */
+	public static enum TypeKind {
+
+		BOOLEAN, INTEGER, FLOAT, LONG, DOUBLE, SHORT, OTHER;
+
+		/**
+		 * Returns the kind of the given type.
+		 * 
+		 * @param type the type (ex : 'int', 'java.lang.Integer',
+		 *             'java.util.OptionalInt').
+		 * @return the kind of the given type.
+		 */
+		public static TypeKind of(String type) {
+			if (type == null) {
+				return OTHER;
+			}
+			switch (type) {
+			case "boolean":
+			case "java.lang.Boolean":
+			case "java.util.Optional<java.lang.Boolean>":
+				return BOOLEAN;
+			case "int":
+			case "java.lang.Integer":
+			case "java.util.OptionalInt":
+			case "java.util.Optional<java.lang.Integer>":
+				return INTEGER;
+			case "float":
+			case "java.lang.Float":
+			case "java.util.Optional<java.lang.Float>":
+				return FLOAT;
+			case "long":
+			case "java.lang.Long":
+			case "java.util.OptionalLong":
+			case "java.util.Optional<java.lang.Long>":
+				return LONG;
+			case "double":
+			case "java.lang.Double":
+			case "java.util.OptionalDouble":
+			case "java.util.Optional<java.lang.Double>":
+				return DOUBLE;
+			case "short":
+			case "java.lang.Short":
+			case "java.util.Optional<java.lang.Short>":
+				return SHORT;
+			default:
+				return OTHER;
+			}
+		}
+	}
+
 	private String type;
 
 	private String sourceField;
@@ -45,12 +97,15 @@ public class ItemMetadata extends ItemBase {
 	private boolean required;
 	private int phase;
 
+	private transient TypeKind typeKind;
+
 	public String getType() {
 		return type;
 	}
 
 	public void setType(String type) {
 		this.type = type;
+		this.typeKind = null;
 	}
 
 	public String getSourceField() {
@@ -105,43 +160,43 @@ public class ItemMetadata extends ItemBase {
 		return phase == CONFIG_PHASE_BUILD_AND_RUN_TIME_FIXED || phase == CONFIG_PHASE_RUN_TIME;
 	}
 
+	/**
+	 * Returns the kind of the type of this item, computed once from the type.
+	 * 
+	 * @return the kind of the type of this item, computed once from the type.
+	 */
+	public TypeKind getTypeKind() {
+		TypeKind kind = typeKind;
+		if (kind == null) {
+			// the field is transient and is not set by the JSON deserialization
+			kind = TypeKind.of(type);
+			typeKind = kind;
+		}
+		return kind;
+	}
+
 	public boolean isBooleanType() {
-		return "boolean".equals(getType()) || //
-				"java.lang.Boolean".equals(getType()) || //
-				"java.util.Optional<java.lang.Boolean>".equals(getType());
+		return getTypeKind() == TypeKind.BOOLEAN;
 	}
 
 	public boolean isIntegerType() {
-		return "int".equals(getType()) || //
-				"java.lang.Integer".equals(getType()) || //
-				"java.util.OptionalInt".equals(getType()) || //
-				"java.util.Optional<java.lang.Integer>".equals(getType());
+		return getTypeKind() == TypeKind.INTEGER;
 	}
 
 	public boolean isFloatType() {
-		return "float".equals(getType()) || //
-				"java.lang.Float".equals(getType()) || //
-				"java.util.Optional<java.lang.Float>".equals(getType());
+		return getTypeKind() == TypeKind.FLOAT;
 	}
 
 	public boolean isLongType() {
-		return "long".equals(getType()) || //
-				"java.lang.Long".equals(getType()) || //
-				"java.util.OptionalLong".equals(getType()) || //
-				"java.util.Optional<java.lang.Long>".equals(getType());
+		return getTypeKind() == TypeKind.LONG;
 	}
 
 	public boolean isDoubleType() {
-		return "double".equals(getType()) || //
-				"java.lang.Double".equals(getType()) || //
-				"java.util.OptionalDouble".equals(getType()) || //
-				"java.util.Optional<java.lang.Double>".equals(getType());
+		return getTypeKind() == TypeKind.DOUBLE;
 	}
 
 	public boolean isShortType() {
-		return "short".equals(getType()) || //
-				"java.lang.Short".equals(getType()) || //
-				"java.util.Optional<java.lang.Short>".equals(getType());
+		return getTypeKind() == TypeKind.SHORT;
 	}
 
 	@Override
@@ -9,11 +9,15 @@
 *******************************************************************************/
 package com.redhat.microprofile.ls;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
@@ -36,7 +40,6 @@ import org.eclipse.lsp4j.DocumentSymbolParams;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.LocationLink;
-import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.TextDocumentClientCapabilities;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
@@ -47,11 +50,17 @@ import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 import com.redhat.microprofile.commons.MicroProfileProjectInfoParams;
 import com.redhat.microprofile.commons.MicroProfilePropertiesChangeEvent;
+import com.redhat.microprofile.ls.api.MicroProfileWorkspaceValidationResult;
 import com.redhat.microprofile.ls.commons.ModelTextDocument;
 import com.redhat.microprofile.ls.commons.ModelTextDocuments;
+import com.redhat.microprofile.ls.commons.MultiCancelChecker;
 import com.redhat.microprofile.model.PropertiesModel;
+import com.redhat.microprofile.services.MicroProfileCompletionItemData;
+import com.redhat.microprofile.services.MicroProfileIncrementalValidator;
 import com.redhat.microprofile.services.MicroProfileLanguageService;
+import com.redhat.microprofile.settings.MicroProfileCompletionSettings;
 import com.redhat.microprofile.settings.MicroProfileFormattingSettings;
+import com.redhat.microprofile.settings.MicroProfileServerSettings;
 import com.redhat.microprofile.settings.MicroProfileSymbolSettings;
 import com.redhat.microprofile.settings.MicroProfileValidationSettings;
 import com.redhat.microprofile.settings.SharedSettings;
@@ -64,8 +73,34 @@ public class ApplicationPropertiesTextDocumentService extends AbstractTextDocume
 
 	private final ModelTextDocuments<PropertiesModel> documents;
 
+	/**
+	 * The incremental validators of the opened properties files.
+	 */
+	private final Map<String, MicroProfileIncrementalValidator> validators = new ConcurrentHashMap<>();
+
+	private final MicroProfileValidationScheduler validationScheduler;
+
+	private final MicroProfileDiagnosticsPublisher diagnosticsPublisher;
+
+	/**
+	 * The parallelism of the workspace validation, one processor is kept for the
+	 * requests of the opened documents.
+	 */
+	private static final int WORKSPACE_VALIDATION_PARALLELISM = Math.max(1,
+			Runtime.getRuntime().availableProcessors() - 1);
+
+	private ForkJoinPool workspaceValidationPool;
+
 	private MicroProfileProjectInfoCache projectInfoCache;
 
+	private final MicroProfileProjectInfoStore projectInfoStore;
+
+	private int projectInfoCacheBudget = MicroProfileServerSettings.DEFAULT_PROJECT_INFO_CACHE_BUDGET;
+
+	private MicroProfileMemoryPressureMonitor memoryPressureMonitor;
+
+	private boolean warmUpEnabled;
+
 	private final MicroProfileLanguageServer microprofileLanguageServer;
 
 	private final SharedSettings sharedSettings;
@@ -81,6 +116,11 @@ public class ApplicationPropertiesTextDocumentService extends AbstractTextDocume
 			return PropertiesModel.parse(document);
 		});
 		this.sharedSettings = sharedSettings;
+		this.projectInfoStore = new MicroProfileProjectInfoStore();
+		this.validationScheduler = new MicroProfileValidationScheduler(
+				sharedSettings.getValidationSettings().getDelay());
+		this.diagnosticsPublisher = new MicroProfileDiagnosticsPublisher(
+				params -> microprofileLanguageServer.getLanguageClient().publishDiagnostics(params));
 	}
 
 	/**
@@ -103,7 +143,7 @@ public class ApplicationPropertiesTextDocumentService extends AbstractTextDocume
 	@Override
 	public void didOpen(DidOpenTextDocumentParams params) {
 		ModelTextDocument<PropertiesModel> document = documents.onDidOpenTextDocument(params);
-		triggerValidationFor(document);
+		triggerValidationFor(document, true);
 	}
 
 	@Override
@@ -117,8 +157,9 @@ public class ApplicationPropertiesTextDocumentService extends AbstractTextDocume
 		documents.onDidCloseTextDocument(params);
 		TextDocumentIdentifier document = params.getTextDocument();
 		String uri = document.getUri();
-		microprofileLanguageServer.getLanguageClient()
-				.publishDiagnostics(new PublishDiagnosticsParams(uri, new ArrayList<Diagnostic>()));
+		validationScheduler.cancel(uri);
+		validators.remove(uri);
+		diagnosticsPublisher.publish(uri, new ArrayList<Diagnostic>());
 	}
 
 	@Override
@@ -141,12 +182,28 @@ public class ApplicationPropertiesTextDocumentService extends AbstractTextDocume
 				// Properties model document
 				CompletionList list = getMicroProfileLanguageService().doComplete(document, params.getPosition(),
 						projectInfo, sharedSettings.getCompletionSettings(), sharedSettings.getFormattingSettings(),
-						null);
+						sharedSettings.getCommandCapabilities(), null);
 				return Either.forRight(list);
 			});
 		});
 	}
 
+	@Override
+	public CompletableFuture<CompletionItem> resolveCompletionItem(CompletionItem unresolved) {
+		MicroProfileCompletionItemData data = MicroProfileCompletionItemData.getData(unresolved);
+		if (data == null || data.getUri() == null) {
+			return CompletableFuture.completedFuture(unresolved);
+		}
+		// Get Quarkus project information which stores all available Quarkus
+		// properties
+		MicroProfileProjectInfoParams projectInfoParams = createProjectInfoParams(data.getUri());
+		return getProjectInfoCache().getMicroProfileProjectInfo(projectInfoParams).thenApply(projectInfo -> {
+			// then compute the documentation of the item
+			return getMicroProfileLanguageService().resolveCompletionItem(unresolved, projectInfo,
+					sharedSettings.getCompletionSettings(), sharedSettings.getFormattingSettings());
+		});
+	}
+
 	@Override
 	public CompletableFuture<Hover> hover(TextDocumentPositionParams params) {
 		// Get Quarkus project information which stores all available Quarkus
@@ -255,26 +312,106 @@ public class ApplicationPropertiesTextDocumentService extends AbstractTextDocume
 	}
 
 	private void triggerValidationFor(ModelTextDocument<PropertiesModel> document) {
+		triggerValidationFor(document, false);
+	}
+
+	/**
+	 * Schedule the validation of the given document, the previous scheduled or
+	 * running validation of the document is cancelled.
+	 * 
+	 * @param document  the document to validate.
+	 * @param immediate true if the validation must be started without delay.
+	 */
+	private void triggerValidationFor(ModelTextDocument<PropertiesModel> document, boolean immediate) {
+		validationScheduler.schedule(document.getUri(), superseded -> validate(document, superseded), immediate);
+	}
+
+	private CompletableFuture<Void> validate(ModelTextDocument<PropertiesModel> document, CancelChecker superseded) {
 		// Get Quarkus project information which stores all available Quarkus
 		// properties
 		MicroProfileProjectInfoParams projectInfoParams = createProjectInfoParams(document.getUri());
-		getProjectInfoCache().getMicroProfileProjectInfo(projectInfoParams).thenComposeAsync(projectInfo -> {
+		return getProjectInfoCache().getMicroProfileProjectInfo(projectInfoParams).thenComposeAsync(projectInfo -> {
 			if (projectInfo.getProperties().isEmpty()) {
-				return null;
+				return CompletableFuture.completedFuture(null);
 			}
 			// then get the Properties model document
-			return getPropertiesModel(document, (cancelChecker, model) -> {
+			return getPropertiesModel(document, (modelCancelChecker, model) -> {
 				// then return do validation by using the Quarkus project information and the
 				// Properties model document
+				CancelChecker cancelChecker = new MultiCancelChecker(modelCancelChecker, superseded);
+				cancelChecker.checkCanceled();
+				MicroProfileIncrementalValidator validator = validators.computeIfAbsent(model.getDocumentURI(),
+						uri -> new MicroProfileIncrementalValidator());
 				List<Diagnostic> diagnostics = getMicroProfileLanguageService().doDiagnostics(model, projectInfo,
-						getSharedSettings().getValidationSettings(), cancelChecker);
-				microprofileLanguageServer.getLanguageClient()
-						.publishDiagnostics(new PublishDiagnosticsParams(model.getDocumentURI(), diagnostics));
+						getSharedSettings().getValidationSettings(), validator, cancelChecker);
+				// don't publish the diagnostics of a superseded validation
+				cancelChecker.checkCanceled();
+				diagnosticsPublisher.publish(model.getDocumentURI(), diagnostics);
 				return null;
 			});
 		});
 	}
 
+	/**
+	 * Validates all the properties files of the given workspace folders in
+	 * parallel. The diagnostics are published per file.
+	 * 
+	 * <p>
+	 * The opened properties files are validated with the validation scheduler, so
+	 * that a validation of the workspace cannot publish diagnostics older than
+	 * the diagnostics of a change of the document, and are not counted in the
+	 * result.
+	 * </p>
+	 * 
+	 * @param workspaceFolders the workspace folders.
+	 * @return the number of validated files and diagnostics and the aggregate
+	 *         timings.
+	 */
+	public CompletableFuture<MicroProfileWorkspaceValidationResult> validateWorkspace(
+			Collection<Path> workspaceFolders) {
+		for (ModelTextDocument<PropertiesModel> document : documents.all()) {
+			triggerValidationFor(document, true);
+		}
+		MicroProfileWorkspaceValidation validation = new MicroProfileWorkspaceValidation(getProjectInfoCache(),
+				getMicroProfileLanguageService(), sharedSettings.getValidationSettings(),
+				uri -> getDocument(uri) != null,
+				params -> diagnosticsPublisher.publish(params.getUri(), params.getDiagnostics()),
+				getWorkspaceValidationPool());
+		return validation.validate(workspaceFolders);
+	}
+
+	/**
+	 * Returns the publisher of the diagnostics, which suppresses the
+	 * notifications when the diagnostics of an URI don't change.
+	 * 
+	 * @return the publisher of the diagnostics.
+	 */
+	MicroProfileDiagnosticsPublisher getDiagnosticsPublisher() {
+		return diagnosticsPublisher;
+	}
+
+	private synchronized ForkJoinPool getWorkspaceValidationPool() {
+		if (workspaceValidationPool == null) {
+			workspaceValidationPool = new ForkJoinPool(WORKSPACE_VALIDATION_PARALLELISM);
+		}
+		return workspaceValidationPool;
+	}
+
+	/**
+	 * Stops the threads of the workspace validation and the memory pressure
+	 * monitor when the server is shut down.
+	 */
+	public synchronized void shutdown() {
+		if (workspaceValidationPool != null) {
+			workspaceValidationPool.shutdownNow();
+			workspaceValidationPool = null;
+		}
+		if (memoryPressureMonitor != null) {
+			memoryPressureMonitor.stop();
+			memoryPressureMonitor = null;
+		}
+	}
+
 	/**
 	 * Returns the text document from the given uri.
 	 * 
@@ -350,6 +487,9 @@ public class ApplicationPropertiesTextDocumentService extends AbstractTextDocume
 		// Update validation settings
 		MicroProfileValidationSettings validation = sharedSettings.getValidationSettings();
 		validation.update(newValidation);
+		validationScheduler.setDelay(validation.getDelay());
+		// the validation settings are updated in place, forget the previous validations
+		validators.values().forEach(MicroProfileIncrementalValidator::reset);
 		// trigger validation for all opened application.properties
 		documents.all().stream().forEach(document -> {
 			triggerValidationFor(document);
@@ -366,10 +506,69 @@ public class ApplicationPropertiesTextDocumentService extends AbstractTextDocume
 		formatting.setSurroundEqualsWithSpaces(newFormatting.isSurroundEqualsWithSpaces());
 	}
 
+	/**
+	 * Updates the completion settings configured from the client.
+	 * 
+	 * @param newCompletion the new completion settings
+	 */
+	public void updateCompletionSettings(MicroProfileCompletionSettings newCompletion) {
+		MicroProfileCompletionSettings completion = sharedSettings.getCompletionSettings();
+		completion.setMaxItems(newCompletion.getMaxItems());
+		completion.setSegmentThreshold(newCompletion.getSegmentThreshold());
+	}
+
+	/**
+	 * Updates the server settings configured from the client.
+	 * 
+	 * @param newServer the new server settings
+	 */
+	public void updateServerSettings(MicroProfileServerSettings newServer) {
+		projectInfoStore.setWorkDir(newServer.getNormalizedWorkDir());
+		updateProjectInfoCacheBudget(newServer.getProjectInfoCacheBudget());
+		warmUpEnabled = newServer.isWarmUp();
+	}
+
+	/**
+	 * Prefetch in the background the project information of the properties files
+	 * of the given workspace folders if the warm-up is enabled. The warm-up is
+	 * cancelled as soon as a foreground request requires the JDT LS extension.
+	 * 
+	 * @param workspaceFolders the workspace folders.
+	 */
+	public void warmUp(Collection<Path> workspaceFolders) {
+		if (!warmUpEnabled || workspaceFolders.isEmpty()) {
+			return;
+		}
+		MicroProfileProjectInfoCache cache = getProjectInfoCache();
+		MicroProfileProjectInfoWarmUp warmUp = new MicroProfileProjectInfoWarmUp(cache, workspaceFolders);
+		cache.setForegroundRequestListener(() -> {
+			warmUp.cancel();
+			cache.setForegroundRequestListener(null);
+		});
+		warmUp.start();
+	}
+
+	private synchronized void updateProjectInfoCacheBudget(int budget) {
+		projectInfoCacheBudget = budget;
+		if (projectInfoCache != null) {
+			projectInfoCache.setBudget(budget);
+		}
+	}
+
 	public SharedSettings getSharedSettings() {
 		return sharedSettings;
 	}
 
+	/**
+	 * Returns the scheduler of the validations of the opened properties files
+	 * (ex : to read the numbers of debounced and cancelled validations).
+	 * 
+	 * @return the scheduler of the validations of the opened properties files.
+	 */
+	public MicroProfileValidationScheduler getValidationScheduler() {
+		return validationScheduler;
+	}
+
 	private MicroProfileProjectInfoCache getProjectInfoCache() {
 		if (projectInfoCache == null) {
 			createProjectInfoCache();
@@ -381,7 +580,24 @@ public class ApplicationPropertiesTextDocumentService extends AbstractTextDocume
 		if (projectInfoCache != null) {
 			return;
 		}
-		projectInfoCache = new MicroProfileProjectInfoCache(microprofileLanguageServer.getLanguageClient());
+		projectInfoCache = new MicroProfileProjectInfoCache(microprofileLanguageServer.getLanguageClient(),
+				projectInfoStore, (uri, diff) -> {
+					// the served project information was obsolete, revalidate the properties file
+					// if its validation could change
+					ModelTextDocument<PropertiesModel> document = getDocument(uri);
+					if (document != null) {
+						document.getModel().thenAccept(model -> {
+							if (diff.isAffected(model)) {
+								triggerValidationFor(document);
+							}
+						});
+					}
+				}, uri -> documents.get(uri) != null);
+		projectInfoCache.setBudget(projectInfoCacheBudget);
+		// evict the project information of closed properties files when the heap is
+		// nearly full
+		memoryPressureMonitor = new MicroProfileMemoryPressureMonitor(projectInfoCache::evictOnMemoryPressure);
+		memoryPressureMonitor.start();
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,214 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.redhat.microprofile.commons.metadata.ItemHint;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+
+/**
+ * Workspace-wide registry which shares the binary properties and hints (coming
+ * from the JARs of the classpath) between the project information of all
+ * projects.
+ *
+ * <p>
+ * In a multi-module workspace, each project depends on the same Quarkus
+ * extensions. Binary properties are grouped by extension (a sequence of
+ * properties with the same extension name) and binary hints by name: a group
+ * which is equal to a group already registered is replaced with the registered
+ * instance, so the {@link ItemMetadata} and {@link ItemHint} of an extension
+ * are hosted once whatever the number of projects.
+ * </p>
+ *
+ * <p>
+ * Groups are reference counted: a project information acquires its groups with
+ * {@link #acquire(List, List)} and releases them with
+ * {@link #release(BinaryMetadata)} when it is evicted or replaced.
+ * </p>
+ *
+ */
+class MicroProfileBinaryMetadataRegistry {
+
+	/**
+	 * A shared group of items.
+	 */
+	private static class Group<T> {
+
+		private final String key;
+
+		private final List<T> items;
+
+		private int references;
+
+		public Group(String key, List<T> items) {
+			this.key = key;
+			this.items = Collections.unmodifiableList(new ArrayList<>(items));
+		}
+	}
+
+	/**
+	 * The binary properties and hints of a project information which point to the
+	 * shared groups.
+	 */
+	static class BinaryMetadata {
+
+		private final List<Group<ItemMetadata>> propertyGroups;
+
+		private final List<Group<ItemHint>> hintGroups;
+
+		private final List<ItemMetadata> properties;
+
+		private final List<ItemHint> hints;
+
+		private boolean released;
+
+		private BinaryMetadata(List<Group<ItemMetadata>> propertyGroups, List<Group<ItemHint>> hintGroups) {
+			this.propertyGroups = propertyGroups;
+			this.hintGroups = hintGroups;
+			this.properties = Collections.unmodifiableList(flatten(propertyGroups));
+			this.hints = Collections.unmodifiableList(flatten(hintGroups));
+		}
+
+		/**
+		 * Returns the binary properties in the order of the acquired list.
+		 *
+		 * @return the binary properties in the order of the acquired list.
+		 */
+		public List<ItemMetadata> getProperties() {
+			return properties;
+		}
+
+		/**
+		 * Returns the binary hints in the order of the acquired list.
+		 *
+		 * @return the binary hints in the order of the acquired list.
+		 */
+		public List<ItemHint> getHints() {
+			return hints;
+		}
+
+		private static <T> List<T> flatten(List<Group<T>> groups) {
+			List<T> items = new ArrayList<>();
+			for (Group<T> group : groups) {
+				items.addAll(group.items);
+			}
+			return items;
+		}
+	}
+
+	private final Map<String, List<Group<ItemMetadata>>> propertyGroups = new HashMap<>();
+
+	private final Map<String, List<Group<ItemHint>>> hintGroups = new HashMap<>();
+
+	/**
+	 * Returns the shared binary metadata for the given binary properties and
+	 * hints and increments the references of the shared groups.
+	 *
+	 * @param binaryProperties the binary properties of a project.
+	 * @param binaryHints      the binary hints of a project.
+	 * @return the shared binary metadata for the given binary properties and
+	 *         hints.
+	 */
+	public synchronized BinaryMetadata acquire(List<ItemMetadata> binaryProperties, List<ItemHint> binaryHints) {
+		List<Group<ItemMetadata>> properties = new ArrayList<>();
+		int start = 0;
+		while (start < binaryProperties.size()) {
+			// collect the sequence of properties of the same extension
+			String extensionName = getExtensionName(binaryProperties.get(start));
+			int end = start + 1;
+			while (end < binaryProperties.size()
+					&& Objects.equals(extensionName, getExtensionName(binaryProperties.get(end)))) {
+				end++;
+			}
+			properties.add(acquire(propertyGroups, String.valueOf(extensionName), binaryProperties.subList(start, end)));
+			start = end;
+		}
+		List<Group<ItemHint>> hints = new ArrayList<>(binaryHints.size());
+		for (ItemHint hint : binaryHints) {
+			hints.add(acquire(hintGroups, hint != null ? String.valueOf(hint.getName()) : "",
+					Collections.singletonList(hint)));
+		}
+		return new BinaryMetadata(properties, hints);
+	}
+
+	private static <T> Group<T> acquire(Map<String, List<Group<T>>> groupsByKey, String key, List<T> items) {
+		List<Group<T>> groups = groupsByKey.computeIfAbsent(key, k -> new ArrayList<>(1));
+		Group<T> shared = null;
+		for (Group<T> group : groups) {
+			if (group.items.equals(items)) {
+				shared = group;
+				break;
+			}
+		}
+		if (shared == null) {
+			// another version of the extension (or a new extension)
+			shared = new Group<>(key, items);
+			groups.add(shared);
+		}
+		shared.references++;
+		return shared;
+	}
+
+	/**
+	 * Decrements the references of the shared groups of the given binary metadata
+	 * and removes the groups which are no longer referenced.
+	 *
+	 * @param metadata the binary metadata to release.
+	 */
+	public synchronized void release(BinaryMetadata metadata) {
+		if (metadata == null || metadata.released) {
+			return;
+		}
+		metadata.released = true;
+		metadata.propertyGroups.forEach(group -> release(propertyGroups, group));
+		metadata.hintGroups.forEach(group -> release(hintGroups, group));
+	}
+
+	private static <T> void release(Map<String, List<Group<T>>> groupsByKey, Group<T> group) {
+		if (--group.references > 0) {
+			return;
+		}
+		List<Group<T>> groups = groupsByKey.get(group.key);
+		if (groups != null) {
+			groups.remove(group);
+			if (groups.isEmpty()) {
+				groupsByKey.remove(group.key);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of shared properties groups.
+	 *
+	 * @return the number of shared properties groups.
+	 */
+	public synchronized int getPropertyGroupCount() {
+		return propertyGroups.values().stream().mapToInt(List::size).sum();
+	}
+
+	/**
+	 * Returns the number of shared hints groups.
+	 *
+	 * @return the number of shared hints groups.
+	 */
+	public synchronized int getHintGroupCount() {
+		return hintGroups.values().stream().mapToInt(List::size).sum();
+	}
+
+	private static String getExtensionName(ItemMetadata property) {
+		return property != null ? property.getExtensionName() : null;
+	}
+}
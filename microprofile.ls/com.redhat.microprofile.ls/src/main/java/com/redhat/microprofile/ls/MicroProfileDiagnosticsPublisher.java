@@ -0,0 +1,191 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+
+/**
+ * Publisher of the diagnostics which doesn't send a 'publishDiagnostics'
+ * notification when the diagnostics of an URI are the same than the last
+ * published diagnostics (ex : while typing inside a value or a comment, or
+ * when a Java change revalidates the properties files).
+ *
+ * <p>
+ * The last published diagnostics are kept per URI with a hash of their
+ * ranges, codes, messages and severities. The diagnostics are compared with
+ * the hash first and then field by field. An URI without published
+ * diagnostics is not kept (the client has no diagnostic for it).
+ * </p>
+ *
+ * <p>
+ * The diagnostics to publish are decided atomically per URI and the
+ * notification is sent afterwards under a lock of the URI, only if the
+ * diagnostics have not been superseded in the meantime: the client always
+ * receives the last diagnostics of an URI.
+ * </p>
+ *
+ */
+class MicroProfileDiagnosticsPublisher {
+
+	private static class PublishedDiagnostics {
+
+		private final int hash;
+
+		private final List<Diagnostic> diagnostics;
+
+		public PublishedDiagnostics(int hash, List<Diagnostic> diagnostics) {
+			this.hash = hash;
+			this.diagnostics = diagnostics;
+		}
+	}
+
+	private static final Logger LOGGER = Logger.getLogger(MicroProfileDiagnosticsPublisher.class.getName());
+
+	private static final int LOCK_COUNT = 32;
+
+	private final Consumer<PublishDiagnosticsParams> client;
+
+	private final Map<String, PublishedDiagnostics> published = new ConcurrentHashMap<>();
+
+	/**
+	 * The locks which order the notifications of the URIs, striped by URI hash.
+	 */
+	private final Object[] locks = new Object[LOCK_COUNT];
+
+	private final AtomicLong publishedCount = new AtomicLong();
+
+	private final AtomicLong suppressedCount = new AtomicLong();
+
+	public MicroProfileDiagnosticsPublisher(Consumer<PublishDiagnosticsParams> client) {
+		this.client = client;
+		for (int i = 0; i < locks.length; i++) {
+			locks[i] = new Object();
+		}
+	}
+
+	/**
+	 * Publishes the given diagnostics of the given URI if they are not the same
+	 * than the last published diagnostics of the URI.
+	 *
+	 * @param uri         the document URI.
+	 * @param diagnostics the diagnostics.
+	 * @return true if the diagnostics have been published and false if the
+	 *         notification has been suppressed (the diagnostics are unchanged or
+	 *         have been superseded by newer diagnostics).
+	 */
+	public boolean publish(String uri, List<Diagnostic> diagnostics) {
+		int hash = hash(diagnostics);
+		boolean[] changed = new boolean[1];
+		// the decision is atomic per URI, the notification is sent outside of the
+		// compute
+		PublishedDiagnostics decided = published.compute(uri, (key, previous) -> {
+			if (isSame(previous, hash, diagnostics)) {
+				return previous;
+			}
+			changed[0] = true;
+			// the empty diagnostics are kept until the notification is sent
+			return new PublishedDiagnostics(hash, diagnostics);
+		});
+		boolean sent = changed[0] && send(uri, decided);
+		if (sent) {
+			publishedCount.incrementAndGet();
+		} else {
+			suppressedCount.incrementAndGet();
+			if (LOGGER.isLoggable(Level.FINE)) {
+				LOGGER.fine("Unchanged diagnostics of '" + uri + "' are not published (" + this + ")");
+			}
+		}
+		return sent;
+	}
+
+	private boolean send(String uri, PublishedDiagnostics decided) {
+		synchronized (locks[(uri.hashCode() & 0x7fffffff) % locks.length]) {
+			if (published.get(uri) != decided) {
+				// newer diagnostics have been decided, they are sent by their publisher
+				return false;
+			}
+			client.accept(new PublishDiagnosticsParams(uri, decided.diagnostics));
+			if (decided.diagnostics.isEmpty()) {
+				// the client has no diagnostic for the URI
+				published.remove(uri, decided);
+			}
+			return true;
+		}
+	}
+
+	private static boolean isSame(PublishedDiagnostics previous, int hash, List<Diagnostic> diagnostics) {
+		if (previous == null) {
+			// the client has no diagnostic for the URI
+			return diagnostics.isEmpty();
+		}
+		if (previous.hash != hash || previous.diagnostics.size() != diagnostics.size()) {
+			return false;
+		}
+		for (int i = 0; i < diagnostics.size(); i++) {
+			if (!isSame(previous.diagnostics.get(i), diagnostics.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isSame(Diagnostic previous, Diagnostic diagnostic) {
+		return Objects.equals(previous.getRange(), diagnostic.getRange())
+				&& Objects.equals(previous.getCode(), diagnostic.getCode())
+				&& Objects.equals(previous.getMessage(), diagnostic.getMessage())
+				&& previous.getSeverity() == diagnostic.getSeverity()
+				&& Objects.equals(previous.getSource(), diagnostic.getSource())
+				&& Objects.equals(previous.getRelatedInformation(), diagnostic.getRelatedInformation());
+	}
+
+	private static int hash(List<Diagnostic> diagnostics) {
+		int hash = 1;
+		for (Diagnostic diagnostic : diagnostics) {
+			hash = 31 * hash + Objects.hashCode(diagnostic.getRange());
+			hash = 31 * hash + Objects.hashCode(diagnostic.getCode());
+			hash = 31 * hash + Objects.hashCode(diagnostic.getMessage());
+			hash = 31 * hash + Objects.hashCode(diagnostic.getSeverity());
+		}
+		return hash;
+	}
+
+	/**
+	 * Returns the number of sent 'publishDiagnostics' notifications.
+	 *
+	 * @return the number of sent 'publishDiagnostics' notifications.
+	 */
+	public long getPublishedCount() {
+		return publishedCount.get();
+	}
+
+	/**
+	 * Returns the number of suppressed 'publishDiagnostics' notifications.
+	 *
+	 * @return the number of suppressed 'publishDiagnostics' notifications.
+	 */
+	public long getSuppressedCount() {
+		return suppressedCount.get();
+	}
+
+	@Override
+	public String toString() {
+		return "published: " + getPublishedCount() + ", suppressed: " + getSuppressedCount();
+	}
+}
@@ -12,6 +12,14 @@ package com.redhat.microprofile.ls;
 import static com.redhat.microprofile.utils.VersionHelper.getVersion;
 import static org.eclipse.lsp4j.jsonrpc.CompletableFutures.computeAsync;
 
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
@@ -27,6 +35,7 @@ import org.eclipse.lsp4j.services.WorkspaceService;
 import com.redhat.microprofile.commons.MicroProfilePropertiesChangeEvent;
 import com.redhat.microprofile.ls.api.MicroProfileLanguageClientAPI;
 import com.redhat.microprofile.ls.api.MicroProfileLanguageServerAPI;
+import com.redhat.microprofile.ls.api.MicroProfileWorkspaceValidationResult;
 import com.redhat.microprofile.ls.commons.ParentProcessWatcher.ProcessLanguageServer;
 import com.redhat.microprofile.ls.commons.client.ExtendedClientCapabilities;
 import com.redhat.microprofile.ls.commons.client.InitializationOptionsExtendedClientCapabilities;
@@ -34,8 +43,10 @@ import com.redhat.microprofile.services.MicroProfileLanguageService;
 import com.redhat.microprofile.settings.AllMicroProfileSettings;
 import com.redhat.microprofile.settings.InitializationOptionsSettings;
 import com.redhat.microprofile.settings.MicroProfileCodeLensSettings;
+import com.redhat.microprofile.settings.MicroProfileCompletionSettings;
 import com.redhat.microprofile.settings.MicroProfileFormattingSettings;
 import com.redhat.microprofile.settings.MicroProfileGeneralClientSettings;
+import com.redhat.microprofile.settings.MicroProfileServerSettings;
 import com.redhat.microprofile.settings.MicroProfileSymbolSettings;
 import com.redhat.microprofile.settings.MicroProfileValidationSettings;
 import com.redhat.microprofile.settings.capabilities.MicroProfileCapabilityManager;
@@ -56,6 +67,7 @@ public class MicroProfileLanguageServer implements LanguageServer, ProcessLangua
 	private Integer parentProcessId;
 	private MicroProfileLanguageClientAPI languageClient;
 	private MicroProfileCapabilityManager capabilityManager;
+	private List<Path> workspaceFolders;
 
 	public MicroProfileLanguageServer() {
 		quarkusLanguageService = new MicroProfileLanguageService();
@@ -68,6 +80,7 @@ public class MicroProfileLanguageServer implements LanguageServer, ProcessLangua
 		LOGGER.info("Initializing Quarkus server " + getVersion() + " with " + System.getProperty("java.home"));
 
 		this.parentProcessId = params.getProcessId();
+		this.workspaceFolders = getWorkspaceFolders(params);
 
 		ExtendedClientCapabilities extendedClientCapabilities = InitializationOptionsExtendedClientCapabilities
 				.getExtendedClientCapabilities(params);
@@ -94,6 +107,27 @@ public class MicroProfileLanguageServer implements LanguageServer, ProcessLangua
 	@Override
 	public void initialized(InitializedParams params) {
 		capabilityManager.initializeCapabilities();
+		if (workspaceFolders != null) {
+			textDocumentService.warmUp(workspaceFolders);
+		}
+	}
+
+	private static List<Path> getWorkspaceFolders(InitializeParams params) {
+		List<String> uris = new ArrayList<>();
+		if (params.getWorkspaceFolders() != null) {
+			params.getWorkspaceFolders().forEach(folder -> uris.add(folder.getUri()));
+		} else if (params.getRootUri() != null) {
+			uris.add(params.getRootUri());
+		}
+		List<Path> folders = new ArrayList<>();
+		for (String uri : uris) {
+			try {
+				folders.add(Paths.get(new URI(uri)));
+			} catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+				LOGGER.warning("Ignore workspace folder '" + uri + "' which is not a file URI.");
+			}
+		}
+		return folders;
 	}
 
 	/**
@@ -126,12 +160,23 @@ public class MicroProfileLanguageServer implements LanguageServer, ProcessLangua
 			if (newCodeLens != null) {
 				textDocumentService.updateCodeLensSettings(newCodeLens);
 			}
+			MicroProfileCompletionSettings newCompletion = quarkusClientSettings.getCompletion();
+			if (newCompletion != null) {
+				textDocumentService.updateCompletionSettings(newCompletion);
+			}
+			MicroProfileServerSettings newServer = quarkusClientSettings.getServer();
+			if (newServer != null) {
+				textDocumentService.updateServerSettings(newServer);
+			}
 		}
 	}
 
 	@Override
 	public CompletableFuture<Object> shutdown() {
-		return computeAsync(cc -> new Object());
+		return computeAsync(cc -> {
+			textDocumentService.shutdown();
+			return new Object();
+		});
 	}
 
 	@Override
@@ -179,4 +224,10 @@ public class MicroProfileLanguageServer implements LanguageServer, ProcessLangua
 		textDocumentService.microprofilePropertiesChanged(event);
 	}
 
+	@Override
+	public CompletableFuture<MicroProfileWorkspaceValidationResult> validateWorkspace() {
+		return textDocumentService
+				.validateWorkspace(workspaceFolders != null ? workspaceFolders : Collections.emptyList());
+	}
+
 }
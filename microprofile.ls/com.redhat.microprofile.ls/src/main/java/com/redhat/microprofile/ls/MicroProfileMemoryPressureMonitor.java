@@ -0,0 +1,119 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+
+/**
+ * Monitor which calls a handler when the heap is nearly full after a garbage
+ * collection.
+ *
+ * <p>
+ * The monitor sets a collection usage threshold on the heap memory pools which
+ * support it (and which don't have a threshold yet) and listens the
+ * {@link MemoryNotificationInfo#MEMORY_COLLECTION_THRESHOLD_EXCEEDED}
+ * notifications of the memory MXBean. The thresholds are reset and the listener
+ * is removed when the monitor is stopped.
+ * </p>
+ *
+ */
+class MicroProfileMemoryPressureMonitor implements NotificationListener {
+
+	private static final Logger LOGGER = Logger.getLogger(MicroProfileMemoryPressureMonitor.class.getName());
+
+	/**
+	 * The percentage of the maximum size of a memory pool which is considered as
+	 * a memory pressure after a garbage collection.
+	 */
+	private static final double THRESHOLD_RATIO = 0.8;
+
+	private final Runnable onMemoryPressure;
+
+	private boolean started;
+
+	/**
+	 * The memory pools whose collection usage threshold was set by this monitor
+	 * and the threshold.
+	 */
+	private final Map<MemoryPoolMXBean, Long> thresholds = new IdentityHashMap<>();
+
+	public MicroProfileMemoryPressureMonitor(Runnable onMemoryPressure) {
+		this.onMemoryPressure = onMemoryPressure;
+	}
+
+	/**
+	 * Start to listen the memory pressure.
+	 */
+	public synchronized void start() {
+		if (started) {
+			return;
+		}
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()
+					&& pool.getCollectionUsageThreshold() == 0) {
+				long max = pool.getUsage().getMax();
+				if (max > 0) {
+					long threshold = (long) (max * THRESHOLD_RATIO);
+					pool.setCollectionUsageThreshold(threshold);
+					thresholds.put(pool, threshold);
+				}
+			}
+		}
+		((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(this, null, null);
+		started = true;
+	}
+
+	/**
+	 * Stop to listen the memory pressure.
+	 */
+	public synchronized void stop() {
+		if (!started) {
+			return;
+		}
+		try {
+			((NotificationEmitter) ManagementFactory.getMemoryMXBean()).removeNotificationListener(this);
+		} catch (ListenerNotFoundException e) {
+			// the listener was already removed
+		}
+		for (Map.Entry<MemoryPoolMXBean, Long> threshold : thresholds.entrySet()) {
+			MemoryPoolMXBean pool = threshold.getKey();
+			if (pool.isValid() && pool.getCollectionUsageThreshold() == threshold.getValue()) {
+				// the threshold has not been changed by another component, disable it
+				pool.setCollectionUsageThreshold(0);
+			}
+		}
+		thresholds.clear();
+		started = false;
+	}
+
+	@Override
+	public void handleNotification(Notification notification, Object handback) {
+		if (!MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+			return;
+		}
+		try {
+			onMemoryPressure.run();
+		} catch (RuntimeException e) {
+			LOGGER.log(Level.WARNING, "Error while handling memory pressure.", e);
+		}
+	}
+}
@@ -11,14 +11,25 @@ package com.redhat.microprofile.ls;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
+import com.redhat.microprofile.commons.ClasspathKind;
 import com.redhat.microprofile.commons.MicroProfileProjectInfo;
 import com.redhat.microprofile.commons.MicroProfileProjectInfoParams;
 import com.redhat.microprofile.commons.MicroProfilePropertiesChangeEvent;
@@ -26,78 +37,314 @@ import com.redhat.microprofile.commons.MicroProfilePropertiesScope;
 import com.redhat.microprofile.commons.metadata.ItemHint;
 import com.redhat.microprofile.commons.metadata.ItemMetadata;
 import com.redhat.microprofile.ls.api.MicroProfileProjectInfoProvider;
+import com.redhat.microprofile.settings.MicroProfileServerSettings;
 
 /**
  * MicroProfile project information cache.
  * 
+ * <p>
+ * The project information is cached per project and classpath kind (main or
+ * test): all the properties files of a same project and classpath kind share
+ * the same cache entry.
+ * </p>
+ * 
+ * <p>
+ * The cache is bounded by a budget of properties and hints: when the budget is
+ * exceeded, the least recently used project information of projects which have
+ * no opened properties file are evicted. When the heap is nearly full, all
+ * project information of projects which have no opened properties file are
+ * evicted (see {@link #evictOnMemoryPressure()}).
+ * </p>
+ * 
+ * <p>
+ * When the classpath of a project changes, its project information is marked
+ * as stale and is still served while the new project information is loaded in
+ * the background (the load is sent again by the next request if it fails).
+ * Once loaded, only the properties files whose validation could change are
+ * notified (see {@link MicroProfileProjectInfoDiff}).
+ * </p>
+ * 
  * @author Angelo ZERR
  *
  */
 class MicroProfileProjectInfoCache {
 
-	private final Map<String /* application.properties URI */, MicroProfileProjectInfoWrapper> cache;
+	private static final Logger LOGGER = Logger.getLogger(MicroProfileProjectInfoCache.class.getName());
+
+	/**
+	 * Key of a cache entry: the project URI and the classpath kind.
+	 */
+	private static class ProjectKey {
+
+		private final String projectURI;
+
+		private final ClasspathKind classpathKind;
+
+		public ProjectKey(MicroProfileProjectInfo info) {
+			this.projectURI = info.getProjectURI();
+			this.classpathKind = info.getClasspathKind();
+		}
+
+		public String getProjectURI() {
+			return projectURI;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(projectURI, classpathKind);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ProjectKey)) {
+				return false;
+			}
+			ProjectKey other = (ProjectKey) obj;
+			return Objects.equals(projectURI, other.projectURI) && classpathKind == other.classpathKind;
+		}
+
+		@Override
+		public String toString() {
+			return projectURI + "#" + classpathKind;
+		}
+	}
+
+	private final Map<ProjectKey, MicroProfileProjectInfoWrapper> cache;
+
+	private final Map<String /* properties file URI */, ProjectKey> projectKeys;
 
 	private final MicroProfileProjectInfoProvider provider;
 
-	private static class MicroProfileProjectInfoWrapper extends MicroProfileProjectInfo {
+	private final MicroProfileProjectInfoStore store;
+
+	private final BiConsumer<String, MicroProfileProjectInfoDiff> projectInfoRefreshedListener;
+
+	/**
+	 * The pending requests to the JDT LS extension, shared by the concurrent
+	 * callers which need the same project information.
+	 */
+	private final Map<String /* properties file URI or project key + scope */, CompletableFuture<MicroProfileProjectInfo>> pendingRequests;
+
+	/**
+	 * The binary properties and hints shared by the project information of all
+	 * projects.
+	 */
+	private final MicroProfileBinaryMetadataRegistry binaryMetadataRegistry;
+
+	private final Predicate<String> isDocumentOpened;
+
+	/**
+	 * Logical clock used to order the cache entries by last access.
+	 */
+	private final AtomicLong accessClock;
+
+	private volatile int budget;
+
+	private volatile Runnable foregroundRequestListener;
+
+	/**
+	 * Cache entry which hosts the current immutable snapshot of the project
+	 * information of an application.properties. The snapshot is swapped
+	 * atomically, so readers always see a consistent list of properties and
+	 * hints.
+	 */
+	private static class MicroProfileProjectInfoWrapper {
+
+		private final AtomicReference<MicroProfileProjectInfoSnapshot> snapshot;
+
+		/**
+		 * Incremented each time java sources change.
+		 */
+		private final AtomicInteger sourceGeneration;
+
+		/**
+		 * The source generation of the properties from java sources of the current
+		 * snapshot.
+		 */
+		private volatile int loadedSourceGeneration;
+
+		private final MicroProfileBinaryMetadataRegistry registry;
+
+		private volatile long lastAccess;
+
+		private final AtomicInteger classpathGeneration = new AtomicInteger();
+
+		private volatile int loadedClasspathGeneration;
+
+		public MicroProfileProjectInfoWrapper(MicroProfileProjectInfo info,
+				MicroProfileBinaryMetadataRegistry registry) {
+			this.registry = registry;
+			this.snapshot = new AtomicReference<>(new MicroProfileProjectInfoSnapshot(info, 1, registry));
+			this.sourceGeneration = new AtomicInteger();
+			this.loadedSourceGeneration = 0;
+		}
+
+		/**
+		 * Returns the current snapshot of the project information.
+		 * 
+		 * @return the current snapshot of the project information.
+		 */
+		public MicroProfileProjectInfoSnapshot getSnapshot() {
+			return snapshot.get();
+		}
 
-		private boolean reloadFromSource;
+		public String getProjectURI() {
+			return getSnapshot().getProjectURI();
+		}
 
-		public MicroProfileProjectInfoWrapper(MicroProfileProjectInfo delegate) {
-			super.setProjectURI(delegate.getProjectURI());
-			super.setProperties(new CopyOnWriteArrayList<>(
-					delegate.getProperties() != null ? delegate.getProperties() : new ArrayList<>()));
-			super.setHints(
-					new CopyOnWriteArrayList<>(delegate.getHints() != null ? delegate.getHints() : new ArrayList<>()));
-			this.reloadFromSource = false;
+		/**
+		 * Returns the estimated size of this project information (the number of
+		 * properties and hints).
+		 * 
+		 * @return the estimated size of this project information.
+		 */
+		public int getSize() {
+			MicroProfileProjectInfoSnapshot current = getSnapshot();
+			return current.getProperties().size() + current.getHints().size();
 		}
 
 		/**
 		 * Clear the cache only for Quarkus properties coming from java sources.
 		 */
 		public void clearPropertiesFromSource() {
-			setReloadFromSource(true);
+			sourceGeneration.incrementAndGet();
+		}
+
+		/**
+		 * Replace the properties and hints coming from java sources with the given
+		 * ones. Only the source partition of the snapshot is rebuilt.
+		 * 
+		 * @param propertiesFromJavaSource properties from java sources.
+		 * @param hintsFromJavaSource      hints from java sources.
+		 * @param generation               the source generation of the given
+		 *                                 properties.
+		 * @return the new snapshot.
+		 */
+		synchronized MicroProfileProjectInfoSnapshot update(List<ItemMetadata> propertiesFromJavaSource,
+				List<ItemHint> hintsFromJavaSource, int generation) {
+			if (generation < loadedSourceGeneration) {
+				// properties from a more recent generation are already loaded
+				return getSnapshot();
+			}
+			loadedSourceGeneration = generation;
+			return snapshot.updateAndGet(current -> current.withSources(propertiesFromJavaSource, hintsFromJavaSource));
+		}
+
+		/**
+		 * Replace the given snapshot with a snapshot of the given project information
+		 * if the given snapshot is the current snapshot.
+		 * 
+		 * @param expected the expected current snapshot.
+		 * @param info     the new project information.
+		 * @return true if the snapshot was replaced and false otherwise.
+		 */
+		boolean replace(MicroProfileProjectInfoSnapshot expected, MicroProfileProjectInfo info) {
+			MicroProfileProjectInfoSnapshot newSnapshot = new MicroProfileProjectInfoSnapshot(info,
+					expected.getVersion() + 1, registry);
+			if (snapshot.compareAndSet(expected, newSnapshot)) {
+				registry.release(expected.getBinaryMetadata());
+				return true;
+			}
+			registry.release(newSnapshot.getBinaryMetadata());
+			return false;
+		}
+
+		/**
+		 * Releases the shared binary properties and hints of this project information
+		 * when it is removed from the cache.
+		 */
+		void release() {
+			registry.release(getSnapshot().getBinaryMetadata());
+		}
+
+		/**
+		 * Mark the project information as stale after a classpath change.
+		 */
+		void markStale() {
+			classpathGeneration.incrementAndGet();
+		}
+
+		int getClasspathGeneration() {
+			return classpathGeneration.get();
 		}
 
 		/**
-		 * Add the new quarkus properties in the cache coming java sources.
+		 * Returns true if the project information of the last classpath is not loaded
+		 * and false otherwise.
 		 * 
-		 * @param propertiesFromJavaSource properties to add in the cache.
+		 * @return true if the project information of the last classpath is not loaded
+		 *         and false otherwise.
 		 */
-		synchronized void update(List<ItemMetadata> propertiesFromJavaSource, List<ItemHint> hintsFromJavaSource) {
-			// remove old properties from Java sources
-			if (propertiesFromJavaSource != null) {
-				List<ItemMetadata> oldPropertiesFromJavaSource = getProperties().stream().filter(p -> {
-					return p == null || !p.isBinary();
-				}).collect(Collectors.toList());
-				getProperties().removeAll(oldPropertiesFromJavaSource);
-				// add new properties from Java sources
-				getProperties().addAll(propertiesFromJavaSource);
-			}
-			// remove old hints from Java sources
-			if (hintsFromJavaSource != null) {
-				List<ItemHint> oldHintsFromJavaSource = getHints().stream().filter(h -> {
-					return h == null || !h.isBinary();
-				}).collect(Collectors.toList());
-				getHints().removeAll(oldHintsFromJavaSource);
-				// add new properties from Java sources
-				getHints().addAll(hintsFromJavaSource);
-			}
-			setReloadFromSource(false);
+		boolean isStale() {
+			return loadedClasspathGeneration < classpathGeneration.get();
+		}
+
+		/**
+		 * Replace the stale project information with the given project information
+		 * loaded for the given classpath and source generations.
+		 * 
+		 * @return the new snapshot and null if a more recent classpath is loaded.
+		 */
+		synchronized MicroProfileProjectInfoSnapshot refresh(MicroProfileProjectInfo info, int classpathGeneration,
+				int sourceGeneration) {
+			if (classpathGeneration <= loadedClasspathGeneration) {
+				return null;
+			}
+			loadedClasspathGeneration = classpathGeneration;
+			loadedSourceGeneration = Math.max(loadedSourceGeneration, sourceGeneration);
+			MicroProfileProjectInfoSnapshot staleSnapshot = getSnapshot();
+			MicroProfileProjectInfoSnapshot newSnapshot = new MicroProfileProjectInfoSnapshot(info,
+					staleSnapshot.getVersion() + 1, registry);
+			snapshot.set(newSnapshot);
+			registry.release(staleSnapshot.getBinaryMetadata());
+			return newSnapshot;
 		}
 
 		private boolean isReloadFromSource() {
-			return reloadFromSource;
+			return loadedSourceGeneration < sourceGeneration.get();
 		}
 
-		private void setReloadFromSource(boolean reloadFromSource) {
-			this.reloadFromSource = reloadFromSource;
+		private int getSourceGeneration() {
+			return sourceGeneration.get();
 		}
 	}
 
 	public MicroProfileProjectInfoCache(MicroProfileProjectInfoProvider provider) {
+		this(provider, null, null, uri -> false);
+	}
+
+	/**
+	 * MicroProfile project information cache which serves the snapshots persisted
+	 * in the given store and revalidates them in the background.
+	 * 
+	 * @param provider                     the project information provider.
+	 * @param store                        the snapshot store and null if
+	 *                                     snapshots must not be used.
+	 * @param projectInfoRefreshedListener the listener called with the
+	 *                                     properties file URI and the difference
+	 *                                     when a project information which was
+	 *                                     served (persisted snapshot or stale
+	 *                                     project information) is replaced with a
+	 *                                     different project information.
+	 * @param isDocumentOpened             the predicate which returns true if a
+	 *                                     properties file URI is opened.
+	 */
+	public MicroProfileProjectInfoCache(MicroProfileProjectInfoProvider provider, MicroProfileProjectInfoStore store,
+			BiConsumer<String, MicroProfileProjectInfoDiff> projectInfoRefreshedListener,
+			Predicate<String> isDocumentOpened) {
 		this.provider = provider;
+		this.store = store;
+		this.projectInfoRefreshedListener = projectInfoRefreshedListener;
 		this.cache = new ConcurrentHashMap<>();
+		this.projectKeys = new ConcurrentHashMap<>();
+		this.pendingRequests = new ConcurrentHashMap<>();
+		this.binaryMetadataRegistry = new MicroProfileBinaryMetadataRegistry();
+		this.isDocumentOpened = isDocumentOpened;
+		this.accessClock = new AtomicLong();
+		this.budget = MicroProfileServerSettings.DEFAULT_PROJECT_INFO_CACHE_BUDGET;
 	}
 
 	/**
@@ -109,31 +356,283 @@ class MicroProfileProjectInfoCache {
 	 *         application.properties URI.
 	 */
 	public CompletableFuture<MicroProfileProjectInfo> getMicroProfileProjectInfo(MicroProfileProjectInfoParams params) {
+		CompletableFuture<MicroProfileProjectInfo> projectInfo = loadMicroProfileProjectInfo(params);
+		if (!projectInfo.isDone()) {
+			// the project information is not cached, the JDT LS extension is required
+			Runnable listener = foregroundRequestListener;
+			if (listener != null) {
+				listener.run();
+			}
+		}
+		return projectInfo;
+	}
+
+	/**
+	 * Returns as promise the MicroProfile project information for the given
+	 * properties file URI, loaded in the background (without notifying the
+	 * foreground request listener).
+	 * 
+	 * @param params the URI of the properties file.
+	 * @return as promise the MicroProfile project information for the given
+	 *         properties file URI.
+	 */
+	public CompletableFuture<MicroProfileProjectInfo> prefetchMicroProfileProjectInfo(
+			MicroProfileProjectInfoParams params) {
+		return loadMicroProfileProjectInfo(params);
+	}
+
+	/**
+	 * Set the listener called when a foreground request can not be served by the
+	 * cache and requires the JDT LS extension.
+	 * 
+	 * @param foregroundRequestListener the listener and null to remove it.
+	 */
+	public void setForegroundRequestListener(Runnable foregroundRequestListener) {
+		this.foregroundRequestListener = foregroundRequestListener;
+	}
+
+	private CompletableFuture<MicroProfileProjectInfo> loadMicroProfileProjectInfo(
+			MicroProfileProjectInfoParams params) {
+		// Search the project of the properties file
+		ProjectKey projectKey = projectKeys.get(params.getUri());
+		if (projectKey == null) {
+			return singleFlight(params.getUri(), () -> {
+				if (isSnapshotEnabled()) {
+					// not found in cache, try to load the project info from the persisted
+					// snapshot
+					return loadFromSnapshot(params);
+				}
+				// not found in cache, get the project of the properties file from the JDT LS
+				// Extension
+				return resolveProject(params).thenCompose(key -> getMicroProfileProjectInfo(key, params));
+			});
+		}
+		return getMicroProfileProjectInfo(projectKey, params);
+	}
+
+	private CompletableFuture<MicroProfileProjectInfo> getMicroProfileProjectInfo(ProjectKey projectKey,
+			MicroProfileProjectInfoParams params) {
 		// Search project info in cache
-		MicroProfileProjectInfoWrapper projectInfo = cache.get(params.getUri());
+		MicroProfileProjectInfoWrapper projectInfo = cache.get(projectKey);
 		if (projectInfo == null) {
 			// not found in cache, load the project info from the JDT LS Extension
-			params.setScopes(MicroProfilePropertiesScope.SOURCES_AND_DEPENDENCIES);
-			return provider.getProjectInfo(params).thenApply(info ->
-			// information was loaded, update the cache
-			{
-				cache.put(params.getUri(), new MicroProfileProjectInfoWrapper(info));
-				return info;
-			});
+			return singleFlight(projectKey + "#" + MicroProfilePropertiesScope.SOURCES_AND_DEPENDENCIES,
+					() -> loadFromProvider(projectKey, params));
 		}
 		if (projectInfo.isReloadFromSource()) {
 			// There are some java sources changed, get the Quarkus properties from java
 			// sources.
-			params.setScopes(MicroProfilePropertiesScope.ONLY_SOURCES);
-			return provider.getProjectInfo(params).thenApply(info ->
-			// then update the cache with the new properties
-			{
-				projectInfo.update(info.getProperties(), info.getHints());
-				return projectInfo;
-			});
+			int generation = projectInfo.getSourceGeneration();
+			return singleFlight(projectKey + "#" + MicroProfilePropertiesScope.ONLY_SOURCES + "#" + generation,
+					() -> {
+						params.setScopes(MicroProfilePropertiesScope.ONLY_SOURCES);
+						return provider.getProjectInfo(params).thenApply(info ->
+						// then update the cache with the new properties
+						{
+							return projectInfo.update(info.getProperties(), info.getHints(), generation);
+						});
+					});
+		}
+		if (projectInfo.isStale()) {
+			// the refresh after the classpath change is pending or has failed, the
+			// refresh is shared with the pending one or sent again
+			refreshStale(projectKey, projectInfo);
 		}
 		// Returns the cached project info
-		return CompletableFuture.completedFuture(projectInfo);
+		touch(projectInfo);
+		return CompletableFuture.completedFuture(projectInfo.getSnapshot());
+	}
+
+	/**
+	 * Returns the pending request for the given key and otherwise sends the request
+	 * created by the given loader.
+	 * 
+	 * @param key    the request key (properties file URI or project key and
+	 *               scope).
+	 * @param loader the loader which sends the request.
+	 * @return a future of the shared request which can be cancelled without
+	 *         cancelling the request for the other callers.
+	 */
+	private CompletableFuture<MicroProfileProjectInfo> singleFlight(String key,
+			Supplier<CompletableFuture<MicroProfileProjectInfo>> loader) {
+		CompletableFuture<MicroProfileProjectInfo> request = new CompletableFuture<>();
+		CompletableFuture<MicroProfileProjectInfo> pending = pendingRequests.putIfAbsent(key, request);
+		if (pending == null) {
+			pending = request;
+			CompletableFuture<MicroProfileProjectInfo> load;
+			try {
+				load = loader.get();
+			} catch (RuntimeException e) {
+				load = new CompletableFuture<>();
+				load.completeExceptionally(e);
+			}
+			load.whenComplete((info, e) -> {
+				// the cache is updated, the next callers don't need the pending request
+				pendingRequests.remove(key, request);
+				if (e != null) {
+					request.completeExceptionally(e);
+				} else {
+					request.complete(info);
+				}
+			});
+		}
+		return pending.thenApply(info -> info);
+	}
+
+	/**
+	 * Returns the project key (project URI and classpath kind) of the given
+	 * properties file by asking the JDT LS Extension without collecting the
+	 * properties.
+	 * 
+	 * @param params the URI of the properties file.
+	 * @return the project key of the given properties file.
+	 */
+	private CompletableFuture<ProjectKey> resolveProject(MicroProfileProjectInfoParams params) {
+		MicroProfileProjectInfoParams resolveParams = new MicroProfileProjectInfoParams(params.getUri());
+		resolveParams.setScopes(MicroProfilePropertiesScope.NONE);
+		return provider.getProjectInfo(resolveParams).thenApply(info -> {
+			ProjectKey projectKey = new ProjectKey(info);
+			projectKeys.put(params.getUri(), projectKey);
+			return projectKey;
+		});
+	}
+
+	private CompletableFuture<MicroProfileProjectInfo> loadFromProvider(ProjectKey projectKey,
+			MicroProfileProjectInfoParams params) {
+		params.setScopes(MicroProfilePropertiesScope.SOURCES_AND_DEPENDENCIES);
+		return provider.getProjectInfo(params).thenApply(info ->
+		// information was loaded, update the cache
+		{
+			MicroProfileProjectInfoWrapper projectInfo = new MicroProfileProjectInfoWrapper(info,
+					binaryMetadataRegistry);
+			touch(projectInfo);
+			MicroProfileProjectInfoWrapper oldProjectInfo = cache.put(projectKey, projectInfo);
+			if (oldProjectInfo != null) {
+				oldProjectInfo.release();
+			}
+			evictOverBudget();
+			saveSnapshot(params.getUri(), info);
+			return projectInfo.getSnapshot();
+		});
+	}
+
+	private CompletableFuture<MicroProfileProjectInfo> loadFromSnapshot(MicroProfileProjectInfoParams params) {
+		String uri = params.getUri();
+		return CompletableFuture.supplyAsync(() -> store.load(uri)).thenCompose(snapshot -> {
+			if (snapshot == null) {
+				// no snapshot, load the project info from the JDT LS Extension
+				return resolveProject(params).thenCompose(key -> getMicroProfileProjectInfo(key, params));
+			}
+			ProjectKey projectKey = new ProjectKey(snapshot);
+			projectKeys.put(uri, projectKey);
+			MicroProfileProjectInfoWrapper projectInfo = new MicroProfileProjectInfoWrapper(snapshot,
+					binaryMetadataRegistry);
+			if (cache.putIfAbsent(projectKey, projectInfo) != null) {
+				projectInfo.release();
+				// the project info was loaded by another properties file of the project
+				return getMicroProfileProjectInfo(projectKey, params);
+			}
+			touch(projectInfo);
+			evictOverBudget();
+			// serve the snapshot and revalidate it in the background
+			MicroProfileProjectInfoSnapshot served = projectInfo.getSnapshot();
+			revalidateSnapshot(uri, projectKey, projectInfo, served);
+			return CompletableFuture.completedFuture(served);
+		});
+	}
+
+	/**
+	 * Load the project info from the JDT LS Extension and replace the given served
+	 * snapshot with it if the project information has changed.
+	 * 
+	 * @param uri         the properties file URI.
+	 * @param projectKey  the project key of the properties file.
+	 * @param projectInfo the cache entry.
+	 * @param snapshot    the served snapshot.
+	 */
+	private void revalidateSnapshot(String uri, ProjectKey projectKey, MicroProfileProjectInfoWrapper projectInfo,
+			MicroProfileProjectInfoSnapshot snapshot) {
+		MicroProfileProjectInfoParams params = new MicroProfileProjectInfoParams(uri);
+		params.setScopes(MicroProfilePropertiesScope.SOURCES_AND_DEPENDENCIES);
+		provider.getProjectInfo(params).thenAccept(info -> {
+			if (isSameProjectInfo(snapshot, info)) {
+				return;
+			}
+			if (cache.get(projectKey) == projectInfo && projectInfo.replace(snapshot, info)) {
+				saveSnapshot(uri, info);
+				projectInfoRefreshed(projectKey, MicroProfileProjectInfoDiff.diff(snapshot, projectInfo.getSnapshot()));
+			}
+		}).exceptionally(e -> {
+			LOGGER.log(Level.WARNING, "Error while revalidating project information snapshot for '" + uri + "'.", e);
+			return null;
+		});
+	}
+
+	/**
+	 * Load the project info from the JDT LS Extension in the background and
+	 * replace the given stale project information with it. The stale project
+	 * information is served until the new project information is loaded.
+	 * 
+	 * @param projectKey  the project key.
+	 * @param projectInfo the stale cache entry.
+	 */
+	private void refreshStale(ProjectKey projectKey, MicroProfileProjectInfoWrapper projectInfo) {
+		List<String> uris = getPropertiesFileURIs(projectKey);
+		if (uris.isEmpty()) {
+			// the project is evicted
+			return;
+		}
+		String uri = uris.get(0);
+		int classpathGeneration = projectInfo.getClasspathGeneration();
+		int sourceGeneration = projectInfo.getSourceGeneration();
+		singleFlight(projectKey + "#" + MicroProfilePropertiesScope.SOURCES_AND_DEPENDENCIES + "#" + classpathGeneration,
+				() -> {
+					MicroProfileProjectInfoParams params = new MicroProfileProjectInfoParams(uri);
+					params.setScopes(MicroProfilePropertiesScope.SOURCES_AND_DEPENDENCIES);
+					return provider.getProjectInfo(params).thenApply(info -> {
+						MicroProfileProjectInfoSnapshot staleSnapshot = projectInfo.getSnapshot();
+						MicroProfileProjectInfoSnapshot snapshot = projectInfo.refresh(info, classpathGeneration,
+								sourceGeneration);
+						if (snapshot == null) {
+							// a more recent classpath is loaded
+							return projectInfo.getSnapshot();
+						}
+						if (cache.get(projectKey) == projectInfo) {
+							saveSnapshot(uri, info);
+							projectInfoRefreshed(projectKey, MicroProfileProjectInfoDiff.diff(staleSnapshot, snapshot));
+						}
+						return snapshot;
+					});
+				}).exceptionally(e -> {
+					LOGGER.log(Level.WARNING,
+							"Error while refreshing stale project information for '" + projectKey + "'.", e);
+					return null;
+				});
+	}
+
+	private void projectInfoRefreshed(ProjectKey projectKey, MicroProfileProjectInfoDiff diff) {
+		if (projectInfoRefreshedListener == null || diff.isEmpty()) {
+			return;
+		}
+		for (String uri : getPropertiesFileURIs(projectKey)) {
+			projectInfoRefreshedListener.accept(uri, diff);
+		}
+	}
+
+	private static boolean isSameProjectInfo(MicroProfileProjectInfoSnapshot snapshot, MicroProfileProjectInfo info) {
+		return snapshot.getClasspathFingerprint() != null
+				&& Objects.equals(snapshot.getClasspathFingerprint(), info.getClasspathFingerprint())
+				&& snapshot.hasSameItems(info);
+	}
+
+	private boolean isSnapshotEnabled() {
+		return store != null && store.isEnabled();
+	}
+
+	private void saveSnapshot(String uri, MicroProfileProjectInfo info) {
+		if (isSnapshotEnabled()) {
+			CompletableFuture.runAsync(() -> store.save(uri, info));
+		}
 	}
 
 	public Collection<String> microprofilePropertiesChanged(MicroProfilePropertiesChangeEvent event) {
@@ -146,18 +645,135 @@ class MicroProfileProjectInfoCache {
 	}
 
 	private Collection<String> classpathChanged(Set<String> projectURIs) {
-		List<String> applicationPropertiesURIs = getApplicationPropertiesURIs(projectURIs);
-		applicationPropertiesURIs.forEach(cache::remove);
-		return applicationPropertiesURIs;
+		for (Map.Entry<ProjectKey, MicroProfileProjectInfoWrapper> entry : cache.entrySet()) {
+			if (projectURIs.contains(entry.getKey().getProjectURI())) {
+				// serve the stale project information while the new one is loaded
+				MicroProfileProjectInfoWrapper projectInfo = entry.getValue();
+				projectInfo.markStale();
+				refreshStale(entry.getKey(), projectInfo);
+			}
+		}
+		// the properties files are revalidated when the new project information is
+		// loaded, if they are affected by the changes
+		return Collections.emptyList();
 	}
 
 	private Collection<String> javaSourceChanged(Set<String> projectURIs) {
-		List<String> applicationPropertiesURIs = getApplicationPropertiesURIs(projectURIs);
-		for (String uri : applicationPropertiesURIs) {
-			MicroProfileProjectInfoWrapper info = cache.get(uri);
-			info.clearPropertiesFromSource();
+		for (Map.Entry<ProjectKey, MicroProfileProjectInfoWrapper> entry : cache.entrySet()) {
+			if (projectURIs.contains(entry.getKey().getProjectURI())) {
+				entry.getValue().clearPropertiesFromSource();
+			}
+		}
+		return getApplicationPropertiesURIs(projectURIs);
+	}
+
+	/**
+	 * Marks the given cache entry as the most recently used.
+	 */
+	private void touch(MicroProfileProjectInfoWrapper projectInfo) {
+		projectInfo.lastAccess = accessClock.incrementAndGet();
+	}
+
+	/**
+	 * Set the maximum number of properties and hints kept in the cache.
+	 * 
+	 * @param budget the maximum number of properties and hints kept in the cache
+	 *               and a value less than or equal to 0 for no limit.
+	 */
+	public void setBudget(int budget) {
+		this.budget = budget;
+		evictOverBudget();
+	}
+
+	private void evictOverBudget() {
+		int currentBudget = budget;
+		if (currentBudget > 0) {
+			evict(currentBudget);
+		}
+	}
+
+	/**
+	 * Evicts the project information of all projects which have no opened
+	 * properties file. This method is called when the heap is nearly full.
+	 */
+	public void evictOnMemoryPressure() {
+		int evicted = evict(0);
+		if (evicted > 0) {
+			LOGGER.info("Evicted " + evicted + " MicroProfile project information on memory pressure.");
+		}
+	}
+
+	/**
+	 * Evicts the least recently used project information of projects which have
+	 * no opened properties file until the size of the cache is less than or equal
+	 * to the given budget.
+	 * 
+	 * @param budget the maximum number of properties and hints and 0 to evict all
+	 *               project information which can be evicted.
+	 * @return the number of evicted project information.
+	 */
+	private synchronized int evict(int budget) {
+		long size = 0;
+		List<Map.Entry<ProjectKey, MicroProfileProjectInfoWrapper>> candidates = new ArrayList<>();
+		for (Map.Entry<ProjectKey, MicroProfileProjectInfoWrapper> entry : cache.entrySet()) {
+			size += entry.getValue().getSize();
+			if (!hasOpenedDocument(entry.getKey())) {
+				candidates.add(entry);
+			}
+		}
+		if (size <= budget && budget > 0) {
+			return 0;
+		}
+		// evict the least recently used project information first
+		candidates.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+		int evicted = 0;
+		for (Map.Entry<ProjectKey, MicroProfileProjectInfoWrapper> entry : candidates) {
+			if (size <= budget && budget > 0) {
+				break;
+			}
+			ProjectKey projectKey = entry.getKey();
+			MicroProfileProjectInfoWrapper projectInfo = entry.getValue();
+			if (cache.remove(projectKey, projectInfo)) {
+				size -= projectInfo.getSize();
+				projectInfo.release();
+				// the next request of a properties file of the project will resolve its
+				// project (from the persisted snapshot if any)
+				projectKeys.values().removeIf(projectKey::equals);
+				evicted++;
+			}
+		}
+		return evicted;
+	}
+
+	private boolean hasOpenedDocument(ProjectKey projectKey) {
+		for (Map.Entry<String, ProjectKey> entry : projectKeys.entrySet()) {
+			if (projectKey.equals(entry.getValue()) && isDocumentOpened.test(entry.getKey())) {
+				return true;
+			}
 		}
-		return applicationPropertiesURIs;
+		return false;
+	}
+
+	/**
+	 * Returns the registry of the binary properties and hints shared by all
+	 * projects.
+	 * 
+	 * @return the registry of the binary properties and hints shared by all
+	 *         projects.
+	 */
+	MicroProfileBinaryMetadataRegistry getBinaryMetadataRegistry() {
+		return binaryMetadataRegistry;
+	}
+
+	/**
+	 * Returns the properties file URIs which belong to the given project key.
+	 * 
+	 * @param projectKey the project key.
+	 * @return the properties file URIs which belong to the given project key.
+	 */
+	private List<String> getPropertiesFileURIs(ProjectKey projectKey) {
+		return projectKeys.entrySet().stream().filter(entry -> projectKey.equals(entry.getValue()))
+				.map(Map.Entry::getKey).collect(Collectors.toList());
 	}
 
 	/**
@@ -170,8 +786,9 @@ class MicroProfileProjectInfoCache {
 	 *         URIs.
 	 */
 	private List<String> getApplicationPropertiesURIs(Set<String> projectURIs) {
-		return cache.entrySet().stream().filter(entry -> projectURIs.contains(entry.getValue().getProjectURI()))
-				.map(Map.Entry::getKey).collect(Collectors.toList());
+		return projectKeys.entrySet().stream()
+				.filter(entry -> projectURIs.contains(entry.getValue().getProjectURI())).map(Map.Entry::getKey)
+				.collect(Collectors.toList());
 	}
 
 }
@@ -0,0 +1,152 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.metadata.ConfigurationMetadata;
+import com.redhat.microprofile.commons.metadata.ItemBase;
+import com.redhat.microprofile.commons.metadata.ItemHint;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.model.PropertiesModel;
+import com.redhat.microprofile.utils.MicroProfilePropertiesIndex;
+
+/**
+ * Difference between two MicroProfile project information, used to know if
+ * the validation of a properties file could change when the project
+ * information is replaced.
+ *
+ * <p>
+ * A property is changed if it was added, removed or updated, or if its hint
+ * (found with its name or type) was added, removed or updated. A properties
+ * file is affected if one of its properties matches a changed property, or if
+ * a changed property is required (the 'Missing required property' validation
+ * depends on all required properties).
+ * </p>
+ *
+ */
+class MicroProfileProjectInfoDiff {
+
+	private final ConfigurationMetadata changedProperties;
+
+	private final boolean requiredChanged;
+
+	private MicroProfileProjectInfoDiff(List<ItemMetadata> changedProperties, boolean requiredChanged) {
+		this.changedProperties = new ConfigurationMetadata();
+		this.changedProperties.setProperties(changedProperties);
+		this.requiredChanged = requiredChanged;
+	}
+
+	/**
+	 * Returns the difference between the given old and new project information.
+	 *
+	 * @param oldInfo the old project information.
+	 * @param newInfo the new project information.
+	 * @return the difference between the given old and new project information.
+	 */
+	public static MicroProfileProjectInfoDiff diff(MicroProfileProjectInfo oldInfo, MicroProfileProjectInfo newInfo) {
+		Map<String, ItemMetadata> oldProperties = byName(oldInfo.getProperties());
+		Map<String, ItemMetadata> newProperties = byName(newInfo.getProperties());
+		Set<String> changedHints = getChangedNames(byName(oldInfo.getHints()), byName(newInfo.getHints()));
+
+		Set<String> names = new LinkedHashSet<>(oldProperties.keySet());
+		names.addAll(newProperties.keySet());
+		List<ItemMetadata> changedProperties = new ArrayList<>();
+		boolean requiredChanged = false;
+		for (String name : names) {
+			ItemMetadata oldProperty = oldProperties.get(name);
+			ItemMetadata newProperty = newProperties.get(name);
+			if (!Objects.equals(oldProperty, newProperty) || isHintChanged(oldProperty, changedHints)
+					|| isHintChanged(newProperty, changedHints)) {
+				changedProperties.add(newProperty != null ? newProperty : oldProperty);
+				requiredChanged |= isRequired(oldProperty) || isRequired(newProperty);
+			}
+		}
+		return new MicroProfileProjectInfoDiff(changedProperties, requiredChanged);
+	}
+
+	/**
+	 * Returns true if no property changed and false otherwise.
+	 *
+	 * @return true if no property changed and false otherwise.
+	 */
+	public boolean isEmpty() {
+		return changedProperties.getProperties().isEmpty();
+	}
+
+	/**
+	 * Returns true if the validation of the given properties model could change
+	 * and false otherwise.
+	 *
+	 * @param model the properties model.
+	 * @return true if the validation of the given properties model could change
+	 *         and false otherwise.
+	 */
+	public boolean isAffected(PropertiesModel model) {
+		if (isEmpty()) {
+			return false;
+		}
+		if (requiredChanged) {
+			return true;
+		}
+		MicroProfilePropertiesIndex index = MicroProfilePropertiesIndex.getIndex(changedProperties);
+		for (String propertyName : model.getIndex().getPropertyNames()) {
+			if (index.getProperty(propertyName) != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isHintChanged(ItemMetadata property, Set<String> changedHints) {
+		return property != null && !changedHints.isEmpty()
+				&& (changedHints.contains(property.getName()) || changedHints.contains(property.getType()));
+	}
+
+	private static boolean isRequired(ItemMetadata property) {
+		return property != null && property.isRequired();
+	}
+
+	private static <T extends ItemBase> Set<String> getChangedNames(Map<String, T> oldItems, Map<String, T> newItems) {
+		Set<String> changed = new HashSet<>();
+		for (Map.Entry<String, T> entry : oldItems.entrySet()) {
+			if (!Objects.equals(entry.getValue(), newItems.get(entry.getKey()))) {
+				changed.add(entry.getKey());
+			}
+		}
+		for (String name : newItems.keySet()) {
+			if (!oldItems.containsKey(name)) {
+				changed.add(name);
+			}
+		}
+		return changed;
+	}
+
+	private static <T extends ItemBase> Map<String, T> byName(List<T> items) {
+		Map<String, T> itemsByName = new HashMap<>();
+		if (items != null) {
+			for (T item : items) {
+				if (item != null && item.getName() != null) {
+					// the first item wins, like the property lookup
+					itemsByName.putIfAbsent(item.getName(), item);
+				}
+			}
+		}
+		return itemsByName;
+	}
+}
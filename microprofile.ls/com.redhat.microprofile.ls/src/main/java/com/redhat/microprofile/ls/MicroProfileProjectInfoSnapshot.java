@@ -0,0 +1,288 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+import com.redhat.microprofile.commons.ClasspathKind;
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.metadata.ItemHint;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.ls.MicroProfileBinaryMetadataRegistry.BinaryMetadata;
+
+/**
+ * Immutable snapshot of a MicroProfile project information.
+ *
+ * <p>
+ * Properties and hints are stored in two partitions:
+ * </p>
+ *
+ * <ul>
+ * <li>the binary partition which hosts properties and hints coming from the
+ * JARs of the classpath.</li>
+ * <li>the source partition which hosts properties and hints coming from the
+ * Java sources of the project.</li>
+ * </ul>
+ *
+ * <p>
+ * When Java sources change, a new snapshot is created with
+ * {@link #withSources(List, List)}: only the source partition is rebuilt and
+ * the binary partition is shared with the previous snapshot.
+ * </p>
+ *
+ * <p>
+ * When a {@link MicroProfileBinaryMetadataRegistry} is given, the binary
+ * partition points to the properties and hints shared by all projects of the
+ * workspace.
+ * </p>
+ *
+ */
+class MicroProfileProjectInfoSnapshot extends MicroProfileProjectInfo {
+
+	private static final Predicate<ItemMetadata> IS_BINARY_PROPERTY = p -> p != null && p.isBinary();
+
+	private static final Predicate<ItemHint> IS_BINARY_HINT = h -> h != null && h.isBinary();
+
+	/**
+	 * Unmodifiable list which is the concatenation of the binary and source
+	 * partitions.
+	 */
+	private static class PartitionedList<T> extends AbstractList<T> implements RandomAccess {
+
+		private final List<T> binary;
+
+		private final List<T> source;
+
+		public PartitionedList(List<T> binary, List<T> source) {
+			this.binary = binary;
+			this.source = source;
+		}
+
+		@Override
+		public T get(int index) {
+			int binarySize = binary.size();
+			return index < binarySize ? binary.get(index) : source.get(index - binarySize);
+		}
+
+		@Override
+		public int size() {
+			return binary.size() + source.size();
+		}
+	}
+
+	private final int version;
+
+	private final List<ItemMetadata> binaryProperties;
+
+	private final List<ItemMetadata> sourceProperties;
+
+	private final List<ItemHint> binaryHints;
+
+	private final List<ItemHint> sourceHints;
+
+	private final BinaryMetadata binaryMetadata;
+
+	/**
+	 * Creates the first snapshot of the given project information.
+	 *
+	 * @param info the project information loaded from the JDT LS extension.
+	 */
+	public MicroProfileProjectInfoSnapshot(MicroProfileProjectInfo info) {
+		this(info, 1, null);
+	}
+
+	/**
+	 * Creates a snapshot of the given project information with the given version.
+	 *
+	 * @param info     the project information loaded from the JDT LS extension.
+	 * @param version  the snapshot version.
+	 * @param registry the registry which shares the binary properties and hints
+	 *                 and null otherwise.
+	 */
+	public MicroProfileProjectInfoSnapshot(MicroProfileProjectInfo info, int version,
+			MicroProfileBinaryMetadataRegistry registry) {
+		this(info.getProjectURI(), info.getClasspathKind(), info.getClasspathFingerprint(), version, //
+				acquire(registry, filter(info.getProperties(), IS_BINARY_PROPERTY),
+						filter(info.getHints(), IS_BINARY_HINT)), //
+				filter(info.getProperties(), IS_BINARY_PROPERTY.negate()), //
+				filter(info.getHints(), IS_BINARY_HINT.negate()));
+	}
+
+	private MicroProfileProjectInfoSnapshot(String projectURI, ClasspathKind classpathKind,
+			String classpathFingerprint, int version, BinaryMetadata binaryMetadata,
+			List<ItemMetadata> sourceProperties, List<ItemHint> sourceHints) {
+		this.version = version;
+		this.binaryMetadata = binaryMetadata;
+		this.binaryProperties = binaryMetadata.getProperties();
+		this.sourceProperties = sourceProperties;
+		this.binaryHints = binaryMetadata.getHints();
+		this.sourceHints = sourceHints;
+		super.setProjectURI(projectURI);
+		super.setClasspathKind(classpathKind);
+		super.setClasspathFingerprint(classpathFingerprint);
+		super.setProperties(new PartitionedList<>(binaryProperties, sourceProperties));
+		super.setHints(new PartitionedList<>(binaryHints, sourceHints));
+	}
+
+	/**
+	 * Returns a new snapshot which shares the binary partition of this snapshot
+	 * and hosts the given properties and hints from Java sources.
+	 *
+	 * @param propertiesFromJavaSource the properties from Java sources and null if
+	 *                                 they don't change.
+	 * @param hintsFromJavaSource      the hints from Java sources and null if they
+	 *                                 don't change.
+	 * @return a new snapshot which shares the binary partition of this snapshot
+	 *         and hosts the given properties and hints from Java sources.
+	 */
+	public MicroProfileProjectInfoSnapshot withSources(List<ItemMetadata> propertiesFromJavaSource,
+			List<ItemHint> hintsFromJavaSource) {
+		return new MicroProfileProjectInfoSnapshot(getProjectURI(), getClasspathKind(), getClasspathFingerprint(),
+				version + 1, binaryMetadata,
+				propertiesFromJavaSource != null ? copy(propertiesFromJavaSource) : sourceProperties,
+				hintsFromJavaSource != null ? copy(hintsFromJavaSource) : sourceHints);
+	}
+
+	/**
+	 * Returns the version of this snapshot, incremented each time the project
+	 * information of an application.properties is updated.
+	 *
+	 * @return the version of this snapshot.
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * Returns the properties coming from the JARs of the classpath.
+	 *
+	 * @return the properties coming from the JARs of the classpath.
+	 */
+	public List<ItemMetadata> getBinaryProperties() {
+		return binaryProperties;
+	}
+
+	/**
+	 * Returns the properties coming from the Java sources of the project.
+	 *
+	 * @return the properties coming from the Java sources of the project.
+	 */
+	public List<ItemMetadata> getSourceProperties() {
+		return sourceProperties;
+	}
+
+	/**
+	 * Returns true if the given project information has the same properties and
+	 * hints than this snapshot and false otherwise.
+	 * 
+	 * <p>
+	 * The binary and source partitions are compared separately because the
+	 * snapshot lists the binary items first while the given project information
+	 * keeps the order of the JDT search.
+	 * </p>
+	 *
+	 * @param info the project information loaded from the JDT LS extension.
+	 * @return true if the given project information has the same properties and
+	 *         hints than this snapshot and false otherwise.
+	 */
+	public boolean hasSameItems(MicroProfileProjectInfo info) {
+		return isSamePartitions(binaryProperties, sourceProperties, info.getProperties(), IS_BINARY_PROPERTY)
+				&& isSamePartitions(binaryHints, sourceHints, info.getHints(), IS_BINARY_HINT);
+	}
+
+	private static <T> boolean isSamePartitions(List<T> binary, List<T> source, List<T> items,
+			Predicate<T> isBinary) {
+		if (items == null) {
+			return binary.isEmpty() && source.isEmpty();
+		}
+		if (items.size() != binary.size() + source.size()) {
+			return false;
+		}
+		int binaryIndex = 0;
+		int sourceIndex = 0;
+		for (T item : items) {
+			if (isBinary.test(item)) {
+				if (binaryIndex == binary.size() || !Objects.equals(binary.get(binaryIndex++), item)) {
+					return false;
+				}
+			} else if (sourceIndex == source.size() || !Objects.equals(source.get(sourceIndex++), item)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the binary properties and hints of this snapshot, shared with the
+	 * snapshots created with {@link #withSources(List, List)}.
+	 *
+	 * @return the binary properties and hints of this snapshot.
+	 */
+	BinaryMetadata getBinaryMetadata() {
+		return binaryMetadata;
+	}
+
+	@Override
+	public void setProjectURI(String projectURI) {
+		throw new UnsupportedOperationException("Project information snapshot is immutable");
+	}
+
+	@Override
+	public void setClasspathKind(ClasspathKind classpathKind) {
+		throw new UnsupportedOperationException("Project information snapshot is immutable");
+	}
+
+	@Override
+	public void setClasspathFingerprint(String classpathFingerprint) {
+		throw new UnsupportedOperationException("Project information snapshot is immutable");
+	}
+
+	@Override
+	public void setProperties(List<ItemMetadata> properties) {
+		throw new UnsupportedOperationException("Project information snapshot is immutable");
+	}
+
+	@Override
+	public void setHints(List<ItemHint> hints) {
+		throw new UnsupportedOperationException("Project information snapshot is immutable");
+	}
+
+	private static BinaryMetadata acquire(MicroProfileBinaryMetadataRegistry registry,
+			List<ItemMetadata> binaryProperties, List<ItemHint> binaryHints) {
+		if (registry == null) {
+			// the binary properties and hints are not shared
+			registry = new MicroProfileBinaryMetadataRegistry();
+		}
+		return registry.acquire(binaryProperties, binaryHints);
+	}
+
+	private static <T> List<T> filter(List<T> items, Predicate<T> filter) {
+		if (items == null) {
+			return Collections.emptyList();
+		}
+		List<T> result = new ArrayList<>();
+		for (T item : items) {
+			if (filter.test(item)) {
+				result.add(item);
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	private static <T> List<T> copy(List<T> items) {
+		return Collections.unmodifiableList(new ArrayList<>(items));
+	}
+}
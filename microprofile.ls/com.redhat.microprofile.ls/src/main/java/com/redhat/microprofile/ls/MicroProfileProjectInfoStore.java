@@ -0,0 +1,192 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+
+/**
+ * Store which persists snapshots of {@link MicroProfileProjectInfo} on the
+ * disk, to serve them as soon as the language server restarts.
+ *
+ * <p>
+ * A snapshot is a gzipped JSON file stored in the 'projectInfo' folder of the
+ * configured work directory. A snapshot stores the classpath fingerprint
+ * computed by the JDT LS extension, which is used to know if the snapshot is
+ * still valid when it is revalidated.
+ * </p>
+ *
+ */
+class MicroProfileProjectInfoStore {
+
+	private static final Logger LOGGER = Logger.getLogger(MicroProfileProjectInfoStore.class.getName());
+
+	private static final String PROJECT_INFO_FOLDER = "projectInfo";
+
+	private static final String SNAPSHOT_EXTENSION = ".json.gz";
+
+	/**
+	 * Version of the snapshot format. Snapshots which were written with another
+	 * version are ignored.
+	 */
+	private static final int SNAPSHOT_VERSION = 1;
+
+	private static class Snapshot {
+
+		private int version;
+
+		private String key;
+
+		private MicroProfileProjectInfo info;
+
+	}
+
+	private final Gson gson;
+
+	private volatile Path snapshotsDir;
+
+	public MicroProfileProjectInfoStore() {
+		this.gson = new Gson();
+	}
+
+	/**
+	 * Set the work directory where snapshots must be stored. Snapshots are not
+	 * stored when the work directory is null.
+	 *
+	 * @param workDir the work directory.
+	 */
+	public void setWorkDir(String workDir) {
+		this.snapshotsDir = workDir != null ? Paths.get(workDir, PROJECT_INFO_FOLDER) : null;
+	}
+
+	/**
+	 * Returns true if snapshots are stored on the disk and false otherwise.
+	 *
+	 * @return true if snapshots are stored on the disk and false otherwise.
+	 */
+	public boolean isEnabled() {
+		return snapshotsDir != null;
+	}
+
+	/**
+	 * Returns the snapshot of the project information stored for the given key and
+	 * null otherwise.
+	 *
+	 * @param key the snapshot key.
+	 * @return the snapshot of the project information stored for the given key and
+	 *         null otherwise.
+	 */
+	public MicroProfileProjectInfo load(String key) {
+		Path file = getSnapshotFile(key);
+		if (file == null || !Files.exists(file)) {
+			return null;
+		}
+		long start = System.currentTimeMillis();
+		try (Reader reader = new InputStreamReader(new GZIPInputStream(Files.newInputStream(file)),
+				StandardCharsets.UTF_8)) {
+			Snapshot snapshot = gson.fromJson(reader, Snapshot.class);
+			if (snapshot == null || snapshot.version != SNAPSHOT_VERSION || !key.equals(snapshot.key)
+					|| snapshot.info == null) {
+				return null;
+			}
+			LOGGER.info("Loaded project information snapshot for '" + key + "' in "
+					+ (System.currentTimeMillis() - start) + "ms.");
+			return snapshot.info;
+		} catch (IOException | JsonParseException e) {
+			LOGGER.log(Level.WARNING, "Error while loading project information snapshot for '" + key + "'.", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Store the snapshot of the given project information for the given key.
+	 *
+	 * @param key  the snapshot key.
+	 * @param info the project information to store.
+	 */
+	public void save(String key, MicroProfileProjectInfo info) {
+		Path file = getSnapshotFile(key);
+		if (file == null || info == null) {
+			return;
+		}
+		Snapshot snapshot = new Snapshot();
+		snapshot.version = SNAPSHOT_VERSION;
+		snapshot.key = key;
+		snapshot.info = info;
+		try {
+			Files.createDirectories(file.getParent());
+			// Write in a temporary file and move it to avoid reading a partial snapshot
+			Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+			try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(tmp)),
+					StandardCharsets.UTF_8)) {
+				gson.toJson(snapshot, writer);
+			}
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Error while saving project information snapshot for '" + key + "'.", e);
+		}
+	}
+
+	/**
+	 * Delete the snapshot stored for the given key.
+	 *
+	 * @param key the snapshot key.
+	 */
+	public void delete(String key) {
+		Path file = getSnapshotFile(key);
+		if (file == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Error while deleting project information snapshot for '" + key + "'.", e);
+		}
+	}
+
+	private Path getSnapshotFile(String key) {
+		Path dir = snapshotsDir;
+		if (dir == null || key == null) {
+			return null;
+		}
+		return dir.resolve(hash(key) + SNAPSHOT_EXTENSION);
+	}
+
+	private static String hash(String key) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			StringBuilder hash = new StringBuilder();
+			for (byte b : digest.digest(key.getBytes(StandardCharsets.UTF_8))) {
+				hash.append(String.format("%02x", b));
+			}
+			return hash.toString();
+		} catch (NoSuchAlgorithmException e) {
+			return Integer.toHexString(key.hashCode());
+		}
+	}
+}
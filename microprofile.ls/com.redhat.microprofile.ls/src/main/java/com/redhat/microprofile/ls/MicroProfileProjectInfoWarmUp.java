@@ -0,0 +1,160 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfoParams;
+
+/**
+ * Warm-up which prefetches, in a low priority background thread, the project
+ * information of the properties files of the workspace folders, to avoid
+ * paying the cost of the JDT search on the first completion.
+ *
+ * <p>
+ * The properties files are prefetched one by one and the warm-up is cancelled
+ * as soon as a foreground request needs the JDT LS extension (see
+ * {@link #cancel()}).
+ * </p>
+ *
+ */
+class MicroProfileProjectInfoWarmUp implements Runnable {
+
+	private static final Logger LOGGER = Logger.getLogger(MicroProfileProjectInfoWarmUp.class.getName());
+
+	private static final Set<String> PROPERTIES_FILE_NAMES = new HashSet<>(
+			Arrays.asList("application.properties", "microprofile-config.properties"));
+
+	/**
+	 * Folders which are not visited (build output, VCS and IDE folders).
+	 */
+	private static final Set<String> EXCLUDED_FOLDER_NAMES = new HashSet<>(
+			Arrays.asList("target", "build", "bin", "node_modules"));
+
+	private final MicroProfileProjectInfoCache cache;
+
+	private final Collection<Path> workspaceFolders;
+
+	private volatile boolean cancelled;
+
+	public MicroProfileProjectInfoWarmUp(MicroProfileProjectInfoCache cache, Collection<Path> workspaceFolders) {
+		this.cache = cache;
+		this.workspaceFolders = workspaceFolders;
+	}
+
+	/**
+	 * Start the warm-up in a low priority daemon thread.
+	 */
+	public void start() {
+		Thread thread = new Thread(this, "MicroProfile project info warm-up");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		thread.start();
+	}
+
+	/**
+	 * Cancel the warm-up. The pending prefetch is not cancelled (it can be shared
+	 * with a foreground request) but the next properties files are not
+	 * prefetched.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	@Override
+	public void run() {
+		long start = System.currentTimeMillis();
+		int prefetched = 0;
+		for (Path folder : workspaceFolders) {
+			for (Path file : findPropertiesFiles(folder)) {
+				if (cancelled) {
+					LOGGER.info("MicroProfile project information warm-up cancelled after " + prefetched
+							+ " properties files.");
+					return;
+				}
+				try {
+					cache.prefetchMicroProfileProjectInfo(new MicroProfileProjectInfoParams(file.toUri().toString()))
+							.get();
+					prefetched++;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				} catch (ExecutionException e) {
+					LOGGER.log(Level.WARNING, "Error while prefetching project information for '" + file + "'.",
+							e.getCause());
+				}
+			}
+		}
+		LOGGER.info("MicroProfile project information warm-up of " + prefetched + " properties files done in "
+				+ (System.currentTimeMillis() - start) + "ms.");
+	}
+
+	/**
+	 * Returns the application.properties and microprofile-config.properties files
+	 * of the given folder.
+	 *
+	 * @param folder the folder to visit.
+	 * @return the application.properties and microprofile-config.properties files
+	 *         of the given folder.
+	 */
+	static List<Path> findPropertiesFiles(Path folder) {
+		List<Path> files = new ArrayList<>();
+		if (!Files.isDirectory(folder)) {
+			return files;
+		}
+		try {
+			Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+					String name = dir.getFileName() != null ? dir.getFileName().toString() : "";
+					if (!dir.equals(folder) && (name.startsWith(".") || EXCLUDED_FOLDER_NAMES.contains(name))) {
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+					if (PROPERTIES_FILE_NAMES.contains(file.getFileName().toString())) {
+						files.add(file);
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Error while searching properties files in '" + folder + "'.", e);
+		}
+		return files;
+	}
+}
@@ -9,6 +9,8 @@
 *******************************************************************************/
 package com.redhat.microprofile.ls;
 
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,12 +46,17 @@ import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.services.TextDocumentService;
 
 import com.redhat.microprofile.commons.MicroProfilePropertiesChangeEvent;
+import com.redhat.microprofile.ls.api.MicroProfileWorkspaceValidationResult;
 import com.redhat.microprofile.ls.commons.client.ExtendedClientCapabilities;
+import com.redhat.microprofile.services.MicroProfileCompletionItemData;
 import com.redhat.microprofile.settings.MicroProfileCodeLensSettings;
+import com.redhat.microprofile.settings.MicroProfileCompletionSettings;
 import com.redhat.microprofile.settings.MicroProfileFormattingSettings;
+import com.redhat.microprofile.settings.MicroProfileServerSettings;
 import com.redhat.microprofile.settings.MicroProfileSymbolSettings;
 import com.redhat.microprofile.settings.MicroProfileValidationSettings;
 import com.redhat.microprofile.settings.SharedSettings;
+import com.redhat.microprofile.settings.capabilities.ServerCapabilitiesConstants;
 
 /**
  * MicroProfile text document service.
@@ -65,6 +72,8 @@ public class MicroProfileTextDocumentService implements TextDocumentService {
 	public MicroProfileTextDocumentService(MicroProfileLanguageServer quarkusLanguageServer) {
 		textDocumentServicesMap = new HashMap<>();
 		this.sharedSettings = new SharedSettings();
+		sharedSettings.getCompletionSettings()
+				.setResolveSupported(ServerCapabilitiesConstants.COMPLETION_RESOLVE_PROVIDER);
 		applicationPropertiesTextDocumentService = new ApplicationPropertiesTextDocumentService(quarkusLanguageServer,
 				sharedSettings);
 		javaTextDocumentService = new JavaTextDocumentService(quarkusLanguageServer, sharedSettings);
@@ -132,6 +141,16 @@ public class MicroProfileTextDocumentService implements TextDocumentService {
 		return CompletableFuture.completedFuture(null);
 	}
 
+	@Override
+	public CompletableFuture<CompletionItem> resolveCompletionItem(CompletionItem unresolved) {
+		MicroProfileCompletionItemData data = MicroProfileCompletionItemData.getData(unresolved);
+		TextDocumentService service = data != null ? getTextDocumentService(data.getUri()) : null;
+		if (service != null) {
+			return service.resolveCompletionItem(unresolved);
+		}
+		return CompletableFuture.completedFuture(unresolved);
+	}
+
 	@Override
 	public CompletableFuture<Hover> hover(TextDocumentPositionParams position) {
 		TextDocumentService service = getTextDocumentService(position.getTextDocument());
@@ -217,6 +236,27 @@ public class MicroProfileTextDocumentService implements TextDocumentService {
 		javaTextDocumentService.updateCodeLensSettings(newCodeLens);
 	}
 
+	public void updateCompletionSettings(MicroProfileCompletionSettings newCompletion) {
+		applicationPropertiesTextDocumentService.updateCompletionSettings(newCompletion);
+	}
+
+	public void updateServerSettings(MicroProfileServerSettings newServer) {
+		applicationPropertiesTextDocumentService.updateServerSettings(newServer);
+	}
+
+	public void warmUp(Collection<Path> workspaceFolders) {
+		applicationPropertiesTextDocumentService.warmUp(workspaceFolders);
+	}
+
+	public CompletableFuture<MicroProfileWorkspaceValidationResult> validateWorkspace(
+			Collection<Path> workspaceFolders) {
+		return applicationPropertiesTextDocumentService.validateWorkspace(workspaceFolders);
+	}
+
+	public void shutdown() {
+		applicationPropertiesTextDocumentService.shutdown();
+	}
+
 	private TextDocumentService getTextDocumentService(TextDocumentIdentifier document) {
 		String fileExtension = getFileExtension(document);
 		return fileExtension != null ? textDocumentServicesMap.get(fileExtension) : null;
@@ -227,6 +267,11 @@ public class MicroProfileTextDocumentService implements TextDocumentService {
 		return fileExtension != null ? textDocumentServicesMap.get(fileExtension) : null;
 	}
 
+	private TextDocumentService getTextDocumentService(String uri) {
+		String fileExtension = getFileExtension(uri);
+		return fileExtension != null ? textDocumentServicesMap.get(fileExtension) : null;
+	}
+
 	private static String getFileExtension(TextDocumentIdentifier document) {
 		return getFileExtension(document.getUri());
 	}
@@ -0,0 +1,285 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+
+/**
+ * Scheduler of the validations of the opened properties files.
+ *
+ * <p>
+ * For each document URI:
+ * </p>
+ *
+ * <ul>
+ * <li>a validation is started after a delay without new request (debounce),
+ * a request during the delay restarts the delay.</li>
+ * <li>a new request cancels the running validation with the
+ * {@link CancelChecker} given to the validation.</li>
+ * <li>at most one validation is running: a validation is started when the
+ * cancelled validation is stopped.</li>
+ * </ul>
+ *
+ * <p>
+ * The numbers of requested, debounced, cancelled and completed validations
+ * are available with the getters and are logged with the 'FINE' level each
+ * time a validation is completed.
+ * </p>
+ *
+ */
+public class MicroProfileValidationScheduler {
+
+	private static final Logger LOGGER = Logger.getLogger(MicroProfileValidationScheduler.class.getName());
+
+	/**
+	 * A validation run.
+	 */
+	private static class Run implements CancelChecker {
+
+		private volatile boolean cancelled;
+
+		@Override
+		public void checkCanceled() {
+			if (cancelled) {
+				throw new CancellationException("The validation has been superseded.");
+			}
+		}
+	}
+
+	/**
+	 * The validation state of a document URI.
+	 */
+	private static class Entry {
+
+		private Function<CancelChecker, CompletableFuture<?>> validation;
+
+		private ScheduledFuture<?> timer;
+
+		private Run running;
+
+		private boolean pending;
+	}
+
+	private final ScheduledThreadPoolExecutor executor;
+
+	private final Map<String, Entry> entries = new HashMap<>();
+
+	private volatile long delay;
+
+	private final AtomicLong requestedCount = new AtomicLong();
+
+	private final AtomicLong debouncedCount = new AtomicLong();
+
+	private final AtomicLong cancelledCount = new AtomicLong();
+
+	private final AtomicLong completedCount = new AtomicLong();
+
+	public MicroProfileValidationScheduler(long delay) {
+		this.delay = delay;
+		this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "MicroProfile validation scheduler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.executor.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * Set the delay in milliseconds without new request before starting a
+	 * validation.
+	 * 
+	 * @param delay the delay in milliseconds.
+	 */
+	public void setDelay(long delay) {
+		this.delay = delay;
+	}
+
+	/**
+	 * Returns the delay in milliseconds without new request before starting a
+	 * validation.
+	 * 
+	 * @return the delay in milliseconds.
+	 */
+	public long getDelay() {
+		return delay;
+	}
+
+	/**
+	 * Schedule the given validation of the given document URI. The scheduled
+	 * and running validations of the document URI are superseded.
+	 * 
+	 * @param uri        the document URI.
+	 * @param validation the validation which must stop as soon as possible when
+	 *                   the given cancel checker throws a
+	 *                   {@link CancellationException}.
+	 * @param immediate  true if the validation must be started without delay
+	 *                   (ex : when the document is opened).
+	 */
+	public void schedule(String uri, Function<CancelChecker, CompletableFuture<?>> validation, boolean immediate) {
+		requestedCount.incrementAndGet();
+		synchronized (entries) {
+			Entry entry = entries.computeIfAbsent(uri, k -> new Entry());
+			if (entry.timer != null && entry.timer.cancel(false)) {
+				// the scheduled validation is superseded before being started
+				debouncedCount.incrementAndGet();
+			} else if (entry.pending) {
+				// the validation waiting for the end of the running validation is superseded
+				debouncedCount.incrementAndGet();
+			}
+			entry.timer = null;
+			entry.pending = false;
+			cancelRunning(entry);
+			entry.validation = validation;
+			long delay = immediate ? 0 : this.delay;
+			if (delay <= 0) {
+				start(uri, entry);
+			} else {
+				entry.timer = executor.schedule(() -> {
+					synchronized (entries) {
+						if (entries.get(uri) == entry) {
+							entry.timer = null;
+							start(uri, entry);
+						}
+					}
+				}, delay, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	/**
+	 * Cancel the scheduled and running validations of the given document URI (ex
+	 * : when the document is closed).
+	 * 
+	 * @param uri the document URI.
+	 */
+	public void cancel(String uri) {
+		synchronized (entries) {
+			Entry entry = entries.remove(uri);
+			if (entry == null) {
+				return;
+			}
+			if ((entry.timer != null && entry.timer.cancel(false)) || entry.pending) {
+				debouncedCount.incrementAndGet();
+			}
+			entry.timer = null;
+			entry.pending = false;
+			cancelRunning(entry);
+		}
+	}
+
+	private void cancelRunning(Entry entry) {
+		Run running = entry.running;
+		if (running != null && !running.cancelled) {
+			running.cancelled = true;
+			cancelledCount.incrementAndGet();
+		}
+	}
+
+	private void start(String uri, Entry entry) {
+		if (entry.running != null) {
+			// wait for the end of the cancelled validation
+			entry.pending = true;
+			return;
+		}
+		Run run = new Run();
+		entry.running = run;
+		CompletableFuture<?> future;
+		try {
+			future = entry.validation.apply(run);
+		} catch (RuntimeException e) {
+			future = new CompletableFuture<>();
+			future.completeExceptionally(e);
+		}
+		if (future == null) {
+			future = CompletableFuture.completedFuture(null);
+		}
+		future.whenComplete((result, error) -> {
+			if (error == null) {
+				completedCount.incrementAndGet();
+				if (LOGGER.isLoggable(Level.FINE)) {
+					LOGGER.fine("Validation of '" + uri + "' completed (" + this + ")");
+				}
+			} else if (!isCancellation(error)) {
+				LOGGER.log(Level.WARNING, "Error while validating '" + uri + "'.", error);
+			}
+			synchronized (entries) {
+				entry.running = null;
+				if (entry.pending && entries.get(uri) == entry) {
+					entry.pending = false;
+					start(uri, entry);
+				}
+			}
+		});
+	}
+
+	private static boolean isCancellation(Throwable error) {
+		if (error instanceof CompletionException && error.getCause() != null) {
+			error = error.getCause();
+		}
+		return error instanceof CancellationException;
+	}
+
+	/**
+	 * Returns the number of requested validations.
+	 * 
+	 * @return the number of requested validations.
+	 */
+	public long getRequestedCount() {
+		return requestedCount.get();
+	}
+
+	/**
+	 * Returns the number of validations which have been superseded before being
+	 * started.
+	 * 
+	 * @return the number of validations which have been superseded before being
+	 *         started.
+	 */
+	public long getDebouncedCount() {
+		return debouncedCount.get();
+	}
+
+	/**
+	 * Returns the number of running validations which have been cancelled.
+	 * 
+	 * @return the number of running validations which have been cancelled.
+	 */
+	public long getCancelledCount() {
+		return cancelledCount.get();
+	}
+
+	/**
+	 * Returns the number of validations which have been completed.
+	 * 
+	 * @return the number of validations which have been completed.
+	 */
+	public long getCompletedCount() {
+		return completedCount.get();
+	}
+
+	@Override
+	public String toString() {
+		return "requested: " + getRequestedCount() + ", debounced: " + getDebouncedCount() + ", cancelled: "
+				+ getCancelledCount() + ", completed: " + getCompletedCount();
+	}
+}
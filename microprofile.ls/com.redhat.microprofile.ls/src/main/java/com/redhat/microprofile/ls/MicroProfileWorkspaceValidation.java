@@ -0,0 +1,198 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfoParams;
+import com.redhat.microprofile.ls.api.MicroProfileWorkspaceValidationResult;
+import com.redhat.microprofile.model.PropertiesModel;
+import com.redhat.microprofile.services.MicroProfileLanguageService;
+import com.redhat.microprofile.settings.MicroProfileValidationSettings;
+
+/**
+ * Validation of all the properties files of the workspace folders (see
+ * {@link MicroProfileProjectInfoWarmUp#findPropertiesFiles(Path)}) which are
+ * not opened. The opened properties files are validated with their text by the
+ * {@link MicroProfileValidationScheduler}, which supersedes an older validation
+ * of the file.
+ *
+ * <p>
+ * The project information of the files are shared by the
+ * {@link MicroProfileProjectInfoCache} and the files are parsed and validated
+ * in parallel with the given executor (a bounded fork-join pool). The
+ * diagnostics of a file are published as soon as the file is validated, and
+ * the result gives the aggregate timings.
+ * </p>
+ *
+ */
+class MicroProfileWorkspaceValidation {
+
+	private static final Logger LOGGER = Logger.getLogger(MicroProfileWorkspaceValidation.class.getName());
+
+	private final MicroProfileProjectInfoCache projectInfoCache;
+
+	private final MicroProfileLanguageService languageService;
+
+	private final MicroProfileValidationSettings validationSettings;
+
+	private final Predicate<String> openedDocuments;
+
+	private final Consumer<PublishDiagnosticsParams> publisher;
+
+	private final ExecutorService executor;
+
+	private final AtomicInteger fileCount = new AtomicInteger();
+
+	private final AtomicInteger failedFileCount = new AtomicInteger();
+
+	private final AtomicInteger diagnosticCount = new AtomicInteger();
+
+	private final AtomicLong parseTime = new AtomicLong();
+
+	private final AtomicLong validationTime = new AtomicLong();
+
+	/**
+	 * Creates a workspace validation.
+	 *
+	 * @param projectInfoCache   the project information cache.
+	 * @param languageService    the language service.
+	 * @param validationSettings the validation settings.
+	 * @param openedDocuments    returns true if the document of the given uri is
+	 *                           opened (the file is not validated) and false
+	 *                           otherwise.
+	 * @param publisher          the publisher of the diagnostics of a file.
+	 * @param executor           the executor used to parse and validate the
+	 *                           files.
+	 */
+	public MicroProfileWorkspaceValidation(MicroProfileProjectInfoCache projectInfoCache,
+			MicroProfileLanguageService languageService, MicroProfileValidationSettings validationSettings,
+			Predicate<String> openedDocuments, Consumer<PublishDiagnosticsParams> publisher,
+			ExecutorService executor) {
+		this.projectInfoCache = projectInfoCache;
+		this.languageService = languageService;
+		this.validationSettings = validationSettings;
+		this.openedDocuments = openedDocuments;
+		this.publisher = publisher;
+		this.executor = executor;
+	}
+
+	/**
+	 * Validates the properties files of the given workspace folders which are not
+	 * opened. The files are searched with the executor, not with the caller
+	 * thread.
+	 *
+	 * @param workspaceFolders the workspace folders.
+	 * @return the result of the validation, which can be cancelled.
+	 */
+	public CompletableFuture<MicroProfileWorkspaceValidationResult> validate(Collection<Path> workspaceFolders) {
+		long start = System.nanoTime();
+		CompletableFuture<MicroProfileWorkspaceValidationResult> result = new CompletableFuture<>();
+		CancelChecker cancelChecker = () -> {
+			if (result.isCancelled()) {
+				throw new CancellationException();
+			}
+		};
+		CompletableFuture.supplyAsync(() -> findFiles(workspaceFolders, cancelChecker), executor) //
+				.thenCompose(files -> {
+					List<CompletableFuture<Void>> validations = new ArrayList<>(files.size());
+					for (Map.Entry<String, Path> file : files.entrySet()) {
+						validations.add(validate(file.getKey(), file.getValue(), cancelChecker));
+					}
+					return CompletableFuture.allOf(validations.toArray(new CompletableFuture<?>[validations.size()]));
+				}).whenComplete((none, e) -> {
+					MicroProfileWorkspaceValidationResult validationResult = createResult(start);
+					LOGGER.info("Workspace validation done: " + validationResult);
+					result.complete(validationResult);
+				});
+		return result;
+	}
+
+	private Map<String, Path> findFiles(Collection<Path> workspaceFolders, CancelChecker cancelChecker) {
+		// the files by uri, a file of nested workspace folders is validated once
+		Map<String, Path> files = new LinkedHashMap<>();
+		for (Path folder : workspaceFolders) {
+			cancelChecker.checkCanceled();
+			for (Path file : MicroProfileProjectInfoWarmUp.findPropertiesFiles(folder)) {
+				String uri = file.toUri().toString();
+				if (!openedDocuments.test(uri)) {
+					files.put(uri, file);
+				}
+			}
+		}
+		return files;
+	}
+
+	private CompletableFuture<Void> validate(String uri, Path file, CancelChecker cancelChecker) {
+		MicroProfileProjectInfoParams projectInfoParams = new MicroProfileProjectInfoParams(uri);
+		return projectInfoCache.getMicroProfileProjectInfo(projectInfoParams).thenAcceptAsync(projectInfo -> {
+			cancelChecker.checkCanceled();
+			long start = System.nanoTime();
+			PropertiesModel model = PropertiesModel.parse(getText(file), uri);
+			long parsed = System.nanoTime();
+			List<Diagnostic> diagnostics = projectInfo.getProperties().isEmpty() ? new ArrayList<>()
+					: languageService.doDiagnostics(model, projectInfo, validationSettings, cancelChecker);
+			parseTime.addAndGet(parsed - start);
+			validationTime.addAndGet(System.nanoTime() - parsed);
+			fileCount.incrementAndGet();
+			diagnosticCount.addAndGet(diagnostics.size());
+			publisher.accept(new PublishDiagnosticsParams(uri, diagnostics));
+		}, executor).exceptionally(e -> {
+			Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+			if (!(cause instanceof CancellationException)) {
+				failedFileCount.incrementAndGet();
+				LOGGER.log(Level.WARNING, "Error while validating '" + uri + "'.", cause);
+			}
+			return null;
+		});
+	}
+
+	private static String getText(Path file) {
+		try {
+			return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new CompletionException(e);
+		}
+	}
+
+	private MicroProfileWorkspaceValidationResult createResult(long start) {
+		MicroProfileWorkspaceValidationResult result = new MicroProfileWorkspaceValidationResult();
+		result.setFileCount(fileCount.get());
+		result.setFailedFileCount(failedFileCount.get());
+		result.setDiagnosticCount(diagnosticCount.get());
+		result.setTotalTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		result.setParseTime(TimeUnit.NANOSECONDS.toMillis(parseTime.get()));
+		result.setValidationTime(TimeUnit.NANOSECONDS.toMillis(validationTime.get()));
+		return result;
+	}
+}
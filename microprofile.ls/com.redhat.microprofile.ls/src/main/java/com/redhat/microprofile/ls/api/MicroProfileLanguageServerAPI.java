@@ -9,7 +9,10 @@
 *******************************************************************************/
 package com.redhat.microprofile.ls.api;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.lsp4j.jsonrpc.services.JsonNotification;
+import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
 import org.eclipse.lsp4j.services.LanguageServer;
 
 import com.redhat.microprofile.commons.MicroProfilePropertiesChangeEvent;
@@ -36,4 +39,15 @@ public interface MicroProfileLanguageServerAPI extends LanguageServer {
 	@JsonNotification("microprofile/propertiesChanged")
 	void propertiesChanged(MicroProfilePropertiesChangeEvent event);
 
+	/**
+	 * Validates all the 'application.properties' files of the workspace folders
+	 * and the opened properties files. The diagnostics are published per file
+	 * with 'textDocument/publishDiagnostics' as soon as a file is validated.
+	 * 
+	 * @return the number of validated files which are not opened and diagnostics
+	 *         and the aggregate timings.
+	 */
+	@JsonRequest("microprofile/validateWorkspace")
+	CompletableFuture<MicroProfileWorkspaceValidationResult> validateWorkspace();
+
 }
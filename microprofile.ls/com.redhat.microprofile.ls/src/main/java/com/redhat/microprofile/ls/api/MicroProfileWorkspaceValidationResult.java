@@ -0,0 +1,118 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls.api;
+
+/**
+ * Result of the 'microprofile/validateWorkspace' request: the number of
+ * validated properties files and diagnostics and the aggregate timings (in
+ * milliseconds). The diagnostics are published per file with
+ * 'textDocument/publishDiagnostics'.
+ *
+ */
+public class MicroProfileWorkspaceValidationResult {
+
+	private int fileCount;
+
+	private int failedFileCount;
+
+	private int diagnosticCount;
+
+	private long totalTime;
+
+	private long parseTime;
+
+	private long validationTime;
+
+	/**
+	 * Returns the number of validated properties files.
+	 * 
+	 * @return the number of validated properties files.
+	 */
+	public int getFileCount() {
+		return fileCount;
+	}
+
+	public void setFileCount(int fileCount) {
+		this.fileCount = fileCount;
+	}
+
+	/**
+	 * Returns the number of properties files which cannot be validated (ex : the
+	 * file cannot be read).
+	 * 
+	 * @return the number of properties files which cannot be validated.
+	 */
+	public int getFailedFileCount() {
+		return failedFileCount;
+	}
+
+	public void setFailedFileCount(int failedFileCount) {
+		this.failedFileCount = failedFileCount;
+	}
+
+	/**
+	 * Returns the number of published diagnostics.
+	 * 
+	 * @return the number of published diagnostics.
+	 */
+	public int getDiagnosticCount() {
+		return diagnosticCount;
+	}
+
+	public void setDiagnosticCount(int diagnosticCount) {
+		this.diagnosticCount = diagnosticCount;
+	}
+
+	/**
+	 * Returns the elapsed time of the workspace validation.
+	 * 
+	 * @return the elapsed time of the workspace validation.
+	 */
+	public long getTotalTime() {
+		return totalTime;
+	}
+
+	public void setTotalTime(long totalTime) {
+		this.totalTime = totalTime;
+	}
+
+	/**
+	 * Returns the sum of the read and parse times of the properties files.
+	 * 
+	 * @return the sum of the read and parse times of the properties files.
+	 */
+	public long getParseTime() {
+		return parseTime;
+	}
+
+	public void setParseTime(long parseTime) {
+		this.parseTime = parseTime;
+	}
+
+	/**
+	 * Returns the sum of the validation times of the properties files.
+	 * 
+	 * @return the sum of the validation times of the properties files.
+	 */
+	public long getValidationTime() {
+		return validationTime;
+	}
+
+	public void setValidationTime(long validationTime) {
+		this.validationTime = validationTime;
+	}
+
+	@Override
+	public String toString() {
+		return "MicroProfileWorkspaceValidationResult [fileCount=" + fileCount + ", failedFileCount="
+				+ failedFileCount + ", diagnosticCount=" + diagnosticCount + ", totalTime=" + totalTime
+				+ "ms, parseTime=" + parseTime + "ms, validationTime=" + validationTime + "ms]";
+	}
+}
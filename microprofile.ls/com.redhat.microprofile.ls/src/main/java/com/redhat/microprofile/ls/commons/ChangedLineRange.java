@@ -0,0 +1,89 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls.commons;
+
+/**
+ * Range of the lines of a text document which have been changed by one or
+ * several updates.
+ *
+ * <p>
+ * The lines before {@link #getStartLine()} are unchanged and the lines after
+ * {@link #getEndLine()} are unchanged but moved by {@link #getLineDelta()}
+ * lines (the old line of the line <code>n</code> is
+ * <code>n - lineDelta</code>).
+ * </p>
+ *
+ */
+public class ChangedLineRange {
+
+	private final int startLine;
+
+	private final int endLine;
+
+	private final int lineDelta;
+
+	public ChangedLineRange(int startLine, int endLine, int lineDelta) {
+		this.startLine = startLine;
+		this.endLine = endLine;
+		this.lineDelta = lineDelta;
+	}
+
+	/**
+	 * Returns the first changed line (in the new document).
+	 * 
+	 * @return the first changed line (in the new document).
+	 */
+	public int getStartLine() {
+		return startLine;
+	}
+
+	/**
+	 * Returns the last changed line (in the new document).
+	 * 
+	 * @return the last changed line (in the new document).
+	 */
+	public int getEndLine() {
+		return endLine;
+	}
+
+	/**
+	 * Returns the number of lines added (positive) or removed (negative) by the
+	 * changes.
+	 * 
+	 * @return the number of lines added (positive) or removed (negative) by the
+	 *         changes.
+	 */
+	public int getLineDelta() {
+		return lineDelta;
+	}
+
+	/**
+	 * Returns the range which covers this range and the given change which
+	 * replaces the lines <code>[startLine, oldEndLine]</code> of the document
+	 * with the lines <code>[startLine, newEndLine]</code>.
+	 * 
+	 * @param startLine  the first replaced line.
+	 * @param oldEndLine the last replaced line before the change.
+	 * @param newEndLine the last replaced line after the change.
+	 * @return the range which covers this range and the given change.
+	 */
+	public ChangedLineRange merge(int startLine, int oldEndLine, int newEndLine) {
+		int delta = newEndLine - oldEndLine;
+		// the end of this range is moved if it is after the replaced lines
+		int endLine = this.endLine > oldEndLine ? this.endLine + delta : this.endLine;
+		return new ChangedLineRange(Math.min(this.startLine, startLine), Math.max(endLine, newEndLine),
+				lineDelta + delta);
+	}
+
+	@Override
+	public String toString() {
+		return "[" + startLine + ", " + endLine + "] (" + (lineDelta >= 0 ? "+" : "") + lineDelta + ")";
+	}
+}
@@ -10,6 +10,9 @@
  */
 package com.redhat.microprofile.ls.commons;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -37,6 +40,40 @@ public class TextDocument extends TextDocumentItem {
 
 	private boolean incremental;
 
+	/**
+	 * The maximum number of updates kept to compute the changed lines.
+	 */
+	private static final int MAX_LINE_CHANGES = 64;
+
+	/**
+	 * The changed lines of an update which replaced the whole text.
+	 */
+	private static final ChangedLineRange WHOLE_TEXT = new ChangedLineRange(0, Integer.MAX_VALUE, 0);
+
+	/**
+	 * The changed lines of the last updates.
+	 */
+	private final Deque<ChangedLineRange> lineChanges = new ArrayDeque<>();
+
+	/**
+	 * The modification stamp of a text.
+	 */
+	private static class TextStamp {
+
+		private final String text;
+
+		private final long value;
+
+		private TextStamp(String text, long value) {
+			this.text = text;
+			this.value = value;
+		}
+	}
+
+	private volatile TextStamp modificationStamp;
+
+	private boolean updating;
+
 	public TextDocument(TextDocumentItem document) {
 		this(document.getText(), document.getUri());
 		super.setVersion(document.getVersion());
@@ -46,6 +83,7 @@ public class TextDocument extends TextDocumentItem {
 	public TextDocument(String text, String uri) {
 		super.setUri(uri);
 		super.setText(text);
+		this.modificationStamp = new TextStamp(text, 0);
 	}
 
 	public void setIncremental(boolean incremental) {
@@ -59,6 +97,103 @@ public class TextDocument extends TextDocumentItem {
 		return incremental;
 	}
 
+	@Override
+	public void setText(String text) {
+		synchronized (lock) {
+			if (!updating) {
+				// the whole text is replaced
+				addLineChange(WHOLE_TEXT);
+			}
+			super.setText(text);
+			TextStamp stamp = modificationStamp;
+			modificationStamp = new TextStamp(text, stamp != null ? stamp.value + 1 : 0);
+		}
+	}
+
+	/**
+	 * Returns the modification stamp of the text, incremented each time the text
+	 * changes.
+	 * 
+	 * @return the modification stamp of the text.
+	 */
+	public long getModificationStamp() {
+		return modificationStamp.value;
+	}
+
+	/**
+	 * Returns the modification stamp of the given text of this document and -1 if
+	 * the given text is not the current text of this document.
+	 * 
+	 * @param text a text returned by {@link #getText()}.
+	 * @return the modification stamp of the given text of this document and -1 if
+	 *         the given text is not the current text of this document.
+	 */
+	public long getModificationStamp(String text) {
+		TextStamp stamp = modificationStamp;
+		return stamp.text == text ? stamp.value : -1;
+	}
+
+	/**
+	 * Returns the lines changed between the given modification stamps and null if
+	 * they are unknown (the whole text has been replaced or too many updates
+	 * occurred).
+	 * 
+	 * @param fromStamp the modification stamp of the old text.
+	 * @param toStamp   the modification stamp of the new text.
+	 * @return the lines changed between the given modification stamps and null if
+	 *         they are unknown.
+	 */
+	public ChangedLineRange getChangedLines(long fromStamp, long toStamp) {
+		synchronized (lock) {
+			long current = modificationStamp.value;
+			if (fromStamp < 0 || toStamp < fromStamp || toStamp > current
+					|| current - fromStamp > lineChanges.size()) {
+				return null;
+			}
+			if (fromStamp == toStamp) {
+				return new ChangedLineRange(Integer.MAX_VALUE, -1, 0);
+			}
+			// the last updates are at the end of the deque, skip the updates after the
+			// new text
+			Iterator<ChangedLineRange> changes = lineChanges.descendingIterator();
+			for (long i = current; i > toStamp; i--) {
+				changes.next();
+			}
+			ChangedLineRange[] updates = new ChangedLineRange[(int) (toStamp - fromStamp)];
+			for (int i = updates.length - 1; i >= 0; i--) {
+				updates[i] = changes.next();
+				if (updates[i] == WHOLE_TEXT) {
+					return null;
+				}
+			}
+			ChangedLineRange result = updates[0];
+			for (int i = 1; i < updates.length; i++) {
+				ChangedLineRange change = updates[i];
+				result = result.merge(change.getStartLine(), change.getEndLine() - change.getLineDelta(),
+						change.getEndLine());
+			}
+			return result;
+		}
+	}
+
+	private void addLineChange(ChangedLineRange change) {
+		if (lineChanges.size() == MAX_LINE_CHANGES) {
+			lineChanges.removeFirst();
+		}
+		lineChanges.addLast(change);
+	}
+
+	private static int countLineDelimiters(String text) {
+		int count = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '\n' || (c == '\r' && (i + 1 == text.length() || text.charAt(i + 1) != '\n'))) {
+				count++;
+			}
+		}
+		return count;
+	}
+
 	public Position positionAt(int position) throws BadLocationException {
 		ILineTracker lineTracker = getLineTracker();
 		return lineTracker.getPositionAt(position);
@@ -157,6 +292,8 @@ public class TextDocument extends TextDocumentItem {
 				synchronized (lock) {
 					// Initialize buffer and line tracker from the current text document
 					StringBuilder buffer = new StringBuilder(getText());
+					ChangedLineRange changedLines = null;
+					boolean wholeText = false;
 
 					// Loop for each changes and update the buffer
 					for (int i = 0; i < changes.size(); i++) {
@@ -171,14 +308,34 @@ public class TextDocument extends TextDocumentItem {
 							// range is optional and if not given, the whole file content is replaced
 							length = buffer.length();
 							range = new Range(positionAt(0), positionAt(length));
+							wholeText = true;
 						}
 						String text = changeEvent.getText();
+						int startLine = range.getStart().getLine();
+						int oldEndLine = range.getEnd().getLine();
+						int newEndLine = startLine + countLineDelimiters(text);
+						if (range.getEnd().getCharacter() == 0 && (text.isEmpty() ? range.getStart().getCharacter() == 0
+								: text.endsWith("\n") || text.endsWith("\r"))) {
+							// the last line is the unchanged old last line (ex : insertion or deletion of
+							// whole lines)
+							oldEndLine--;
+							newEndLine--;
+						}
+						changedLines = changedLines == null
+								? new ChangedLineRange(startLine, newEndLine, newEndLine - oldEndLine)
+								: changedLines.merge(startLine, oldEndLine, newEndLine);
 						int startOffset = offsetAt(range.getStart());
 						buffer.replace(startOffset, startOffset + length, text);
 						lineTracker.replace(startOffset, length, text);
 					}
 					// Update the new text content from the updated buffer
-					setText(buffer.toString());
+					addLineChange(wholeText ? WHOLE_TEXT : changedLines);
+					updating = true;
+					try {
+						setText(buffer.toString());
+					} finally {
+						updating = false;
+					}
 				}
 				LOGGER.fine("Text document content updated in " + (System.currentTimeMillis() - start) + "ms");
 			} catch (BadLocationException e) {
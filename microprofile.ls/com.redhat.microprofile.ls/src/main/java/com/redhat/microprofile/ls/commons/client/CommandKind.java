@@ -40,4 +40,9 @@ public class CommandKind {
 	 */
 	public static final String COMMAND_CONFIGURATION_UPDATE = "quarkus.command.configuration.update";
 
+	/**
+	 * Client command to trigger the completion
+	 */
+	public static final String COMMAND_TRIGGER_SUGGEST = "editor.action.triggerSuggest";
+
 }
\ No newline at end of file
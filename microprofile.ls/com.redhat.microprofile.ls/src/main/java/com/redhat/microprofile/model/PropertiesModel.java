@@ -121,6 +121,10 @@ public class PropertiesModel extends Node {
 
 	private final TextDocument document;
 
+	private long modificationStamp;
+
+	private volatile PropertiesModelIndex index;
+
 	PropertiesModel(TextDocument document) {
 		this.document = document;
 	}
@@ -149,8 +153,10 @@ public class PropertiesModel extends Node {
 	 */
 	public static PropertiesModel parse(TextDocument document) {
 		PropertiesModel model = new PropertiesModel(document);
+		String text = document.getText();
+		model.modificationStamp = document.getModificationStamp(text);
 		PropertiesParser parser = new PropertiesParser();
-		parser.parse(document.getText(), new PropertiesModelHandler(model), new ErrorHandler() {
+		parser.parse(text, new PropertiesModelHandler(model), new ErrorHandler() {
 
 			@Override
 			public void error(ParseContext context, ErrorEvent errorEvent) throws ParseException {
@@ -191,4 +197,27 @@ public class PropertiesModel extends Node {
 		return getDocument().getUri();
 	}
 
+	/**
+	 * Returns the modification stamp of the parsed text and -1 if it is unknown.
+	 * 
+	 * @return the modification stamp of the parsed text and -1 if it is unknown.
+	 */
+	public long getModificationStamp() {
+		return modificationStamp;
+	}
+
+	/**
+	 * Returns the index of the properties of this model, built on the first call.
+	 * 
+	 * @return the index of the properties of this model.
+	 */
+	public PropertiesModelIndex getIndex() {
+		PropertiesModelIndex result = index;
+		if (result == null) {
+			result = new PropertiesModelIndex(this);
+			index = result;
+		}
+		return result;
+	}
+
 }
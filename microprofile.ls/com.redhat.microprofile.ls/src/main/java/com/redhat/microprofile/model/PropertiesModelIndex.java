@@ -0,0 +1,169 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.redhat.microprofile.model.Node.NodeType;
+
+/**
+ * Immutable index of the properties of a {@link PropertiesModel}, built once
+ * per model (a model is parsed for each version of the document) and shared by
+ * the completion, the validation and the symbols.
+ *
+ * <p>
+ * The property names and profiles are extracted once from the text of the
+ * property keys. Properties are kept in the order of the document.
+ * </p>
+ *
+ * @see PropertiesModel#getIndex()
+ */
+public class PropertiesModelIndex {
+
+	private final List<Property> properties;
+
+	private final Map<String, List<Property>> propertiesByNameWithProfile;
+
+	private final Map<String, List<Property>> propertiesByName;
+
+	private final Set<String> profiles;
+
+	PropertiesModelIndex(PropertiesModel model) {
+		List<Property> properties = new ArrayList<>();
+		Map<String, List<Property>> propertiesByNameWithProfile = new LinkedHashMap<>();
+		Map<String, List<Property>> propertiesByName = new LinkedHashMap<>();
+		Set<String> profiles = new LinkedHashSet<>();
+		for (Node node : model.getChildren()) {
+			if (node.getNodeType() != NodeType.PROPERTY) {
+				continue;
+			}
+			Property property = (Property) node;
+			properties.add(property);
+			PropertyKey key = property.getKey();
+			if (key == null) {
+				continue;
+			}
+			String nameWithProfile = key.getPropertyNameWithProfile();
+			if (nameWithProfile != null && !nameWithProfile.isEmpty()) {
+				add(nameWithProfile, property, propertiesByNameWithProfile);
+			}
+			String name = key.getPropertyName();
+			if (name != null && !name.isEmpty()) {
+				add(name, property, propertiesByName);
+			}
+			String profile = key.getProfile();
+			if (profile != null && !profile.isEmpty()) {
+				profiles.add(profile);
+			}
+		}
+		this.properties = Collections.unmodifiableList(properties);
+		this.propertiesByNameWithProfile = freeze(propertiesByNameWithProfile);
+		this.propertiesByName = freeze(propertiesByName);
+		this.profiles = Collections.unmodifiableSet(profiles);
+	}
+
+	private static void add(String name, Property property, Map<String, List<Property>> propertiesByName) {
+		List<Property> list = propertiesByName.get(name);
+		if (list == null) {
+			// most of the names are not duplicated
+			propertiesByName.put(name, Collections.singletonList(property));
+		} else {
+			if (list.size() == 1) {
+				list = new ArrayList<>(list);
+				propertiesByName.put(name, list);
+			}
+			list.add(property);
+		}
+	}
+
+	private static Map<String, List<Property>> freeze(Map<String, List<Property>> propertiesByName) {
+		propertiesByName.replaceAll((name, list) -> list.size() > 1 ? Collections.unmodifiableList(list) : list);
+		return Collections.unmodifiableMap(propertiesByName);
+	}
+
+	/**
+	 * Returns the properties of the model (with and without key) in the order of
+	 * the document.
+	 * 
+	 * @return the properties of the model (with and without key) in the order of
+	 *         the document.
+	 */
+	public List<Property> getProperties() {
+		return properties;
+	}
+
+	/**
+	 * Returns the property names with profile (ex : '%dev.quarkus.http.port') of
+	 * the model.
+	 * 
+	 * @return the property names with profile of the model.
+	 */
+	public Set<String> getPropertyNamesWithProfile() {
+		return propertiesByNameWithProfile.keySet();
+	}
+
+	/**
+	 * Returns the property names without profile (ex : 'quarkus.http.port') of the
+	 * model.
+	 * 
+	 * @return the property names without profile of the model.
+	 */
+	public Set<String> getPropertyNames() {
+		return propertiesByName.keySet();
+	}
+
+	/**
+	 * Returns the profiles (ex : 'dev') declared in the model.
+	 * 
+	 * @return the profiles declared in the model.
+	 */
+	public Set<String> getProfiles() {
+		return profiles;
+	}
+
+	/**
+	 * Returns the properties grouped by property name with profile.
+	 * 
+	 * @return the properties grouped by property name with profile.
+	 */
+	public Map<String, List<Property>> getPropertiesByNameWithProfile() {
+		return propertiesByNameWithProfile;
+	}
+
+	/**
+	 * Returns the properties of the given property name with profile (ex :
+	 * '%dev.quarkus.http.port') and an empty list otherwise.
+	 * 
+	 * @param propertyNameWithProfile the property name with profile.
+	 * @return the properties of the given property name with profile and an empty
+	 *         list otherwise.
+	 */
+	public List<Property> getPropertiesWithProfile(String propertyNameWithProfile) {
+		return propertiesByNameWithProfile.getOrDefault(propertyNameWithProfile, Collections.emptyList());
+	}
+
+	/**
+	 * Returns the properties of the given property name without profile (ex :
+	 * 'quarkus.http.port') for all profiles and an empty list otherwise.
+	 * 
+	 * @param propertyName the property name without profile.
+	 * @return the properties of the given property name without profile for all
+	 *         profiles and an empty list otherwise.
+	 */
+	public List<Property> getProperties(String propertyName) {
+		return propertiesByName.getOrDefault(propertyName, Collections.emptyList());
+	}
+}
@@ -9,7 +9,9 @@
 *******************************************************************************/
 package com.redhat.microprofile.model.values;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import com.redhat.microprofile.commons.metadata.ItemHint.ValueHint;
@@ -37,6 +39,8 @@ public class ValuesRule {
 
 	private transient boolean valuesCleaned;
 
+	private transient Map<String, ValueHint> valuesCache;
+
 	public PropertyMatcher getMatcher() {
 		return matcher;
 	}
@@ -48,6 +52,7 @@ public class ValuesRule {
 	public void setValues(List<ValueHint> values) {
 		this.values = values;
 		this.valuesCleaned = false;
+		this.valuesCache = null;
 	}
 
 	public List<ValueHint> getValues() {
@@ -67,6 +72,29 @@ public class ValuesRule {
 		}
 	}
 
+	/**
+	 * Returns the value hint of the given value and null otherwise.
+	 * 
+	 * @param value the value
+	 * @return the value hint of the given value and null otherwise.
+	 */
+	public ValueHint getValue(String value) {
+		List<ValueHint> values = getValues();
+		if (values == null || value == null) {
+			return null;
+		}
+		Map<String, ValueHint> cache = valuesCache;
+		if (cache == null) {
+			cache = new HashMap<>(values.size() * 4 / 3 + 1);
+			for (ValueHint valueHint : values) {
+				// the first value wins, like a linear scan
+				cache.putIfAbsent(valueHint.getValue(), valueHint);
+			}
+			valuesCache = cache;
+		}
+		return cache.get(value);
+	}
+
 	public List<String> getValuesRef() {
 		return valuesRef;
 	}
@@ -33,6 +33,8 @@ public class ValuesRulesManager {
 	private final List<ValuesRule> rules;
 	private boolean withDefault;
 
+	private volatile int version;
+
 	public ValuesRulesManager(boolean withDefault) {
 		this.definitionsMap = new HashMap<>();
 		this.rules = new ArrayList<>();
@@ -55,6 +57,7 @@ public class ValuesRulesManager {
 
 	public void registerRules(List<ValuesRule> rules) {
 		this.rules.addAll(rules);
+		version++;
 		rules.stream() //
 				.filter(rule -> rule.getValuesRef() != null) //
 				.forEach(rule -> rule.getValuesRef() //
@@ -75,6 +78,18 @@ public class ValuesRulesManager {
 
 	public void unregisterRules(List<ValuesRule> rules) {
 		this.rules.removeAll(rules);
+		version++;
+	}
+
+	/**
+	 * Returns the version of the rules, incremented each time rules are
+	 * registered or unregistered.
+	 * 
+	 * @return the version of the rules.
+	 */
+	public int getVersion() {
+		getRules();
+		return version;
 	}
 
 	/**
@@ -87,9 +102,23 @@ public class ValuesRulesManager {
 	 *         null otherwise.
 	 */
 	public List<ValueHint> getValues(ItemMetadata metadata, PropertiesModel model) {
+		ValuesRule rule = getRule(metadata, model);
+		return rule != null ? rule.getValues() : null;
+	}
+
+	/**
+	 * Returns the first values rule which matches the given metadata property and
+	 * null otherwise.
+	 * 
+	 * @param metadata the metadata property to match
+	 * @param model    the properties model
+	 * @return the first values rule which matches the given metadata property and
+	 *         null otherwise.
+	 */
+	public ValuesRule getRule(ItemMetadata metadata, PropertiesModel model) {
 		for (ValuesRule rule : getRules()) {
 			if (rule.match(metadata, model)) {
-				return rule.getValues();
+				return rule;
 			}
 		}
 		return null;
@@ -106,8 +135,8 @@ public class ValuesRulesManager {
 	 *         false otherwise.
 	 */
 	public boolean isValidEnum(ItemMetadata metadata, PropertiesModel model, String propertyValue) {
-		List<ValueHint> enums = getValues(metadata, model);
-		return enums == null || getValueHint(propertyValue, metadata, model) != null; 
+		ValuesRule rule = getRule(metadata, model);
+		return rule == null || rule.getValues() == null || rule.getValue(propertyValue) != null;
 	}
 
 	/**
@@ -120,20 +149,8 @@ public class ValuesRulesManager {
 	 *         metadata property and null otherwise.
 	 */
 	public ValueHint getValueHint(String propertyValue, ItemMetadata metadata, PropertiesModel model) {
-		List<ValueHint> enums = getValues(metadata, model);
-		return getValue(propertyValue, enums);
-	}
-	
-	private ValueHint getValue(String value, List<ValueHint> values) {
-		if (values == null || value == null) {
-			return null;
-		}
-		for (ValueHint valueHint : values) {
-			if (value.equals(valueHint.getValue())) {
-				return valueHint;
-			}
-		}
-		return null;
+		ValuesRule rule = getRule(metadata, model);
+		return rule != null ? rule.getValue(propertyValue) : null;
 	}
 
 	private List<ValuesRule> getRules() {
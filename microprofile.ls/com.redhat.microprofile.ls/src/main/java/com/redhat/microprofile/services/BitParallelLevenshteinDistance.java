@@ -0,0 +1,219 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.services;
+
+import java.util.Arrays;
+
+/**
+ * Bounded Levenshtein distance computed with the bit-parallel algorithm of
+ * Myers (in the formulation of Hyyrö): the columns of the distance matrix are
+ * encoded with the vertical deltas of the shorter string, 64 rows per long, and
+ * a character of the longer string is processed with a few bitwise operations
+ * per block of 64 rows.
+ *
+ * <p>
+ * It gives the same result as the LevenshteinDistance of Apache Commons Text
+ * with a threshold (the reference implementation of the tests) but doesn't
+ * allocate: the match masks and the deltas are stored in buffers reused by
+ * each thread.
+ * </p>
+ *
+ */
+class BitParallelLevenshteinDistance {
+
+	private static final int ASCII_SIZE = 128;
+
+	/**
+	 * The buffers of a computation, reused by a thread.
+	 */
+	private static class Scratch {
+
+		/**
+		 * The match masks of the ASCII characters, 'blocks' longs per character.
+		 */
+		private long[] asciiMasks = new long[ASCII_SIZE];
+
+		/**
+		 * The other characters of the pattern and their match masks.
+		 */
+		private char[] otherChars = new char[8];
+
+		private long[] otherMasks = new long[8];
+
+		private int otherCount;
+
+		/**
+		 * The positive and negative vertical deltas of each block.
+		 */
+		private long[] positives = new long[1];
+
+		private long[] negatives = new long[1];
+
+		private void ensureCapacity(int blocks) {
+			if (positives.length < blocks) {
+				asciiMasks = new long[ASCII_SIZE * blocks];
+				positives = new long[blocks];
+				negatives = new long[blocks];
+				otherMasks = new long[otherChars.length * blocks];
+			}
+		}
+
+		private int getOtherIndex(char c) {
+			for (int i = 0; i < otherCount; i++) {
+				if (otherChars[i] == c) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		private int addOther(char c) {
+			if (otherCount == otherChars.length) {
+				otherChars = Arrays.copyOf(otherChars, otherCount * 2);
+				otherMasks = Arrays.copyOf(otherMasks, otherChars.length * positives.length);
+			}
+			otherChars[otherCount] = c;
+			return otherCount++;
+		}
+	}
+
+	private static final ThreadLocal<Scratch> SCRATCHES = ThreadLocal.withInitial(Scratch::new);
+
+	private BitParallelLevenshteinDistance() {
+	}
+
+	/**
+	 * Returns the Levenshtein distance between the given strings if it's lower or
+	 * equal to the given threshold and -1 otherwise.
+	 *
+	 * @param left      the first string.
+	 * @param right     the second string.
+	 * @param threshold the threshold.
+	 * @return the Levenshtein distance between the given strings if it's lower or
+	 *         equal to the given threshold and -1 otherwise.
+	 * @throws IllegalArgumentException if a string is null or if the threshold is
+	 *                                  negative.
+	 */
+	public static int apply(CharSequence left, CharSequence right, int threshold) {
+		if (left == null || right == null) {
+			throw new IllegalArgumentException("CharSequences must not be null");
+		}
+		if (threshold < 0) {
+			throw new IllegalArgumentException("Threshold must not be negative");
+		}
+		// the rows of the matrix are the characters of the shorter string
+		CharSequence pattern = left.length() <= right.length() ? left : right;
+		CharSequence text = pattern == left ? right : left;
+		int m = pattern.length();
+		int n = text.length();
+		if (n - m > threshold) {
+			return -1;
+		}
+		if (m == 0) {
+			return n;
+		}
+		Scratch scratch = SCRATCHES.get();
+		int blocks = (m + 63) >>> 6;
+		scratch.ensureCapacity(blocks);
+		try {
+			fillMasks(pattern, blocks, scratch);
+			return compute(text, m, blocks, threshold, scratch);
+		} finally {
+			clearMasks(pattern, blocks, scratch);
+		}
+	}
+
+	private static void fillMasks(CharSequence pattern, int blocks, Scratch scratch) {
+		long[] asciiMasks = scratch.asciiMasks;
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			long bit = 1L << (i & 63);
+			int block = i >>> 6;
+			if (c < ASCII_SIZE) {
+				asciiMasks[c * blocks + block] |= bit;
+			} else {
+				int index = scratch.getOtherIndex(c);
+				if (index == -1) {
+					index = scratch.addOther(c);
+				}
+				scratch.otherMasks[index * blocks + block] |= bit;
+			}
+		}
+	}
+
+	private static void clearMasks(CharSequence pattern, int blocks, Scratch scratch) {
+		long[] asciiMasks = scratch.asciiMasks;
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c < ASCII_SIZE) {
+				asciiMasks[c * blocks + (i >>> 6)] = 0;
+			}
+		}
+		Arrays.fill(scratch.otherMasks, 0, scratch.otherCount * blocks, 0);
+		scratch.otherCount = 0;
+	}
+
+	private static int compute(CharSequence text, int m, int blocks, int threshold, Scratch scratch) {
+		long[] positives = scratch.positives;
+		long[] negatives = scratch.negatives;
+		// the first column is 0, 1, ..., m
+		Arrays.fill(positives, 0, blocks, -1L);
+		Arrays.fill(negatives, 0, blocks, 0L);
+		long lastBit = 1L << ((m - 1) & 63);
+		int lastBlock = blocks - 1;
+		int n = text.length();
+		int score = m;
+		for (int j = 0; j < n; j++) {
+			char c = text.charAt(j);
+			long[] masks;
+			int offset;
+			if (c < ASCII_SIZE) {
+				masks = scratch.asciiMasks;
+				offset = c * blocks;
+			} else {
+				int index = scratch.getOtherIndex(c);
+				masks = index != -1 ? scratch.otherMasks : null;
+				offset = index * blocks;
+			}
+			// the horizontal delta of the first row is +1
+			int carry = 1;
+			for (int b = 0; b < blocks; b++) {
+				long eq = masks != null ? masks[offset + b] : 0L;
+				long pv = positives[b];
+				long mv = negatives[b];
+				long xv = eq | mv;
+				if (carry < 0) {
+					eq |= 1L;
+				}
+				long xh = (((eq & pv) + pv) ^ pv) | eq;
+				long ph = mv | ~(xh | pv);
+				long mh = pv & xh;
+				long outBit = b == lastBlock ? lastBit : Long.MIN_VALUE;
+				int out = (ph & outBit) != 0 ? 1 : (mh & outBit) != 0 ? -1 : 0;
+				ph <<= 1;
+				mh <<= 1;
+				if (carry < 0) {
+					mh |= 1L;
+				} else if (carry > 0) {
+					ph |= 1L;
+				}
+				positives[b] = mh | ~(xv | ph);
+				negatives[b] = ph & xv;
+				carry = out;
+			}
+			score += carry;
+			// the score of the last row decreases by 1 at most per remaining character
+			if (score - (n - j - 1) > threshold) {
+				return -1;
+			}
+		}
+		return score <= threshold ? score : -1;
+	}
+}
@@ -55,6 +55,8 @@ class MicroProfileCodeActions {
 
 	private static final float MAX_DISTANCE_DIFF_RATIO = 0.1f;
 
+	private static final int MAX_SIMILAR_PROPERTIES = 10;
+
 	private static final Logger LOGGER = Logger.getLogger(MicroProfileCodeActions.class.getName());
 
 	/**
@@ -92,11 +94,8 @@ class MicroProfileCodeActions {
 
 	/**
 	 * Creation code action for 'unknown' property by searching similar name from
-	 * the known Quarkus properties.
-	 * 
-	 * <p>
-	 * LIMITATION: mapped property are not supported.
-	 * </p>
+	 * the known Quarkus properties (see
+	 * {@link MicroProfilePropertySimilarityIndex}).
 	 * 
 	 * @param diagnostic          the diagnostic
 	 * @param document            the properties model.
@@ -111,20 +110,15 @@ class MicroProfileCodeActions {
 			// Get property name by using the diagnostic range
 			PropertyKey propertyKey = (PropertyKey) document.findNodeAt(diagnostic.getRange().getStart());
 			String propertyName = propertyKey.getPropertyName();
-			// Loop for each metadata property
-			for (ItemMetadata metaProperty : projectInfo.getProperties()) {
-				String name = metaProperty.getName();
-				if (MicroProfilePropertiesUtils.isMappedProperty(name)) {
-					// FIXME: support mapped property
-				} else {
-					// Check if the property name is similar to the metadata name
-					if (isSimilar(metaProperty.getName(), propertyName)) {
-						Range range = PositionUtils.createRange(propertyKey);
-						CodeAction replaceAction = CodeActionFactory.replace("Did you mean '" + name + "' ?", range,
-								name, document.getDocument(), diagnostic);
-						codeActions.add(replaceAction);
-					}
-				}
+			// Search the metadata names (and the mapped names) similar to the property
+			// name
+			List<String> similarNames = MicroProfilePropertySimilarityIndex.getIndex(projectInfo)
+					.findSimilarNames(propertyName, MAX_SIMILAR_PROPERTIES);
+			for (String name : similarNames) {
+				Range range = PositionUtils.createRange(propertyKey);
+				CodeAction replaceAction = CodeActionFactory.replace("Did you mean '" + name + "' ?", range, name,
+						document.getDocument(), diagnostic);
+				codeActions.add(replaceAction);
 			}
 
 			if (commandCapabilities.isCommandSupported(CommandKind.COMMAND_CONFIGURATION_UPDATE)) {
@@ -321,7 +315,6 @@ class MicroProfileCodeActions {
 
 	private static boolean isSimilar(String reference, String current) {
 		int threshold = Math.round(MAX_DISTANCE_DIFF_RATIO * reference.length());
-		LevenshteinDistance levenshteinDistance = new LevenshteinDistance(threshold);
-		return levenshteinDistance.apply(reference, current) != -1;
+		return BitParallelLevenshteinDistance.apply(reference, current, threshold) != -1;
 	}
 }
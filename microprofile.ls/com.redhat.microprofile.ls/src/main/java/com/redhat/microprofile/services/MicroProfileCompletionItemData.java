@@ -0,0 +1,74 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.services;
+
+import org.eclipse.lsp4j.CompletionItem;
+
+import com.redhat.microprofile.utils.JSONUtility;
+
+/**
+ * The data of a property key completion item, used to compute the
+ * documentation of the item with 'completionItem/resolve'.
+ *
+ */
+public class MicroProfileCompletionItemData {
+
+	private String uri;
+
+	private String name;
+
+	private String profile;
+
+	public MicroProfileCompletionItemData() {
+	}
+
+	public MicroProfileCompletionItemData(String uri, String name, String profile) {
+		this.uri = uri;
+		this.name = name;
+		this.profile = profile;
+	}
+
+	/**
+	 * Returns the properties file URI where completion was triggered.
+	 * 
+	 * @return the properties file URI where completion was triggered.
+	 */
+	public String getUri() {
+		return uri;
+	}
+
+	/**
+	 * Returns the property name (ex : 'quarkus.log.category.{*}.level').
+	 * 
+	 * @return the property name (ex : 'quarkus.log.category.{*}.level').
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the profile of the property key and null otherwise.
+	 * 
+	 * @return the profile of the property key and null otherwise.
+	 */
+	public String getProfile() {
+		return profile;
+	}
+
+	/**
+	 * Returns the data of the given completion item and null otherwise.
+	 * 
+	 * @param item the completion item.
+	 * @return the data of the given completion item and null otherwise.
+	 */
+	public static MicroProfileCompletionItemData getData(CompletionItem item) {
+		return JSONUtility.toModel(item.getData(), MicroProfileCompletionItemData.class);
+	}
+}
@@ -0,0 +1,235 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.eclipse.lsp4j.MarkupContent;
+
+import com.redhat.microprofile.commons.metadata.ConfigurationMetadata;
+import com.redhat.microprofile.commons.metadata.ItemHint.ValueHint;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.ls.commons.SnippetsBuilder;
+import com.redhat.microprofile.model.values.ValuesRulesManager;
+import com.redhat.microprofile.utils.ConfigurationMetadataIndexes;
+import com.redhat.microprofile.utils.DocumentationUtils;
+import com.redhat.microprofile.utils.MicroProfilePropertiesUtils;
+import com.redhat.microprofile.utils.MicroProfilePropertiesUtils.FormattedPropertyResult;
+
+/**
+ * Cache of the pre-rendered completion items parts (filter text, insert text)
+ * of the properties of a {@link ConfigurationMetadata}, per client
+ * capabilities (snippets, markdown) and formatting settings. The documentation
+ * is rendered the first time it's requested.
+ *
+ * <p>
+ * Those parts don't depend on the completion offset: a completion item is
+ * created by stamping the profile and the range on a template (see
+ * {@link PropertyTemplate}).
+ * </p>
+ *
+ * <p>
+ * The templates are built on demand and are kept while the configuration
+ * metadata and the values rules don't change (see
+ * {@link ConfigurationMetadataIndexes}).
+ * </p>
+ *
+ */
+class MicroProfileCompletionTemplates {
+
+	private static final int SNIPPETS_SUPPORTED = 1;
+
+	private static final int MARKDOWN_SUPPORTED = 2;
+
+	private static final int SURROUND_EQUALS_WITH_SPACES = 4;
+
+	/**
+	 * The pre-rendered parts of the completion item of a property.
+	 */
+	static class PropertyTemplate {
+
+		private final String filterText;
+
+		private final String insertTextSuffix;
+
+		private final ItemMetadata property;
+
+		private final boolean markdownSupported;
+
+		private volatile MarkupContent documentation;
+
+		private Map<String, MarkupContent> profileDocumentations;
+
+		private PropertyTemplate(String filterText, String insertTextSuffix, ItemMetadata property,
+				boolean markdownSupported) {
+			this.filterText = filterText;
+			this.insertTextSuffix = insertTextSuffix;
+			this.property = property;
+			this.markdownSupported = markdownSupported;
+		}
+
+		/**
+		 * Returns the filter text for the given profile.
+		 *
+		 * @param profile the profile and null otherwise.
+		 * @return the filter text for the given profile.
+		 */
+		public String getFilterText(String profile) {
+			return profile != null ? "%" + profile + "." + filterText : filterText;
+		}
+
+		/**
+		 * Returns the insert text for the given profile.
+		 *
+		 * @param profile the profile and null otherwise.
+		 * @return the insert text for the given profile.
+		 */
+		public String getInsertText(String profile) {
+			return getFilterText(profile) + insertTextSuffix;
+		}
+
+		/**
+		 * Returns the documentation for the given profile.
+		 *
+		 * @param profile the profile and null otherwise.
+		 * @return the documentation for the given profile.
+		 */
+		public MarkupContent getDocumentation(String profile) {
+			if (profile == null) {
+				// the documentation is rendered on demand (ex : when the completion item is
+				// resolved)
+				MarkupContent documentation = this.documentation;
+				if (documentation == null) {
+					documentation = DocumentationUtils.getDocumentation(property, null, markdownSupported);
+					this.documentation = documentation;
+				}
+				return documentation;
+			}
+			synchronized (this) {
+				if (profileDocumentations == null) {
+					profileDocumentations = new ConcurrentHashMap<>(1);
+				}
+			}
+			return profileDocumentations.computeIfAbsent(profile,
+					p -> DocumentationUtils.getDocumentation(property, p, markdownSupported));
+		}
+	}
+
+	private final ValuesRulesManager valuesRulesManager;
+
+	/**
+	 * The templates of the properties per combination of the capabilities flags.
+	 */
+	private final List<Map<ItemMetadata, PropertyTemplate>> templates;
+
+	private MicroProfileCompletionTemplates(ValuesRulesManager valuesRulesManager) {
+		this.valuesRulesManager = valuesRulesManager;
+		int maxFlags = SNIPPETS_SUPPORTED | MARKDOWN_SUPPORTED | SURROUND_EQUALS_WITH_SPACES;
+		List<Map<ItemMetadata, PropertyTemplate>> templates = new ArrayList<>(maxFlags + 1);
+		for (int flags = 0; flags <= maxFlags; flags++) {
+			// ItemMetadata#hashCode is computed with all fields, use the identity
+			templates.add(Collections.synchronizedMap(new IdentityHashMap<>()));
+		}
+		this.templates = templates;
+	}
+
+	/**
+	 * Returns the completion templates of the given configuration metadata.
+	 *
+	 * @param configuration      the configuration metadata.
+	 * @param valuesRulesManager the values rules manager.
+	 * @return the completion templates of the given configuration metadata.
+	 */
+	public static MicroProfileCompletionTemplates getTemplates(ConfigurationMetadata configuration,
+			ValuesRulesManager valuesRulesManager) {
+		return ConfigurationMetadataIndexes.getIndex(configuration, valuesRulesManager,
+				MicroProfileCompletionTemplates.class, (c, rules) -> new MicroProfileCompletionTemplates(rules));
+	}
+
+	/**
+	 * Returns the template of the given property for the given capabilities.
+	 *
+	 * @param property                  the property.
+	 * @param configuration             the configuration metadata which hosts the
+	 *                                  property.
+	 * @param snippetsSupported         true if snippets are supported.
+	 * @param markdownSupported         true if markdown is supported.
+	 * @param surroundEqualsWithSpaces  true if '=' must be surrounded with spaces.
+	 * @return the template of the given property for the given capabilities.
+	 */
+	public PropertyTemplate getTemplate(ItemMetadata property, ConfigurationMetadata configuration,
+			boolean snippetsSupported, boolean markdownSupported, boolean surroundEqualsWithSpaces) {
+		int flags = (snippetsSupported ? SNIPPETS_SUPPORTED : 0) | (markdownSupported ? MARKDOWN_SUPPORTED : 0)
+				| (surroundEqualsWithSpaces ? SURROUND_EQUALS_WITH_SPACES : 0);
+		Map<ItemMetadata, PropertyTemplate> templatesForFlags = templates.get(flags);
+		PropertyTemplate template = templatesForFlags.get(property);
+		if (template == null) {
+			template = createTemplate(property, configuration, snippetsSupported, markdownSupported,
+					surroundEqualsWithSpaces);
+			templatesForFlags.put(property, template);
+		}
+		return template;
+	}
+
+	private PropertyTemplate createTemplate(ItemMetadata property, ConfigurationMetadata configuration,
+			boolean snippetsSupported, boolean markdownSupported, boolean surroundEqualsWithSpaces) {
+		String name = property.getName();
+		String defaultValue = property.getDefaultValue();
+		// the values rules don't depend on the properties model
+		Collection<ValueHint> enums = MicroProfilePropertiesUtils.getEnums(property, configuration, null,
+				valuesRulesManager);
+
+		FormattedPropertyResult formattedProperty = snippetsSupported
+				? MicroProfilePropertiesUtils.formatPropertyForCompletion(name)
+				: new FormattedPropertyResult(name, 0);
+
+		StringBuilder insertText = new StringBuilder();
+		if (surroundEqualsWithSpaces) {
+			insertText.append(' ');
+		}
+		insertText.append('=');
+		if (surroundEqualsWithSpaces) {
+			insertText.append(' ');
+		}
+
+		if (enums != null && enums.size() > 0) {
+			// Enumerations
+			if (snippetsSupported) {
+				// Because of LSP limitation, we cannot use default value with choice.
+				SnippetsBuilder.choice(formattedProperty.getMappedParameterCount() + 1,
+						enums.stream().map(ValueHint::getValue).collect(Collectors.toList()), insertText);
+			} else {
+				// Plaintext: use default value or the first enum if no default value.
+				String defaultEnumValue = defaultValue != null ? defaultValue : enums.iterator().next().getValue();
+				insertText.append(defaultEnumValue);
+			}
+		} else if (defaultValue != null) {
+			// Default value
+			if (snippetsSupported) {
+				SnippetsBuilder.placeholders(0, defaultValue, insertText);
+			} else {
+				insertText.append(defaultValue);
+			}
+		} else {
+			if (snippetsSupported) {
+				SnippetsBuilder.tabstops(0, insertText);
+			}
+		}
+		return new PropertyTemplate(formattedProperty.getPropertyName(), insertText.toString(), property,
+				markdownSupported);
+	}
+}
@@ -9,15 +9,21 @@
 *******************************************************************************/
 package com.redhat.microprofile.services;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
-import java.util.Objects;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
+import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemKind;
 import org.eclipse.lsp4j.CompletionList;
@@ -32,19 +38,23 @@ import com.redhat.microprofile.commons.MicroProfileProjectInfo;
 import com.redhat.microprofile.commons.metadata.ItemHint.ValueHint;
 import com.redhat.microprofile.commons.metadata.ItemMetadata;
 import com.redhat.microprofile.ls.commons.BadLocationException;
-import com.redhat.microprofile.ls.commons.SnippetsBuilder;
 import com.redhat.microprofile.ls.commons.TextDocument;
+import com.redhat.microprofile.ls.commons.client.CommandKind;
 import com.redhat.microprofile.model.Node;
 import com.redhat.microprofile.model.Node.NodeType;
 import com.redhat.microprofile.model.PropertiesModel;
 import com.redhat.microprofile.model.Property;
 import com.redhat.microprofile.model.PropertyKey;
 import com.redhat.microprofile.model.values.ValuesRulesManager;
+import com.redhat.microprofile.services.MicroProfileCompletionTemplates.PropertyTemplate;
+import com.redhat.microprofile.settings.MicroProfileCommandCapabilities;
 import com.redhat.microprofile.settings.MicroProfileCompletionSettings;
 import com.redhat.microprofile.settings.MicroProfileFormattingSettings;
 import com.redhat.microprofile.utils.DocumentationUtils;
+import com.redhat.microprofile.utils.MicroProfilePropertiesIndex;
+import com.redhat.microprofile.utils.MicroProfilePropertiesIndex.Segment;
 import com.redhat.microprofile.utils.MicroProfilePropertiesUtils;
-import com.redhat.microprofile.utils.MicroProfilePropertiesUtils.FormattedPropertyResult;
+import com.redhat.microprofile.utils.MicroProfilePropertyNameScorer;
 
 /**
  * The Quarkus completions
@@ -63,13 +73,16 @@ class MicroProfileCompletions {
 	 * @param position           the position where completion was triggered
 	 * @param projectInfo        the Quarkus project information
 	 * @param valuesRulesManager manager for values rules
-	 * @param completionSettings the completion settings
-	 * @param cancelChecker      the cancel checker
+	 * @param completionSettings  the completion settings
+	 * @param formattingSettings  the formatting settings
+	 * @param commandCapabilities the command capabilities
+	 * @param cancelChecker       the cancel checker
 	 * @return completion list for the given position
 	 */
 	public CompletionList doComplete(PropertiesModel document, Position position, MicroProfileProjectInfo projectInfo,
 			ValuesRulesManager valuesRulesManager, MicroProfileCompletionSettings completionSettings,
-			MicroProfileFormattingSettings formattingSettings, CancelChecker cancelChecker) {
+			MicroProfileFormattingSettings formattingSettings, MicroProfileCommandCapabilities commandCapabilities,
+			CancelChecker cancelChecker) {
 		CompletionList list = new CompletionList();
 		int offset = -1;
 		Node node = null;
@@ -96,7 +109,7 @@ class MicroProfileCompletions {
 		default:
 			// completion on property key
 			collectPropertyKeySuggestions(offset, node, document, projectInfo, valuesRulesManager, completionSettings,
-					formattingSettings, list);
+					formattingSettings, commandCapabilities, list);
 			break;
 		}
 		return list;
@@ -110,15 +123,18 @@ class MicroProfileCompletions {
 	 * @param projectInfo        the Quarkus project information
 	 * @param valuesRulesManager
 	 * @param completionSettings the completion settings
+	 * @param formattingSettings the formatting settings
+	 * @param commandCapabilities the command capabilities
 	 * @param list               the completion list to fill
 	 */
 	private static void collectPropertyKeySuggestions(int offset, Node node, PropertiesModel model,
 			MicroProfileProjectInfo projectInfo, ValuesRulesManager valuesRulesManager,
 			MicroProfileCompletionSettings completionSettings, MicroProfileFormattingSettings formattingSettings,
-			CompletionList list) {
+			MicroProfileCommandCapabilities commandCapabilities, CompletionList list) {
 
 		boolean snippetsSupported = completionSettings.isCompletionSnippetsSupported();
 		boolean markdownSupported = completionSettings.isDocumentationFormatSupported(MarkupKind.MARKDOWN);
+		boolean resolveSupported = completionSettings.isResolveSupported();
 
 		Range range = null;
 		try {
@@ -133,11 +149,7 @@ class MicroProfileCompletions {
 			PropertyKey key = (PropertyKey) node;
 			if (key.isBeforeProfile(offset)) {
 				// Collect all existing profiles declared in application.properties
-				Set<String> profiles = model.getChildren().stream().filter(n -> n.getNodeType() == NodeType.PROPERTY)
-						.map(n -> {
-							Property property = (Property) n;
-							return property.getProfile();
-						}).filter(Objects::nonNull).filter(not(String::isEmpty)).distinct().collect(Collectors.toSet());
+				Set<String> profiles = new HashSet<>(model.getIndex().getProfiles());
 				// merge existings profiles with default profiles.
 				profiles.addAll(QuarkusModel.getDefaultProfileNames());
 				// Completion on profiles
@@ -158,137 +170,359 @@ class MicroProfileCompletions {
 			profile = key.getProfile();
 		}
 
-		Set<String> existingProperties = getExistingProperties(model);
+		Set<String> existingProperties = model.getIndex().getPropertyNamesWithProfile();
+		int maxItems = completionSettings.getMaxItems();
+		String currentProfile = profile;
+		Range currentRange = range;
+		MicroProfileCompletionTemplates templates = MicroProfileCompletionTemplates.getTemplates(projectInfo,
+				valuesRulesManager);
 
 		// Completion on Quarkus properties
-		for (ItemMetadata property : projectInfo.getProperties()) {
+		Predicate<ItemMetadata> isCandidate = property -> {
 			if (property == null) {
-				continue;
+				return false;
 			}
 			String propertyName = property.getName();
-			if (profile != null) {
-				propertyName = "%" + profile + "." + propertyName;
+			if (currentProfile != null) {
+				propertyName = "%" + currentProfile + "." + propertyName;
 			}
 			if (existingProperties.contains(propertyName) && node.getNodeType() == NodeType.PROPERTY_KEY
 					&& !((PropertyKey) node).getPropertyNameWithProfile().equals(propertyName)) {
 				// don't add completion items for properties that already exist
 				// unless current node has a key equal to current property name
+				return false;
+			}
+			return true;
+		};
+		Function<ItemMetadata, CompletionItem> createItem = property -> {
+			PropertyTemplate template = templates.getTemplate(property, projectInfo, snippetsSupported,
+					markdownSupported, formattingSettings.isSurroundEqualsWithSpaces());
+			return createPropertyKeyItem(property, currentProfile, currentRange, template, snippetsSupported,
+					resolveSupported ? model.getDocumentURI() : null);
+		};
+		int segmentThreshold = completionSettings.getSegmentThreshold();
+		if (segmentThreshold > 0 && collectNextSegments(getPropertyNamePrefix(offset, node, profile), profile, range,
+				projectInfo, segmentThreshold,
+				commandCapabilities.isCommandSupported(CommandKind.COMMAND_TRIGGER_SUGGEST), isCandidate, createItem,
+				list)) {
+			return;
+		}
+		if (maxItems > 0) {
+			// collect only the best properties for the typed key
+			collectBestPropertyKeys(getPropertyNamePrefix(offset, node, profile), projectInfo, maxItems, isCandidate,
+					createItem, list);
+		} else {
+			for (ItemMetadata property : projectInfo.getProperties()) {
+				if (isCandidate.test(property)) {
+					list.getItems().add(createItem.apply(property));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collect the next segments of the typed key (ex : 'http', 'datasource' after
+	 * 'quarkus.') when more than <code>segmentThreshold</code> properties start
+	 * with the typed segments.
+	 * 
+	 * <p>
+	 * A segment item inserts the segment followed by a dot and triggers the
+	 * completion again. A segment with a single property, a mapped segment (ex :
+	 * '{*}' after 'quarkus.log.category.') and a property which ends with the typed
+	 * segments are completed with the full key, the templates of the full keys
+	 * turn '{*}' into a placeholder. When the subtree of the typed segments is
+	 * small, all its full keys are collected.
+	 * </p>
+	 * 
+	 * @param prefix           the typed key (without profile)
+	 * @param profile          the profile of the property key and null otherwise
+	 * @param range            the range of the property key
+	 * @param projectInfo      the Quarkus project information
+	 * @param segmentThreshold the number of properties above which the next
+	 *                         segments are collected
+	 * @param triggerSuggest   true if a segment item triggers the completion
+	 *                         again (the client supports the command) and false
+	 *                         otherwise
+	 * @param isCandidate      the filter of the properties
+	 * @param createItem       the completion item factory
+	 * @param list             the completion list to fill
+	 * @return true if the next segments or the full keys of the typed segments
+	 *         were collected and false if the typed segments are unknown.
+	 */
+	private static boolean collectNextSegments(String prefix, String profile, Range range,
+			MicroProfileProjectInfo projectInfo, int segmentThreshold, boolean triggerSuggest,
+			Predicate<ItemMetadata> isCandidate,
+			Function<ItemMetadata, CompletionItem> createItem, CompletionList list) {
+		int lastDot = prefix.lastIndexOf('.');
+		String path = lastDot != -1 ? prefix.substring(0, lastDot) : "";
+		Segment parent = MicroProfilePropertiesIndex.getIndex(projectInfo).getSegment(path);
+		if (parent == null) {
+			// the typed key contains a mapped key
+			return false;
+		}
+		if (parent.getCount() <= segmentThreshold) {
+			// the subtree is small, collect its full keys
+			collectProperties(parent, isCandidate, createItem, list);
+			return true;
+		}
+		StringBuilder pathPrefix = new StringBuilder();
+		if (profile != null) {
+			pathPrefix.append('%').append(profile).append('.');
+		}
+		if (!path.isEmpty()) {
+			pathPrefix.append(path).append('.');
+		}
+		for (ItemMetadata property : parent.getProperties()) {
+			if (isCandidate.test(property)) {
+				list.getItems().add(createItem.apply(property));
+			}
+		}
+		for (Segment segment : parent.getChildren()) {
+			ItemMetadata property = segment.getSingleProperty();
+			if (property != null) {
+				if (isCandidate.test(property)) {
+					list.getItems().add(createItem.apply(property));
+				}
 				continue;
 			}
+			if (segment.isMapped()) {
+				// the mapped key must be typed, don't insert '{*}' as a segment
+				collectProperties(segment, isCandidate, createItem, list);
+				continue;
+			}
+			String insertText = pathPrefix + segment.getName() + ".";
+			CompletionItem item = new CompletionItem(segment.getName());
+			item.setKind(CompletionItemKind.Module);
+			item.setDetail(segment.getCount() + " properties");
+			item.setFilterText(insertText);
+			item.setTextEdit(new TextEdit(range, insertText));
+			item.setInsertTextFormat(InsertTextFormat.PlainText);
+			if (triggerSuggest) {
+				// complete the next segment
+				item.setCommand(new Command("", CommandKind.COMMAND_TRIGGER_SUGGEST));
+			}
+			list.getItems().add(item);
+		}
+		return true;
+	}
 
-			String name = property.getName();
-			CompletionItem item = new CompletionItem(name);
-			item.setKind(CompletionItemKind.Property);
+	private static void collectProperties(Segment segment, Predicate<ItemMetadata> isCandidate,
+			Function<ItemMetadata, CompletionItem> createItem, CompletionList list) {
+		for (ItemMetadata property : segment.getProperties()) {
+			if (isCandidate.test(property)) {
+				list.getItems().add(createItem.apply(property));
+			}
+		}
+		for (Segment child : segment.getChildren()) {
+			collectProperties(child, isCandidate, createItem, list);
+		}
+	}
 
-			String defaultValue = property.getDefaultValue();
-			Collection<ValueHint> enums = MicroProfilePropertiesUtils.getEnums(property, projectInfo, model,
-					valuesRulesManager);
+	/**
+	 * A property key candidate of the completion with its score.
+	 */
+	private static class ScoredProperty {
 
-			StringBuilder insertText = new StringBuilder();
-			if (profile != null) {
-				insertText.append('%');
-				insertText.append(profile);
-				insertText.append('.');
-			}
-			FormattedPropertyResult formattedProperty = getPropertyName(name, snippetsSupported);
-			insertText.append(formattedProperty.getPropertyName());
+		private final ItemMetadata property;
+
+		private final int score;
+
+		public ScoredProperty(ItemMetadata property, int score) {
+			this.property = property;
+			this.score = score;
+		}
+	}
 
-			String filterText = insertText.toString();
-			item.setFilterText(filterText);
+	/**
+	 * The order of the completion items: the best score first, then the
+	 * alphabetical order of the names.
+	 */
+	private static final Comparator<ScoredProperty> BEST_FIRST = Comparator
+			.<ScoredProperty>comparingInt(candidate -> -candidate.score)
+			.thenComparing(candidate -> candidate.property.getName());
 
-			if (formattingSettings.isSurroundEqualsWithSpaces()) {
-				insertText.append(' ');
+	/**
+	 * Collect the <code>maxItems</code> property keys which best match the typed
+	 * key, ordered with the sort text.
+	 * 
+	 * <p>
+	 * The properties which start with the typed key (a '{*}' matches any key,
+	 * see {@link MicroProfilePropertiesIndex}) come first, then the fuzzy matches
+	 * (see {@link MicroProfilePropertyNameScorer}). The best properties are
+	 * selected with a bounded heap, so only the returned items are created.
+	 * </p>
+	 * 
+	 * @param prefix      the typed key (without profile)
+	 * @param projectInfo the Quarkus project information
+	 * @param maxItems    the maximum number of items
+	 * @param isCandidate the filter of the properties
+	 * @param createItem  the completion item factory
+	 * @param list        the completion list to fill
+	 */
+	private static void collectBestPropertyKeys(String prefix, MicroProfileProjectInfo projectInfo, int maxItems,
+			Predicate<ItemMetadata> isCandidate, Function<ItemMetadata, CompletionItem> createItem,
+			CompletionList list) {
+		// the head of the heap is the worst selected property
+		PriorityQueue<ScoredProperty> best = new PriorityQueue<>(maxItems + 1, BEST_FIRST.reversed());
+		boolean[] truncated = new boolean[1];
+		Predicate<ScoredProperty> offer = candidate -> {
+			if (best.size() == maxItems) {
+				truncated[0] = true;
+				if (BEST_FIRST.compare(candidate, best.peek()) >= 0) {
+					return false;
+				}
+				best.poll();
 			}
-			insertText.append('=');
-			if (formattingSettings.isSurroundEqualsWithSpaces()) {
-				insertText.append(' ');
+			best.add(candidate);
+			return true;
+		};
+
+		// properties which start with the typed key (with mapped names)
+		Set<ItemMetadata> prefixMatches = Collections.newSetFromMap(new IdentityHashMap<>());
+		MicroProfilePropertiesIndex.getIndex(projectInfo).visitPropertiesStartingWith(prefix, property -> {
+			if (isCandidate.test(property)) {
+				if (best.size() == maxItems) {
+					// the properties are visited in the alphabetical order, the next ones
+					// can't be better
+					truncated[0] = true;
+					return false;
+				}
+				prefixMatches.add(property);
+				offer.test(new ScoredProperty(property, MicroProfilePropertyNameScorer.PREFIX_SCORE));
 			}
-
-			if (enums != null && enums.size() > 0) {
-				// Enumerations
-				if (snippetsSupported) {
-					// Because of LSP limitation, we cannot use default value with choice.
-					SnippetsBuilder.choice(formattedProperty.getMappedParameterCount() + 1,
-							enums.stream().map(ValueHint::getValue).collect(Collectors.toList()), insertText);
-				} else {
-					// Plaintext: use default value or the first enum if no default value.
-					String defaultEnumValue = defaultValue != null ? defaultValue : enums.iterator().next().getValue();
-					insertText.append(defaultEnumValue);
+			return true;
+		});
+		// fuzzy matches
+		if (!prefix.isEmpty()) {
+			int worstScore = MicroProfilePropertyNameScorer.NO_MATCH;
+			for (ItemMetadata property : projectInfo.getProperties()) {
+				if (property == null || prefixMatches.contains(property)) {
+					continue;
 				}
-			} else if (defaultValue != null) {
-				// Default value
-				if (snippetsSupported) {
-					SnippetsBuilder.placeholders(0, defaultValue, insertText);
-				} else {
-					insertText.append(defaultValue);
+				int score = MicroProfilePropertyNameScorer.score(prefix, property.getName());
+				if (score == MicroProfilePropertyNameScorer.NO_MATCH
+						|| (best.size() == maxItems && score < worstScore)) {
+					// early rejection before the filter
+					truncated[0] |= score != MicroProfilePropertyNameScorer.NO_MATCH;
+					continue;
 				}
-			} else {
-				if (snippetsSupported) {
-					SnippetsBuilder.tabstops(0, insertText);
+				if (isCandidate.test(property)) {
+					offer.test(new ScoredProperty(property, score));
+					worstScore = best.peek().score;
 				}
 			}
+		}
 
-			TextEdit textEdit = new TextEdit(range, insertText.toString());
-			item.setTextEdit(textEdit);
-
-			item.setInsertTextFormat(snippetsSupported ? InsertTextFormat.Snippet : InsertTextFormat.PlainText);
-			item.setDocumentation(DocumentationUtils.getDocumentation(property, profile, markdownSupported));
+		List<ScoredProperty> selected = new ArrayList<>(best);
+		selected.sort(BEST_FIRST);
+		int digits = String.valueOf(selected.size()).length();
+		for (int i = 0; i < selected.size(); i++) {
+			CompletionItem item = createItem.apply(selected.get(i).property);
+			item.setSortText(padLeft(i, digits));
 			list.getItems().add(item);
 		}
+		// the client must re-query the completion as the user types
+		list.setIsIncomplete(truncated[0]);
+	}
+
+	private static String padLeft(int value, int digits) {
+		StringBuilder text = new StringBuilder(digits);
+		String s = String.valueOf(value);
+		for (int i = s.length(); i < digits; i++) {
+			text.append('0');
+		}
+		return text.append(s).toString();
 	}
 
 	/**
-	 * Adds documentation to <code>item</code> if <code>item</code> represents a
-	 * default profile
+	 * Returns the typed property name (without profile) before the given offset.
 	 * 
-	 * @param item
-	 * @param markdown
+	 * @param offset  the completion offset
+	 * @param node    the node where completion was triggered
+	 * @param profile the profile of the property key and null otherwise
+	 * @return the typed property name (without profile) before the given offset.
 	 */
-	private static void addDocumentationIfDefaultProfile(CompletionItem item, boolean markdown) {
-
-		for (ValueHint profile : QuarkusModel.DEFAULT_PROFILES.getValues()) {
-			if (profile.getValue().equals(item.getLabel())) {
-				item.setDocumentation(DocumentationUtils.getDocumentation(profile, markdown));
-				break;
-			}
+	private static String getPropertyNamePrefix(int offset, Node node, String profile) {
+		if (node == null || node.getNodeType() != NodeType.PROPERTY_KEY) {
+			return "";
+		}
+		int start = node.getStart();
+		if (profile != null) {
+			// skip '%profile.'
+			start += profile.length() + 2;
+		}
+		int end = Math.min(offset, node.getEnd());
+		if (start >= end) {
+			return "";
 		}
+		return node.getOwnerModel().getText().substring(start, end);
 	}
 
-	private static <T> Predicate<T> not(Predicate<T> t) {
-		return t.negate();
+	private static CompletionItem createPropertyKeyItem(ItemMetadata property, String profile, Range range,
+			PropertyTemplate template, boolean snippetsSupported, String resolveURI) {
+		CompletionItem item = new CompletionItem(property.getName());
+		item.setKind(CompletionItemKind.Property);
+		// only the profile and the range depend on the completion request, the
+		// other parts are rendered once per property (see MicroProfileCompletionTemplates)
+		item.setFilterText(template.getFilterText(profile));
+		TextEdit textEdit = new TextEdit(range, template.getInsertText(profile));
+		item.setTextEdit(textEdit);
+
+		item.setInsertTextFormat(snippetsSupported ? InsertTextFormat.Snippet : InsertTextFormat.PlainText);
+		if (resolveURI != null) {
+			// the documentation is computed with 'completionItem/resolve'
+			item.setData(new MicroProfileCompletionItemData(resolveURI, property.getName(), profile));
+		} else {
+			item.setDocumentation(template.getDocumentation(profile));
+		}
+		return item;
 	}
 
 	/**
-	 * Returns a set of property names for the properties in <code>model</code>.
+	 * Returns the given completion item with its documentation.
 	 * 
-	 * @param model the <code>PropertiesModel</code> to get property names from
-	 * @return set of property names for the properties in <code>model</code>
+	 * @param item               the completion item to resolve.
+	 * @param projectInfo        the Quarkus project information
+	 * @param valuesRulesManager the values rules manager
+	 * @param completionSettings the completion settings
+	 * @param formattingSettings the formatting settings
+	 * @return the given completion item with its documentation.
 	 */
-	private static Set<String> getExistingProperties(PropertiesModel model) {
-		Set<String> set = new HashSet<String>();
-		for (Node child : model.getChildren()) {
-			if (child.getNodeType() == NodeType.PROPERTY) {
-				String name = ((Property) child).getPropertyNameWithProfile();
-				if (name != null && !name.isEmpty()) {
-					set.add(name);
-				}
-			}
+	public CompletionItem resolveCompletionItem(CompletionItem item, MicroProfileProjectInfo projectInfo,
+			ValuesRulesManager valuesRulesManager, MicroProfileCompletionSettings completionSettings,
+			MicroProfileFormattingSettings formattingSettings) {
+		MicroProfileCompletionItemData data = MicroProfileCompletionItemData.getData(item);
+		if (data == null || data.getName() == null) {
+			return item;
 		}
-		return set;
+		ItemMetadata property = MicroProfilePropertiesIndex.getIndex(projectInfo).getPropertyByName(data.getName());
+		if (property == null) {
+			return item;
+		}
+		// reuse the documentation rendered by the templates
+		PropertyTemplate template = MicroProfileCompletionTemplates.getTemplates(projectInfo, valuesRulesManager)
+				.getTemplate(property, projectInfo, completionSettings.isCompletionSnippetsSupported(),
+						completionSettings.isDocumentationFormatSupported(MarkupKind.MARKDOWN),
+						formattingSettings.isSurroundEqualsWithSpaces());
+		item.setDocumentation(template.getDocumentation(data.getProfile()));
+		return item;
 	}
 
 	/**
-	 * Returns the property name to insert when completion is applied.
+	 * Adds documentation to <code>item</code> if <code>item</code> represents a
+	 * default profile
 	 * 
-	 * @param propertyName      the property name
-	 * @param snippetsSupported true if snippet is supported and false otherwise.
-	 * @return the property name to insert when completion is applied.
+	 * @param item
+	 * @param markdown
 	 */
-	private static FormattedPropertyResult getPropertyName(String propertyName, boolean snippetsSupported) {
-		if (!snippetsSupported) {
-			return new FormattedPropertyResult(propertyName, 0);
+	private static void addDocumentationIfDefaultProfile(CompletionItem item, boolean markdown) {
+
+		for (ValueHint profile : QuarkusModel.DEFAULT_PROFILES.getValues()) {
+			if (profile.getValue().equals(item.getLabel())) {
+				item.setDocumentation(DocumentationUtils.getDocumentation(profile, markdown));
+				break;
+			}
 		}
-		return MicroProfilePropertiesUtils.formatPropertyForCompletion(propertyName);
 	}
 
 	/**
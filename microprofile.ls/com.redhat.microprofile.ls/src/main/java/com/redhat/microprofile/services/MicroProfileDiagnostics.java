@@ -52,4 +52,32 @@ class MicroProfileDiagnostics {
 		return diagnostics;
 	}
 
+	/**
+	 * Validate the given application.properties <code>document</code> by using the
+	 * given MicroProfile properties metadata <code>projectInfo</code> and by
+	 * re-checking only the properties of the lines changed since the previous
+	 * validation of the given incremental validator.
+	 * 
+	 * @param document             the properties model.
+	 * @param projectInfo          the MicroProfile properties
+	 * @param valuesRulesManager   manager for values rules
+	 * @param validationSettings   the validation settings.
+	 * @param incrementalValidator the incremental validator of the document.
+	 * @param cancelChecker        the cancel checker.
+	 * @return the result of the validation.
+	 */
+	public List<Diagnostic> doDiagnostics(PropertiesModel document, MicroProfileProjectInfo projectInfo,
+			ValuesRulesManager valuesRulesManager, MicroProfileValidationSettings validationSettings,
+			MicroProfileIncrementalValidator incrementalValidator, CancelChecker cancelChecker) {
+		if (validationSettings == null) {
+			validationSettings = MicroProfileValidationSettings.DEFAULT;
+		}
+		if (!validationSettings.isEnabled()) {
+			incrementalValidator.reset();
+			return new ArrayList<Diagnostic>();
+		}
+		return incrementalValidator.validate(document, projectInfo, valuesRulesManager, validationSettings,
+				cancelChecker);
+	}
+
 }
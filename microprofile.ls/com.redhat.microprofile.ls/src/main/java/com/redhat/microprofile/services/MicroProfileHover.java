@@ -21,7 +21,6 @@ import org.omg.CORBA.portable.ValueInputStream;
 
 import com.redhat.microprofile.commons.MicroProfileProjectInfo;
 import com.redhat.microprofile.commons.metadata.ConfigurationMetadata;
-import com.redhat.microprofile.commons.metadata.ItemHint;
 import com.redhat.microprofile.commons.metadata.ItemHint.ValueHint;
 import com.redhat.microprofile.commons.metadata.ItemMetadata;
 import com.redhat.microprofile.ls.commons.BadLocationException;
@@ -34,6 +33,7 @@ import com.redhat.microprofile.model.values.ValuesRulesManager;
 import com.redhat.microprofile.settings.MicroProfileHoverSettings;
 import com.redhat.microprofile.utils.DocumentationUtils;
 import com.redhat.microprofile.utils.MicroProfilePropertiesUtils;
+import com.redhat.microprofile.utils.MicroProfilePropertyValuesIndex;
 import com.redhat.microprofile.utils.PositionUtils;
 
 /**
@@ -204,13 +204,7 @@ class MicroProfileHover {
 		if (metadata == null) {
 			return null;
 		}
-		ItemHint enumItem = configuration.getHint(metadata);
-		if (enumItem  != null) {
-			ValueHint valueHint = enumItem .getValue(propertyValue);
-			if (valueHint != null) {
-				return valueHint;
-			}
-		}		
-		return valuesRulesManager.getValueHint(propertyValue, metadata, model);
+		return MicroProfilePropertyValuesIndex.getIndex(configuration, valuesRulesManager)
+				.getValues(metadata, configuration).getValue(propertyValue);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,337 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.ls.commons.ChangedLineRange;
+import com.redhat.microprofile.model.PropertiesModel;
+import com.redhat.microprofile.model.PropertiesModelIndex;
+import com.redhat.microprofile.model.Property;
+import com.redhat.microprofile.model.PropertyKey;
+import com.redhat.microprofile.model.values.ValuesRulesManager;
+import com.redhat.microprofile.settings.MicroProfileValidationSettings;
+import com.redhat.microprofile.utils.PositionUtils;
+
+/**
+ * Incremental validator of a properties file which keeps the result of the
+ * previous validation to re-check only the properties of the changed lines.
+ *
+ * <p>
+ * The diagnostics of a property which is not on the lines changed since the
+ * previous validation (see {@link ChangedLineRange}) are reused (and moved if
+ * lines were added or removed before the property). The cross-properties
+ * validations (duplicate and missing required properties) are computed with
+ * counters of the property names which are updated with the removed and
+ * re-checked properties.
+ * </p>
+ *
+ * <p>
+ * The whole file is validated when the previous validation is unknown or
+ * obsolete (other project information, validation settings, values rules
+ * manager or version of the values rules, the whole text was replaced, etc).
+ * </p>
+ *
+ */
+public class MicroProfileIncrementalValidator {
+
+	private static final Logger LOGGER = Logger.getLogger(MicroProfileIncrementalValidator.class.getName());
+
+	private static final ChangedLineRange ALL_LINES = new ChangedLineRange(0, Integer.MAX_VALUE, 0);
+
+	/**
+	 * The result of the validation of a property.
+	 */
+	private static class PropertyEntry {
+
+		private final int startLine;
+
+		private final int endLine;
+
+		private final String propertyNameWithProfile;
+
+		private final boolean hasValue;
+
+		private final List<Diagnostic> diagnostics;
+
+		private PropertyEntry(int startLine, int endLine, String propertyNameWithProfile, boolean hasValue,
+				List<Diagnostic> diagnostics) {
+			this.startLine = startLine;
+			this.endLine = endLine;
+			this.propertyNameWithProfile = propertyNameWithProfile;
+			this.hasValue = hasValue;
+			this.diagnostics = diagnostics;
+		}
+
+		private PropertyEntry move(int lineDelta) {
+			if (lineDelta == 0) {
+				return this;
+			}
+			List<Diagnostic> movedDiagnostics = new ArrayList<>(diagnostics.size());
+			for (Diagnostic diagnostic : diagnostics) {
+				Range range = diagnostic.getRange();
+				Range movedRange = new Range(move(range.getStart(), lineDelta), move(range.getEnd(), lineDelta));
+				movedDiagnostics.add(new Diagnostic(movedRange, diagnostic.getMessage(), diagnostic.getSeverity(),
+						diagnostic.getSource(), diagnostic.getCode()));
+			}
+			return new PropertyEntry(startLine + lineDelta, endLine + lineDelta, propertyNameWithProfile, hasValue,
+					movedDiagnostics);
+		}
+
+		private static Position move(Position position, int lineDelta) {
+			return new Position(position.getLine() + lineDelta, position.getCharacter());
+		}
+	}
+
+	private MicroProfileProjectInfo projectInfo;
+
+	private ValuesRulesManager valuesRulesManager;
+
+	private int valuesRulesVersion;
+
+	private MicroProfileValidationSettings validationSettings;
+
+	private long modificationStamp = -1;
+
+	private List<PropertyEntry> entries = Collections.emptyList();
+
+	/**
+	 * The number of properties (index 0) and of properties with a value (index 1)
+	 * of a property name with profile.
+	 */
+	private final Map<String, int[]> counters = new HashMap<>();
+
+	private final Set<String> duplicateNames = new HashSet<>();
+
+	private int revalidatedCount;
+
+	/**
+	 * Validate the given properties model by re-checking only the properties of
+	 * the lines changed since the previous validation.
+	 * 
+	 * @param document           the properties model.
+	 * @param projectInfo        the MicroProfile properties.
+	 * @param valuesRulesManager manager for values rules.
+	 * @param validationSettings the validation settings.
+	 * @param cancelChecker      the cancel checker.
+	 * @return the result of the validation.
+	 */
+	public synchronized List<Diagnostic> validate(PropertiesModel document, MicroProfileProjectInfo projectInfo,
+			ValuesRulesManager valuesRulesManager, MicroProfileValidationSettings validationSettings,
+			CancelChecker cancelChecker) {
+		long newStamp = document.getModificationStamp();
+		if (newStamp == -1 || newStamp != document.getDocument().getModificationStamp()) {
+			// the model is obsolete (its lines don't match the lines of the document),
+			// validate it without updating the previous validation
+			reset();
+			List<Diagnostic> diagnostics = new ArrayList<>();
+			new MicroProfileValidator(projectInfo, valuesRulesManager, diagnostics, validationSettings)
+					.validate(document, cancelChecker);
+			return diagnostics;
+		}
+		ChangedLineRange changedLines = null;
+		int newValuesRulesVersion = valuesRulesManager != null ? valuesRulesManager.getVersion() : 0;
+		if (this.projectInfo == projectInfo && this.valuesRulesManager == valuesRulesManager
+				&& this.valuesRulesVersion == newValuesRulesVersion && this.validationSettings == validationSettings) {
+			changedLines = document.getDocument().getChangedLines(modificationStamp, newStamp);
+		}
+		if (changedLines == null) {
+			reset();
+			this.projectInfo = projectInfo;
+			this.valuesRulesManager = valuesRulesManager;
+			this.valuesRulesVersion = newValuesRulesVersion;
+			this.validationSettings = validationSettings;
+			changedLines = ALL_LINES;
+		}
+		// the previous validation is updated only when all properties have been
+		// checked, a cancelled validation doesn't change it
+		List<Diagnostic> diagnostics = validate(document, changedLines, cancelChecker);
+		modificationStamp = newStamp;
+		return diagnostics;
+	}
+
+	/**
+	 * Forget the previous validation: the next validation will validate the whole
+	 * file.
+	 */
+	public synchronized void reset() {
+		projectInfo = null;
+		valuesRulesManager = null;
+		valuesRulesVersion = 0;
+		validationSettings = null;
+		modificationStamp = -1;
+		entries = Collections.emptyList();
+		counters.clear();
+		duplicateNames.clear();
+	}
+
+	/**
+	 * Returns the number of properties which have been re-checked by the last
+	 * validation.
+	 * 
+	 * @return the number of properties which have been re-checked by the last
+	 *         validation.
+	 */
+	public synchronized int getRevalidatedCount() {
+		return revalidatedCount;
+	}
+
+	private List<Diagnostic> validate(PropertiesModel document, ChangedLineRange changedLines,
+			CancelChecker cancelChecker) {
+		long start = System.currentTimeMillis();
+		int startLine = changedLines.getStartLine();
+		int endLine = changedLines.getEndLine();
+		int lineDelta = changedLines.getLineDelta();
+
+		PropertiesModelIndex index = document.getIndex();
+		List<Diagnostic> propertyDiagnostics = new ArrayList<>();
+		MicroProfileValidator propertyValidator = new MicroProfileValidator(projectInfo, valuesRulesManager,
+				propertyDiagnostics, validationSettings);
+		List<PropertyEntry> oldEntries = entries;
+		List<PropertyEntry> newEntries = new ArrayList<>(index.getProperties().size());
+		List<PropertyEntry> removedEntries = new ArrayList<>();
+		List<PropertyEntry> addedEntries = new ArrayList<>();
+		int oldIndex = 0;
+		int revalidatedCount = 0;
+		for (Property property : index.getProperties()) {
+			if (cancelChecker != null) {
+				cancelChecker.checkCanceled();
+			}
+			Range range = PositionUtils.createRange(property);
+			int propertyStartLine = range.getStart().getLine();
+			int propertyEndLine = range.getEnd().getLine();
+			PropertyEntry entry = null;
+			if (propertyEndLine < startLine || propertyStartLine > endLine) {
+				// the property is not on a changed line, search its previous validation
+				int delta = propertyStartLine > endLine ? lineDelta : 0;
+				int oldStartLine = propertyStartLine - delta;
+				while (oldIndex < oldEntries.size() && oldEntries.get(oldIndex).startLine < oldStartLine) {
+					removedEntries.add(oldEntries.get(oldIndex++));
+				}
+				if (oldIndex < oldEntries.size()) {
+					PropertyEntry oldEntry = oldEntries.get(oldIndex);
+					if (oldEntry.startLine == oldStartLine && oldEntry.endLine == propertyEndLine - delta) {
+						entry = oldEntry.move(delta);
+						oldIndex++;
+					}
+				}
+			}
+			if (entry == null) {
+				// re-check the property
+				propertyDiagnostics.clear();
+				propertyValidator.validateProperty(property);
+				PropertyKey key = property.getKey();
+				entry = new PropertyEntry(propertyStartLine, propertyEndLine,
+						key != null ? key.getPropertyNameWithProfile() : null, MicroProfileValidator.hasValue(property),
+						propertyDiagnostics.isEmpty() ? Collections.emptyList() : new ArrayList<>(propertyDiagnostics));
+				addedEntries.add(entry);
+				revalidatedCount++;
+			}
+			newEntries.add(entry);
+		}
+		while (oldIndex < oldEntries.size()) {
+			removedEntries.add(oldEntries.get(oldIndex++));
+		}
+
+		// update the counters of the property names
+		removedEntries.forEach(this::removeEntry);
+		addedEntries.forEach(this::addEntry);
+		entries = newEntries;
+		this.revalidatedCount = revalidatedCount;
+
+		// merge the diagnostics of the properties and the cross-properties diagnostics
+		List<Diagnostic> diagnostics = new ArrayList<>();
+		for (PropertyEntry entry : newEntries) {
+			diagnostics.addAll(entry.diagnostics);
+		}
+		MicroProfileValidator validator = new MicroProfileValidator(projectInfo, valuesRulesManager, diagnostics,
+				validationSettings);
+		addDiagnosticsForDuplicates(index, validator);
+		addDiagnosticsForMissingRequired(document, index, validator);
+		LOGGER.fine("Validation of '" + document.getDocumentURI() + "' re-checked " + revalidatedCount + " of "
+				+ newEntries.size() + " properties in " + (System.currentTimeMillis() - start) + "ms");
+		return diagnostics;
+	}
+
+	private void addDiagnosticsForDuplicates(PropertiesModelIndex index, MicroProfileValidator validator) {
+		if (duplicateNames.isEmpty()) {
+			return;
+		}
+		// report the duplicates in the order of their first property, like a full
+		// validation
+		List<List<Property>> duplicates = new ArrayList<>(duplicateNames.size());
+		for (String propertyName : duplicateNames) {
+			duplicates.add(index.getPropertiesWithProfile(propertyName));
+		}
+		duplicates.sort(Comparator.comparingInt(propertyList -> propertyList.get(0).getStart()));
+		for (List<Property> propertyList : duplicates) {
+			validator.addDiagnosticsForDuplicate(propertyList.get(0).getPropertyNameWithProfile(), propertyList);
+		}
+	}
+
+	private void addDiagnosticsForMissingRequired(PropertiesModel document, PropertiesModelIndex index,
+			MicroProfileValidator validator) {
+		for (ItemMetadata property : validator.getValidatedRequiredProperties()) {
+			String propertyName = property.getName();
+			int[] counter = counters.get(propertyName);
+			List<Property> propertyList = counter != null ? index.getPropertiesWithProfile(propertyName)
+					: Collections.emptyList();
+			validator.addDiagnosticsForRequired(propertyName, document, propertyList,
+					counter != null && counter[1] > 0);
+		}
+	}
+
+	private void addEntry(PropertyEntry entry) {
+		String name = entry.propertyNameWithProfile;
+		if (name == null || name.isEmpty()) {
+			return;
+		}
+		int[] counter = counters.computeIfAbsent(name, k -> new int[2]);
+		counter[0]++;
+		if (entry.hasValue) {
+			counter[1]++;
+		}
+		if (counter[0] == 2) {
+			duplicateNames.add(name);
+		}
+	}
+
+	private void removeEntry(PropertyEntry entry) {
+		String name = entry.propertyNameWithProfile;
+		if (name == null || name.isEmpty()) {
+			return;
+		}
+		int[] counter = counters.get(name);
+		counter[0]--;
+		if (entry.hasValue) {
+			counter[1]--;
+		}
+		if (counter[0] == 0) {
+			counters.remove(name);
+		} else if (counter[0] == 1) {
+			duplicateNames.remove(name);
+		}
+	}
+}
@@ -14,6 +14,7 @@ import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.lsp4j.CodeAction;
 import org.eclipse.lsp4j.CodeActionContext;
+import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DocumentSymbol;
@@ -75,15 +76,32 @@ public class MicroProfileLanguageService {
 	 * @param document           the properties model document
 	 * @param position           the position where completion was triggered
 	 * @param projectInfo        the Quarkus project information
-	 * @param completionSettings the completion settings
-	 * @param cancelChecker      the cancel checker
+	 * @param completionSettings  the completion settings
+	 * @param formattingSettings  the formatting settings
+	 * @param commandCapabilities the command capabilities
+	 * @param cancelChecker       the cancel checker
 	 * @return completion list for the given position
 	 */
 	public CompletionList doComplete(PropertiesModel document, Position position, MicroProfileProjectInfo projectInfo,
 			MicroProfileCompletionSettings completionSettings, MicroProfileFormattingSettings formattingSettings,
-			CancelChecker cancelChecker) {
+			MicroProfileCommandCapabilities commandCapabilities, CancelChecker cancelChecker) {
 		return completions.doComplete(document, position, projectInfo, getValuesRulesManager(), completionSettings,
-				formattingSettings, cancelChecker);
+				formattingSettings, commandCapabilities, cancelChecker);
+	}
+
+	/**
+	 * Returns the given completion item with its documentation.
+	 * 
+	 * @param item               the completion item to resolve
+	 * @param projectInfo        the Quarkus project information
+	 * @param completionSettings the completion settings
+	 * @param formattingSettings the formatting settings
+	 * @return the given completion item with its documentation
+	 */
+	public CompletionItem resolveCompletionItem(CompletionItem item, MicroProfileProjectInfo projectInfo,
+			MicroProfileCompletionSettings completionSettings, MicroProfileFormattingSettings formattingSettings) {
+		return completions.resolveCompletionItem(item, projectInfo, getValuesRulesManager(), completionSettings,
+				formattingSettings);
 	}
 
 	/**
@@ -187,6 +205,26 @@ public class MicroProfileLanguageService {
 				cancelChecker);
 	}
 
+	/**
+	 * Validate the given application.properties <code>document</code> by using the
+	 * given Quarkus properties metadata <code>projectInfo</code> and by
+	 * re-checking only the properties of the lines changed since the previous
+	 * validation of the given incremental validator.
+	 * 
+	 * @param document             the properties model.
+	 * @param projectInfo          the Quarkus properties
+	 * @param validationSettings   the validation settings.
+	 * @param incrementalValidator the incremental validator of the document.
+	 * @param cancelChecker        the cancel checker.
+	 * @return the result of the validation.
+	 */
+	public List<Diagnostic> doDiagnostics(PropertiesModel document, MicroProfileProjectInfo projectInfo,
+			MicroProfileValidationSettings validationSettings, MicroProfileIncrementalValidator incrementalValidator,
+			CancelChecker cancelChecker) {
+		return diagnostics.doDiagnostics(document, projectInfo, getValuesRulesManager(), validationSettings,
+				incrementalValidator, cancelChecker);
+	}
+
 	/**
 	 * Returns code actions for the given diagnostics of the application.properties
 	 * <code>document</code> by using the given Quarkus properties metadata
@@ -0,0 +1,354 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.redhat.microprofile.commons.metadata.ConfigurationMetadata;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.utils.ConfigurationMetadataIndexes;
+import com.redhat.microprofile.utils.MicroProfilePropertiesUtils;
+
+/**
+ * Immutable index of the property names of a {@link ConfigurationMetadata}
+ * used to retrieve the known names which are similar to an unknown property
+ * name (ex : 'quarkus.application.name' for 'quarkus.application.nme')
+ * without computing the edit distance with all the names:
+ *
+ * <ul>
+ * <li>the names without '{*}' are indexed with the postings lists of their
+ * trigrams. A name which is at the edit distance k of the unknown name shares
+ * at least max(length1, length2) - 2 - 3k trigrams with it, so only the names
+ * which share enough trigrams are compared with the unknown name.</li>
+ * <li>the mapped names (ex : 'quarkus.log.category.{*}.level') are grouped by
+ * number of dot segments. The fixed segments of a mapped name are compared
+ * with the segments of the unknown name at the same position, and the '{*}'
+ * segments are filled with the segments of the unknown name (ex :
+ * 'quarkus.log.category."org.acme".level' for
+ * 'quarkus.log.categry."org.acme".level').</li>
+ * </ul>
+ *
+ * <p>
+ * A name is similar to the unknown name when the edit distance is lower or
+ * equal to 10% of the length of the name.
+ * </p>
+ *
+ */
+class MicroProfilePropertySimilarityIndex {
+
+	private static final float MAX_DISTANCE_DIFF_RATIO = 0.1f;
+
+	private static final int TRIGRAM_LENGTH = 3;
+
+	private static final String MAPPED_SEGMENT = "{*}";
+
+	/**
+	 * A mapped name split in dot segments where the '{*}' segments are null.
+	 */
+	private static class MappedName {
+
+		private final int order;
+
+		private final String[] segments;
+
+		private final int fixedLength;
+
+		public MappedName(int order, String[] segments) {
+			this.order = order;
+			this.segments = segments;
+			int fixedLength = segments.length - 1;
+			for (String segment : segments) {
+				if (segment != null) {
+					fixedLength += segment.length();
+				}
+			}
+			this.fixedLength = fixedLength;
+		}
+	}
+
+	/**
+	 * A similar name with its edit distance and the order of its property.
+	 */
+	private static class Match implements Comparable<Match> {
+
+		private final String name;
+
+		private final int distance;
+
+		private final int order;
+
+		public Match(String name, int distance, int order) {
+			this.name = name;
+			this.distance = distance;
+			this.order = order;
+		}
+
+		@Override
+		public int compareTo(Match other) {
+			int result = Integer.compare(distance, other.distance);
+			return result != 0 ? result : Integer.compare(order, other.order);
+		}
+	}
+
+	private final String[] names;
+
+	private final int[] orders;
+
+	/**
+	 * The postings lists of the trigrams: the indexes of the names which contain
+	 * the trigram followed by the number of occurrences of the trigram in the
+	 * name.
+	 */
+	private final Map<Long, int[]> postings;
+
+	private final Map<Integer, List<MappedName>> mappedNames;
+
+	private MicroProfilePropertySimilarityIndex(List<ItemMetadata> source) {
+		int sourceSize = source != null ? source.size() : 0;
+		List<String> names = new ArrayList<>(sourceSize);
+		List<Integer> orders = new ArrayList<>(sourceSize);
+		Set<String> distinctNames = new HashSet<>();
+		this.mappedNames = new HashMap<>();
+		for (int i = 0; i < sourceSize; i++) {
+			ItemMetadata property = source.get(i);
+			String name = property != null ? property.getName() : null;
+			if (name == null || name.isEmpty() || !distinctNames.add(name)) {
+				continue;
+			}
+			if (MicroProfilePropertiesUtils.isMappedProperty(name)) {
+				String[] segments = toSegments(name);
+				for (int j = 0; j < segments.length; j++) {
+					if (MAPPED_SEGMENT.equals(segments[j])) {
+						segments[j] = null;
+					}
+				}
+				mappedNames.computeIfAbsent(segments.length, k -> new ArrayList<>())
+						.add(new MappedName(i, segments));
+			} else {
+				names.add(name);
+				orders.add(i);
+			}
+		}
+		this.names = names.toArray(new String[names.size()]);
+		this.orders = new int[orders.size()];
+		for (int i = 0; i < this.orders.length; i++) {
+			this.orders[i] = orders.get(i);
+		}
+		this.postings = createPostings(this.names);
+	}
+
+	private static Map<Long, int[]> createPostings(String[] names) {
+		Map<Long, List<Integer>> lists = new HashMap<>();
+		for (int i = 0; i < names.length; i++) {
+			for (Map.Entry<Long, Integer> trigram : countTrigrams(names[i]).entrySet()) {
+				List<Integer> list = lists.computeIfAbsent(trigram.getKey(), k -> new ArrayList<>());
+				list.add(i);
+				list.add(trigram.getValue());
+			}
+		}
+		Map<Long, int[]> postings = new HashMap<>(lists.size() * 4 / 3 + 1);
+		for (Map.Entry<Long, List<Integer>> list : lists.entrySet()) {
+			int[] values = new int[list.getValue().size()];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = list.getValue().get(i);
+			}
+			postings.put(list.getKey(), values);
+		}
+		return postings;
+	}
+
+	/**
+	 * Returns the similarity index of the given configuration metadata.
+	 *
+	 * @param configuration the configuration metadata.
+	 * @return the similarity index of the given configuration metadata.
+	 */
+	public static MicroProfilePropertySimilarityIndex getIndex(ConfigurationMetadata configuration) {
+		return ConfigurationMetadataIndexes.getIndex(configuration, MicroProfilePropertySimilarityIndex.class,
+				c -> new MicroProfilePropertySimilarityIndex(c.getProperties()));
+	}
+
+	/**
+	 * Returns the names which are similar to the given property name, the nearest
+	 * first (and in the order of the properties for the same distance).
+	 *
+	 * @param propertyName the property name.
+	 * @param limit        the maximum number of names.
+	 * @return the names which are similar to the given property name, the nearest
+	 *         first (and in the order of the properties for the same distance).
+	 */
+	public List<String> findSimilarNames(String propertyName, int limit) {
+		if (propertyName == null || propertyName.isEmpty() || limit <= 0) {
+			return Collections.emptyList();
+		}
+		List<Match> matches = new ArrayList<>();
+		collectSimilarNames(propertyName, matches);
+		collectSimilarMappedNames(propertyName, matches);
+		Collections.sort(matches);
+		int size = Math.min(limit, matches.size());
+		List<String> similarNames = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			similarNames.add(matches.get(i).name);
+		}
+		return similarNames;
+	}
+
+	/**
+	 * Returns the maximum edit distance of a similar name with the given length.
+	 *
+	 * @param length the length of the name.
+	 * @return the maximum edit distance of a similar name with the given length.
+	 */
+	static int getMaxDistance(int length) {
+		return Math.round(MAX_DISTANCE_DIFF_RATIO * length);
+	}
+
+	private void collectSimilarNames(String propertyName, List<Match> matches) {
+		int length = propertyName.length();
+		// the maximum distance of the names which can be similar: the length of a
+		// similar name is lower or equal to length + its maximum distance, and the
+		// maximum distance grows slower than the length
+		int maxLength = length;
+		while (getMaxDistance(maxLength + 1) >= maxLength + 1 - length) {
+			maxLength++;
+		}
+		int maxDistance = getMaxDistance(maxLength);
+		int minSharedTrigrams = length - TRIGRAM_LENGTH + 1 - TRIGRAM_LENGTH * maxDistance;
+		if (minSharedTrigrams <= 0) {
+			// the name is too short to be filtered with the trigrams
+			for (int i = 0; i < names.length; i++) {
+				addIfSimilar(i, propertyName, 0, false, matches);
+			}
+			return;
+		}
+		int[] sharedTrigrams = new int[names.length];
+		for (Map.Entry<Long, Integer> trigram : countTrigrams(propertyName).entrySet()) {
+			int[] values = postings.get(trigram.getKey());
+			if (values != null) {
+				int count = trigram.getValue();
+				for (int i = 0; i < values.length; i += 2) {
+					sharedTrigrams[values[i]] += Math.min(count, values[i + 1]);
+				}
+			}
+		}
+		for (int i = 0; i < names.length; i++) {
+			if (sharedTrigrams[i] >= minSharedTrigrams) {
+				addIfSimilar(i, propertyName, sharedTrigrams[i], true, matches);
+			}
+		}
+	}
+
+	private void addIfSimilar(int index, String propertyName, int sharedTrigrams, boolean checkTrigrams,
+			List<Match> matches) {
+		String name = names[index];
+		int maxDistance = getMaxDistance(name.length());
+		if (Math.abs(name.length() - propertyName.length()) > maxDistance) {
+			return;
+		}
+		if (checkTrigrams && sharedTrigrams < Math.max(name.length(), propertyName.length()) - TRIGRAM_LENGTH + 1
+				- TRIGRAM_LENGTH * maxDistance) {
+			return;
+		}
+		int distance = BitParallelLevenshteinDistance.apply(name, propertyName, maxDistance);
+		if (distance != -1) {
+			matches.add(new Match(name, distance, orders[index]));
+		}
+	}
+
+	private void collectSimilarMappedNames(String propertyName, List<Match> matches) {
+		if (mappedNames.isEmpty()) {
+			return;
+		}
+		String[] segments = toSegments(propertyName);
+		List<MappedName> candidates = mappedNames.get(segments.length);
+		if (candidates == null) {
+			return;
+		}
+		for (MappedName candidate : candidates) {
+			// the length of the name where the '{*}' are replaced with the segments of
+			// the property name
+			int length = candidate.fixedLength;
+			for (int i = 0; i < segments.length; i++) {
+				if (candidate.segments[i] == null) {
+					length += segments[i].length();
+				}
+			}
+			int maxDistance = getMaxDistance(length);
+			if (Math.abs(length - propertyName.length()) > maxDistance) {
+				continue;
+			}
+			// the sum of the distances of the fixed segments
+			int distance = 0;
+			for (int i = 0; i < segments.length && distance != -1; i++) {
+				String segment = candidate.segments[i];
+				if (segment != null && !segment.equals(segments[i])) {
+					int segmentDistance = BitParallelLevenshteinDistance.apply(segment, segments[i],
+							maxDistance - distance);
+					distance = segmentDistance != -1 ? distance + segmentDistance : -1;
+				}
+			}
+			if (distance != -1) {
+				matches.add(new Match(toName(candidate, segments, length), distance, candidate.order));
+			}
+		}
+	}
+
+	private static String toName(MappedName mappedName, String[] segments, int length) {
+		StringBuilder name = new StringBuilder(length);
+		for (int i = 0; i < segments.length; i++) {
+			if (i > 0) {
+				name.append('.');
+			}
+			name.append(mappedName.segments[i] != null ? mappedName.segments[i] : segments[i]);
+		}
+		return name.toString();
+	}
+
+	/**
+	 * Returns the dot segments of the given property name where a quoted segment
+	 * (ex : '"org.acme"') and an escaped dot are kept in the segment.
+	 */
+	private static String[] toSegments(String propertyName) {
+		List<String> segments = new ArrayList<>();
+		boolean quoted = false;
+		int start = 0;
+		for (int i = 0; i < propertyName.length(); i++) {
+			char c = propertyName.charAt(i);
+			if (c == '"') {
+				quoted = !quoted;
+			} else if (c == '\\') {
+				i++;
+			} else if (c == '.' && !quoted) {
+				segments.add(propertyName.substring(start, i));
+				start = i + 1;
+			}
+		}
+		segments.add(propertyName.substring(start));
+		return segments.toArray(new String[segments.size()]);
+	}
+
+	/**
+	 * Returns the number of occurrences of each trigram of the given name.
+	 */
+	private static Map<Long, Integer> countTrigrams(String name) {
+		Map<Long, Integer> trigrams = new HashMap<>();
+		for (int i = 0; i + TRIGRAM_LENGTH <= name.length(); i++) {
+			long trigram = ((long) name.charAt(i) << 32) | ((long) name.charAt(i + 1) << 16) | name.charAt(i + 2);
+			trigrams.merge(trigram, 1, Integer::sum);
+		}
+		return trigrams;
+	}
+}
@@ -19,11 +19,9 @@ import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
 import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 
-import com.redhat.microprofile.model.Node;
 import com.redhat.microprofile.model.PropertiesModel;
 import com.redhat.microprofile.model.Property;
 import com.redhat.microprofile.model.PropertyKey;
-import com.redhat.microprofile.model.Node.NodeType;
 import com.redhat.microprofile.utils.PositionUtils;
 
 /**
@@ -43,21 +41,17 @@ class MicroProfileSymbolsProvider {
 	 */
 	public List<SymbolInformation> findSymbolInformations(PropertiesModel document, CancelChecker cancelChecker) {
 		List<SymbolInformation> symbols = new ArrayList<>();
-		for (Node node : document.getChildren()) {
+		for (Property property : document.getIndex().getProperties()) {
 			if (cancelChecker != null) {
 				cancelChecker.checkCanceled();
 			}
-			if (node.getNodeType() == NodeType.PROPERTY) {
-				// It's a property (not a comments)
-				Property property = (Property) node;
-				String name = getSymbolName(property);
-				if (name != null && !name.isEmpty()) {
-					// The property is not an empty line
-					Range range = getSymbolRange(property);
-					Location location = new Location(document.getDocumentURI(), range);
-					SymbolInformation symbol = new SymbolInformation(name, getSymbolKind(property), location);
-					symbols.add(symbol);
-				}
+			String name = getSymbolName(property);
+			if (name != null && !name.isEmpty()) {
+				// The property is not an empty line
+				Range range = getSymbolRange(property);
+				Location location = new Location(document.getDocumentURI(), range);
+				SymbolInformation symbol = new SymbolInformation(name, getSymbolKind(property), location);
+				symbols.add(symbol);
 			}
 		}
 		return symbols;
@@ -72,26 +66,22 @@ class MicroProfileSymbolsProvider {
 	 */
 	public List<DocumentSymbol> findDocumentSymbols(PropertiesModel document, CancelChecker cancelChecker) {
 		List<DocumentSymbol> symbols = new ArrayList<>();
-		for (Node node : document.getChildren()) {
+		for (Property property : document.getIndex().getProperties()) {
 			if (cancelChecker != null) {
 				cancelChecker.checkCanceled();
 			}
-			if (node.getNodeType() == NodeType.PROPERTY) {
-				// It's a property (not a comments)
-				Property property = (Property) node;
-				String name = getSymbolName(property);
-				if (name != null && !name.isEmpty()) {
-					// The property is not an empty line
-					String[] paths = name.split("[.]");
-					DocumentSymbol symbol = null;
-					for (String path : paths) {
-						symbol = getSymbol(path, property, symbol != null ? symbol.getChildren() : symbols);
-					}
-					symbol.setKind(SymbolKind.Property);
-					String value = property.getPropertyValue();
-					if (value != null) {
-						symbol.setDetail(value);
-					}
+			String name = getSymbolName(property);
+			if (name != null && !name.isEmpty()) {
+				// The property is not an empty line
+				String[] paths = name.split("[.]");
+				DocumentSymbol symbol = null;
+				for (String path : paths) {
+					symbol = getSymbol(path, property, symbol != null ? symbol.getChildren() : symbols);
+				}
+				symbol.setKind(SymbolKind.Property);
+				String value = property.getPropertyValue();
+				if (value != null) {
+					symbol.setDetail(value);
 				}
 			}
 		}
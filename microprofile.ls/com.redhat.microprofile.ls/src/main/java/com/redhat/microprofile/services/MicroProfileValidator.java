@@ -9,10 +9,7 @@
 *******************************************************************************/
 package com.redhat.microprofile.services;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
@@ -23,13 +20,16 @@ import com.redhat.microprofile.commons.MicroProfileProjectInfo;
 import com.redhat.microprofile.commons.metadata.ConfigurationMetadata;
 import com.redhat.microprofile.commons.metadata.ItemMetadata;
 import com.redhat.microprofile.model.Node;
-import com.redhat.microprofile.model.Node.NodeType;
 import com.redhat.microprofile.model.PropertiesModel;
+import com.redhat.microprofile.model.PropertiesModelIndex;
 import com.redhat.microprofile.model.Property;
 import com.redhat.microprofile.model.values.ValuesRulesManager;
 import com.redhat.microprofile.settings.MicroProfileValidationSettings;
+import com.redhat.microprofile.utils.MicroProfilePropertiesIndex;
 import com.redhat.microprofile.utils.MicroProfilePropertiesUtils;
+import com.redhat.microprofile.utils.MicroProfilePropertyValuesIndex;
 import com.redhat.microprofile.utils.PositionUtils;
+import com.redhat.microprofile.utils.ValueTypeUtils;
 
 /**
  * Quarkus validator to validate properties declared in application.properties.
@@ -46,7 +46,6 @@ class MicroProfileValidator {
 	private final List<Diagnostic> diagnostics;
 
 	private final MicroProfileValidationSettings validationSettings;
-	private final Map<String, List<Property>> existingProperties;
 
 	public MicroProfileValidator(MicroProfileProjectInfo projectInfo, ValuesRulesManager valuesRulesManager,
 			List<Diagnostic> diagnostics, MicroProfileValidationSettings validationSettings) {
@@ -54,31 +53,31 @@ class MicroProfileValidator {
 		this.valuesRulesManager = valuesRulesManager;
 		this.diagnostics = diagnostics;
 		this.validationSettings = validationSettings;
-		this.existingProperties = new HashMap<String, List<Property>>();
 	}
 
 	public void validate(PropertiesModel document, CancelChecker cancelChecker) {
-		List<Node> nodes = document.getChildren();
-		for (Node node : nodes) {
+		PropertiesModelIndex index = document.getIndex();
+		for (Property property : index.getProperties()) {
 			if (cancelChecker != null) {
 				cancelChecker.checkCanceled();
 			}
-			if (node.getNodeType() == NodeType.PROPERTY) {
-				validateProperty((Property) node);
-			}
+			validateProperty(property);
 		}
 
-		addDiagnosticsForDuplicates();
-		addDiagnosticsForMissingRequired(document);
+		addDiagnosticsForDuplicates(index);
+		addDiagnosticsForMissingRequired(document, index);
 	}
 
-	private void validateProperty(Property property) {
+	/**
+	 * Validates the syntax, the name and the value of the given property.
+	 * 
+	 * @param property the property to validate.
+	 */
+	void validateProperty(Property property) {
 		String propertyNameWithProfile = property.getPropertyNameWithProfile();
 		if (propertyNameWithProfile != null && !propertyNameWithProfile.isEmpty()) {
 			// Validate Syntax property
 			validateSyntaxProperty(propertyNameWithProfile, property);
-			// Validate Duplicate property
-			validateDuplicateProperty(propertyNameWithProfile, property);
 		}
 
 		String propertyName = property.getPropertyName();
@@ -106,20 +105,6 @@ class MicroProfileValidator {
 		}
 	}
 
-	private void validateDuplicateProperty(String propertyName, Property property) {
-		DiagnosticSeverity severity = validationSettings.getDuplicate().getDiagnosticSeverity(propertyName);
-		if (severity == null) {
-			// The duplicate validation must be ignored for this property name
-			return;
-		}
-
-		if (!existingProperties.containsKey(propertyName)) {
-			existingProperties.put(propertyName, new ArrayList<Property>());
-		}
-
-		existingProperties.get(propertyName).add(property);
-	}
-
 	private void validateUnknownProperty(String propertyName, Property property) {
 		DiagnosticSeverity severity = validationSettings.getUnknown().getDiagnosticSeverity(propertyName);
 		if (severity == null) {
@@ -148,7 +133,7 @@ class MicroProfileValidator {
 		}
 
 		String errorMessage = null;
-		if (!isValidEnum(metadata, projectInfo, property.getOwnerModel(), value)) {
+		if (!isValidEnum(metadata, projectInfo, value)) {
 			errorMessage = "Invalid enum value: '" + value + "' is invalid for type " + metadata.getType();
 		} else if (isValueTypeMismatch(metadata, value)) {
 			errorMessage = "Type mismatch: " + metadata.getType() + " expected";
@@ -159,15 +144,9 @@ class MicroProfileValidator {
 		}
 	}
 
-	private boolean isValidEnum(ItemMetadata metadata, ConfigurationMetadata configuration, PropertiesModel model,
-			String value) {
-		if (!configuration.isValidEnum(metadata, value)) {
-			return false;
-		}
-		if (valuesRulesManager != null) {
-			return valuesRulesManager.isValidEnum(metadata, model, value);
-		}
-		return true;
+	private boolean isValidEnum(ItemMetadata metadata, ConfigurationMetadata configuration, String value) {
+		return MicroProfilePropertyValuesIndex.getIndex(configuration, valuesRulesManager)
+				.getValues(metadata, configuration).isValidEnum(value);
 	}
 
 	/**
@@ -180,113 +159,103 @@ class MicroProfileValidator {
 	 *         defined by <code>metadata</code>
 	 */
 	private static boolean isValueTypeMismatch(ItemMetadata metadata, String value) {
-		return !isBuildtimePlaceholder(value) && ((metadata.isIntegerType() && !isIntegerString(value))
-				|| (metadata.isFloatType() && !isFloatString(value))
-				|| (metadata.isBooleanType() && !isBooleanString(value))
-				|| (metadata.isDoubleType() && !isDoubleString(value))
-				|| (metadata.isLongType() && !isLongString(value))
-				|| (metadata.isShortType() && !isShortString(value)));
+		return !isBuildtimePlaceholder(value) && !ValueTypeUtils.isValid(metadata.getTypeKind(), value);
 	}
 
-	private static boolean isBooleanString(String str) {
-		return "true".equals(str) || "false".equals(str);
-	}
-
-	private static boolean isIntegerString(String str) {
-		try {
-			Integer.parseInt(str);
-			return true;
-		} catch (NumberFormatException e) {
-			return false;
-		}
+	private static boolean isBuildtimePlaceholder(String str) {
+		return str.startsWith("${") && str.endsWith("}");
 	}
 
-	private static boolean isFloatString(String str) {
-		try {
-			Float.parseFloat(str);
-			return true;
-		} catch (NumberFormatException e) {
-			return false;
-		}
+	private void addDiagnosticsForDuplicates(PropertiesModelIndex index) {
+		index.getPropertiesByNameWithProfile().forEach((propertyName, propertyList) -> {
+			if (propertyList.size() <= 1) {
+				return;
+			}
+			addDiagnosticsForDuplicate(propertyName, propertyList);
+		});
 	}
 
-	private static boolean isLongString(String str) {
-		try {
-			Long.parseLong(str);
-			return true;
-		} catch (NumberFormatException e) {
-			return false;
+	/**
+	 * Adds the 'Duplicate property' diagnostics of the given properties which have
+	 * the same name.
+	 * 
+	 * @param propertyName the property name with profile.
+	 * @param propertyList the properties of the property name.
+	 */
+	void addDiagnosticsForDuplicate(String propertyName, List<Property> propertyList) {
+		DiagnosticSeverity severity = validationSettings.getDuplicate().getDiagnosticSeverity(propertyName);
+		if (severity == null) {
+			// The duplicate validation must be ignored for this property name
+			return;
 		}
-	}
 
-	private static boolean isDoubleString(String str) {
-		try {
-			Double.parseDouble(str);
-			return true;
-		} catch (NumberFormatException e) {
-			return false;
+		for (Property property : propertyList) {
+			addDiagnostic("Duplicate property '" + propertyName + "'", property.getKey(), severity,
+					ValidationType.duplicate.name());
 		}
 	}
 
-	private static boolean isShortString(String str) {
-		try {
-			Short.parseShort(str);
-			return true;
-		} catch (NumberFormatException e) {
-			return false;
+	private void addDiagnosticsForMissingRequired(PropertiesModel document, PropertiesModelIndex index) {
+		for (ItemMetadata property : getValidatedRequiredProperties()) {
+			List<Property> propertyList = index.getPropertiesWithProfile(property.getName());
+			addDiagnosticsForRequired(property.getName(), document, propertyList, hasValue(propertyList));
 		}
 	}
 
-	private static boolean isBuildtimePlaceholder(String str) {
-		return str.startsWith("${") && str.endsWith("}");
+	/**
+	 * Returns the required properties which are not excluded by the 'required'
+	 * validation settings.
+	 * 
+	 * @return the required properties which are not excluded by the 'required'
+	 *         validation settings.
+	 */
+	List<ItemMetadata> getValidatedRequiredProperties() {
+		return MicroProfilePropertiesIndex.getIndex(projectInfo).getRequiredProperties(validationSettings.getRequired());
 	}
 
-	private void addDiagnosticsForDuplicates() {
-		existingProperties.forEach((propertyName, propertyList) -> {
-			if (propertyList.size() <= 1) {
-				return;
-			}
-
-			DiagnosticSeverity severity = validationSettings.getDuplicate().getDiagnosticSeverity(propertyName);
-
+	/**
+	 * Adds the 'Missing required property' diagnostics of the given required
+	 * property which is not excluded by the 'required' validation settings.
+	 * 
+	 * @param propertyName the required property name.
+	 * @param document     the properties model.
+	 * @param propertyList the properties of the required property name.
+	 * @param hasValue     true if one of the properties has a value and false
+	 *                     otherwise.
+	 */
+	void addDiagnosticsForRequired(String propertyName, PropertiesModel document, List<Property> propertyList,
+			boolean hasValue) {
+		DiagnosticSeverity severity = validationSettings.getRequired().getDiagnosticSeverity();
+		if (propertyList.isEmpty()) {
+			addDiagnostic("Missing required property '" + propertyName + "'", document, severity,
+					ValidationType.required.name());
+		} else if (!hasValue) {
 			for (Property property : propertyList) {
-				addDiagnostic("Duplicate property '" + propertyName + "'", property.getKey(), severity,
-						ValidationType.duplicate.name());
-			}
-		});
-	}
-
-	private void addDiagnosticsForMissingRequired(PropertiesModel document) {
-		for (ItemMetadata property : projectInfo.getProperties()) {
-
-			String propertyName = property.getName();
-
-			DiagnosticSeverity severity = validationSettings.getRequired().getDiagnosticSeverity(propertyName);
-
-			if (severity != null && property.isRequired()) {
-				if (!existingProperties.containsKey(propertyName)) {
-					addDiagnostic("Missing required property '" + propertyName + "'", document, severity,
-							ValidationType.required.name());
-				} else {
-					addDiagnosticsForRequiredIfNoValue(propertyName, severity);
-				}
+				addDiagnostic("Missing required property value for '" + propertyName + "'", property, severity,
+						ValidationType.requiredValue.name());
 			}
 		}
 	}
 
-	private void addDiagnosticsForRequiredIfNoValue(String propertyName, DiagnosticSeverity severity) {
-		List<Property> propertyList = existingProperties.get(propertyName);
-
+	private static boolean hasValue(List<Property> propertyList) {
 		for (Property property : propertyList) {
-			if (property.getValue() != null && !property.getValue().getValue().isEmpty()) {
-				return;
+			if (hasValue(property)) {
+				return true;
 			}
 		}
+		return false;
+	}
 
-		for (Property property : propertyList) {
-			addDiagnostic("Missing required property value for '" + propertyName + "'", property, severity,
-					ValidationType.requiredValue.name());
-		}
+	/**
+	 * Returns true if the given property has a non empty value and false
+	 * otherwise.
+	 * 
+	 * @param property the property.
+	 * @return true if the given property has a non empty value and false
+	 *         otherwise.
+	 */
+	static boolean hasValue(Property property) {
+		return property.getValue() != null && !property.getValue().getValue().isEmpty();
 	}
 
 	private void addDiagnostic(String message, Node node, DiagnosticSeverity severity, String code) {
@@ -0,0 +1,323 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.settings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.redhat.microprofile.utils.AntPathMatcher;
+
+/**
+ * Matcher of the excluded properties of a validation type, compiled once for
+ * all the excluded patterns:
+ *
+ * <ul>
+ * <li>the patterns which are not Ant patterns are stored in a hash set and
+ * matched with the exact property name.</li>
+ * <li>the wildcard patterns ('*', '?', '{variable}') without path separator
+ * are compiled in one automaton (a trie of the patterns where '*' loops on any
+ * character) which is simulated once for all the patterns.</li>
+ * <li>the other Ant patterns ('/', '**', '{variable:regex}') are matched with
+ * {@link AntPathMatcher}.</li>
+ * </ul>
+ *
+ * <p>
+ * For a wildcard pattern without '/', the {@link AntPathMatcher} matches a
+ * path which doesn't contain '/' and which matches the pattern where '*' and
+ * '{variable}' match any characters and '?' matches one character: the
+ * automaton follows the same rules.
+ * </p>
+ *
+ */
+class ExcludedPropertiesMatcher {
+
+	private static final ExcludedPropertiesMatcher EMPTY = new ExcludedPropertiesMatcher(new String[0]);
+
+	private static final char PATH_SEPARATOR = '/';
+
+	/**
+	 * A state of the wildcard automaton.
+	 */
+	private static class State {
+
+		private final int id;
+
+		private Map<Character, State> transitions;
+
+		private State any;
+
+		private State star;
+
+		private boolean starLoop;
+
+		private boolean accept;
+
+		public State(int id) {
+			this.id = id;
+		}
+	}
+
+	/**
+	 * The buffers of a simulation of the wildcard automaton, reused by a thread.
+	 */
+	private static class Simulation {
+
+		private State[] current;
+
+		private State[] next;
+
+		/**
+		 * The generation which has added a state to the current set, to avoid
+		 * clearing the marks for each character.
+		 */
+		private final int[] marks;
+
+		private int generation;
+
+		public Simulation(int stateCount) {
+			this.current = new State[stateCount];
+			this.next = new State[stateCount];
+			this.marks = new int[stateCount];
+		}
+
+		public int nextGeneration() {
+			if (++generation == Integer.MAX_VALUE) {
+				Arrays.fill(marks, 0);
+				generation = 1;
+			}
+			return generation;
+		}
+	}
+
+	private final Set<String> exactNames;
+
+	private final State start;
+
+	private final int stateCount;
+
+	private final ThreadLocal<Simulation> simulations;
+
+	private final List<String> antPatterns;
+
+	private final AntPathMatcher antMatcher;
+
+	private ExcludedPropertiesMatcher(String[] excluded) {
+		AntPathMatcher matcher = new AntPathMatcher();
+		matcher.setCachePatterns(true);
+		this.exactNames = new HashSet<>();
+		this.antPatterns = new ArrayList<>();
+		List<State> states = new ArrayList<>();
+		this.start = createState(states);
+		for (String pattern : excluded) {
+			if (pattern == null) {
+				continue;
+			}
+			if (!matcher.isPattern(pattern)) {
+				exactNames.add(pattern);
+			} else if (isWildcardPattern(pattern)) {
+				addWildcardPattern(pattern, states);
+			} else {
+				antPatterns.add(pattern);
+			}
+		}
+		this.stateCount = states.size();
+		this.simulations = ThreadLocal.withInitial(() -> new Simulation(stateCount));
+		this.antMatcher = antPatterns.isEmpty() ? null : matcher;
+	}
+
+	/**
+	 * Returns the matcher of the given excluded patterns.
+	 *
+	 * @param excluded the excluded patterns and null otherwise.
+	 * @return the matcher of the given excluded patterns.
+	 */
+	public static ExcludedPropertiesMatcher compile(String[] excluded) {
+		return excluded == null || excluded.length == 0 ? EMPTY : new ExcludedPropertiesMatcher(excluded);
+	}
+
+	/**
+	 * Returns true if the given property name matches one of the excluded
+	 * patterns and false otherwise.
+	 *
+	 * @param propertyName the property name.
+	 * @return true if the given property name matches one of the excluded
+	 *         patterns and false otherwise.
+	 */
+	public boolean match(String propertyName) {
+		if (exactNames.contains(propertyName)) {
+			return true;
+		}
+		if (stateCount > 1 && matchWildcardPatterns(propertyName)) {
+			return true;
+		}
+		if (antMatcher != null) {
+			for (String pattern : antPatterns) {
+				if (antMatcher.match(pattern, propertyName)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static boolean isWildcardPattern(String pattern) {
+		if (pattern.indexOf(PATH_SEPARATOR) != -1 || "**".equals(pattern)) {
+			return false;
+		}
+		for (int i = 0; i < pattern.length(); i++) {
+			if (pattern.charAt(i) == '{') {
+				int end = getVariableEnd(pattern, i);
+				if (end == -1) {
+					return false;
+				}
+				i = end;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the index of the '}' of the variable (ex : '{*}', '{name}') which
+	 * starts at the given index and -1 if it's not a simple variable (without
+	 * regular expression).
+	 */
+	private static int getVariableEnd(String pattern, int start) {
+		for (int i = start + 1; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c == '}') {
+				return i > start + 1 ? i : -1;
+			}
+			if (c == '{' || c == ':' || c == '\\') {
+				return -1;
+			}
+		}
+		return -1;
+	}
+
+	private void addWildcardPattern(String pattern, List<State> states) {
+		State state = start;
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c == '{') {
+				// a variable matches any characters like '*'
+				i = getVariableEnd(pattern, i);
+				c = '*';
+			}
+			if (c == '*') {
+				if (state.starLoop) {
+					// '**' inside a segment is the same thing than '*'
+					continue;
+				}
+				if (state.star == null) {
+					state.star = createState(states);
+					state.star.starLoop = true;
+				}
+				state = state.star;
+			} else if (c == '?') {
+				if (state.any == null) {
+					state.any = createState(states);
+				}
+				state = state.any;
+			} else {
+				if (state.transitions == null) {
+					state.transitions = new HashMap<>();
+				}
+				State next = state.transitions.get(c);
+				if (next == null) {
+					next = createState(states);
+					state.transitions.put(c, next);
+				}
+				state = next;
+			}
+		}
+		state.accept = true;
+	}
+
+	private static State createState(List<State> states) {
+		State state = new State(states.size());
+		states.add(state);
+		return state;
+	}
+
+	/**
+	 * Simulates the wildcard automaton with the given property name.
+	 */
+	private boolean matchWildcardPatterns(String propertyName) {
+		if (propertyName.isEmpty() || propertyName.indexOf(PATH_SEPARATOR) != -1) {
+			return false;
+		}
+		Simulation simulation = simulations.get();
+		State[] current = simulation.current;
+		State[] next = simulation.next;
+		int[] marks = simulation.marks;
+		int currentSize = addState(start, current, 0, marks, simulation.nextGeneration());
+		for (int i = 0; i < propertyName.length() && currentSize > 0; i++) {
+			char c = propertyName.charAt(i);
+			boolean wildcardChar = !isLineTerminator(c);
+			int mark = simulation.nextGeneration();
+			int nextSize = 0;
+			for (int j = 0; j < currentSize; j++) {
+				State state = current[j];
+				if (state.starLoop && wildcardChar) {
+					nextSize = addState(state, next, nextSize, marks, mark);
+				}
+				if (state.any != null && wildcardChar) {
+					nextSize = addState(state.any, next, nextSize, marks, mark);
+				}
+				if (state.transitions != null) {
+					State target = state.transitions.get(c);
+					if (target != null) {
+						nextSize = addState(target, next, nextSize, marks, mark);
+					}
+				}
+			}
+			State[] swap = current;
+			current = next;
+			next = swap;
+			currentSize = nextSize;
+		}
+		for (int j = 0; j < currentSize; j++) {
+			if (current[j].accept) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if the given character is a line terminator, which is not
+	 * matched by the '.' of the regular expressions used by
+	 * {@link AntPathMatcher} and false otherwise.
+	 */
+	private static boolean isLineTerminator(char c) {
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+	/**
+	 * Adds the given state and the state of its '*' (which can match no
+	 * character) to the given states.
+	 */
+	private static int addState(State state, State[] states, int size, int[] marks, int mark) {
+		while (state != null) {
+			if (marks[state.id] == mark) {
+				return size;
+			}
+			marks[state.id] = mark;
+			states[size++] = state;
+			state = state.star;
+		}
+		return size;
+	}
+}
@@ -12,13 +12,27 @@ package com.redhat.microprofile.settings;
 import org.eclipse.lsp4j.CompletionCapabilities;
 
 /**
- * A wrapper around LSP {@link CompletionCapabilities}.
+ * A wrapper around LSP {@link CompletionCapabilities} and the completion
+ * settings configured from the client.
+ *
+ * <pre>
+ * "completion": {
+ *    "maxItems": 100,
+ *    "segmentThreshold": 50
+ * }
+ * </pre>
  *
  */
 public class MicroProfileCompletionSettings {
 
 	private CompletionCapabilities completionCapabilities;
 
+	private int maxItems;
+
+	private boolean resolveSupported;
+
+	private int segmentThreshold;
+
 	public void setCapabilities(CompletionCapabilities completionCapabilities) {
 		this.completionCapabilities = completionCapabilities;
 	}
@@ -27,6 +41,89 @@ public class MicroProfileCompletionSettings {
 		return completionCapabilities;
 	}
 
+	/**
+	 * Returns the maximum number of property keys returned by the completion and 0
+	 * if the completion returns all the property keys.
+	 * 
+	 * <p>
+	 * When this limit is set, the property keys are filtered on the server side
+	 * with the typed key prefix and the completion list is marked as incomplete
+	 * when it is truncated, to let the client re-query as the user types.
+	 * </p>
+	 * 
+	 * @return the maximum number of property keys returned by the completion and 0
+	 *         if the completion returns all the property keys.
+	 */
+	public int getMaxItems() {
+		return maxItems;
+	}
+
+	/**
+	 * Set the maximum number of property keys returned by the completion.
+	 * 
+	 * @param maxItems the maximum number of property keys returned by the
+	 *                 completion, 0 to return all the property keys.
+	 */
+	public void setMaxItems(int maxItems) {
+		this.maxItems = maxItems;
+	}
+
+	/**
+	 * Returns the number of properties above which the completion of property keys
+	 * returns the next segments (ex : 'http', 'datasource' after 'quarkus.')
+	 * instead of the full keys, and 0 if the completion always returns the full
+	 * keys.
+	 * 
+	 * @return the number of properties above which the completion of property keys
+	 *         returns the next segments and 0 if the completion always returns the
+	 *         full keys.
+	 */
+	public int getSegmentThreshold() {
+		return segmentThreshold;
+	}
+
+	/**
+	 * Set the number of properties above which the completion of property keys
+	 * returns the next segments.
+	 * 
+	 * @param segmentThreshold the number of properties above which the completion
+	 *                         of property keys returns the next segments, 0 to
+	 *                         always return the full keys.
+	 */
+	public void setSegmentThreshold(int segmentThreshold) {
+		this.segmentThreshold = segmentThreshold;
+	}
+
+	/**
+	 * Returns <code>true</code> if the documentation of the property keys is
+	 * computed with 'completionItem/resolve' and <code>false</code> otherwise.
+	 * 
+	 * <p>
+	 * In this case, the completion items carry a data (see
+	 * MicroProfileCompletionItemData) instead of their documentation, which is
+	 * the bulk of a completion list.
+	 * </p>
+	 * 
+	 * @return <code>true</code> if the documentation of the property keys is
+	 *         computed with 'completionItem/resolve' and <code>false</code>
+	 *         otherwise.
+	 */
+	public boolean isResolveSupported() {
+		return resolveSupported;
+	}
+
+	/**
+	 * Set <code>true</code> if the documentation of the property keys is computed
+	 * with 'completionItem/resolve' and <code>false</code> otherwise.
+	 * 
+	 * @param resolveSupported <code>true</code> if the documentation of the
+	 *                         property keys is computed with
+	 *                         'completionItem/resolve'.
+	 */
+	public void setResolveSupported(boolean resolveSupported) {
+		this.resolveSupported = resolveSupported;
+	}
+
 	/**
 	 * Returns <code>true</code> if the client support snippet and
 	 * <code>false</code> otherwise.
@@ -36,6 +36,10 @@ public class MicroProfileGeneralClientSettings {
 
 	private MicroProfileCodeLensSettings codeLens;
 
+	private MicroProfileCompletionSettings completion;
+
+	private MicroProfileServerSettings server;
+
 	/**
 	 * Returns the symbols settings.
 	 * 
@@ -108,6 +112,42 @@ public class MicroProfileGeneralClientSettings {
 		this.codeLens = codeLens;
 	}
 
+	/**
+	 * Returns the completion settings.
+	 * 
+	 * @return the completion settings.
+	 */
+	public MicroProfileCompletionSettings getCompletion() {
+		return completion;
+	}
+
+	/**
+	 * Sets the completion settings.
+	 * 
+	 * @param completion the completion settings.
+	 */
+	public void setCompletion(MicroProfileCompletionSettings completion) {
+		this.completion = completion;
+	}
+
+	/**
+	 * Returns the server settings.
+	 * 
+	 * @return the server settings.
+	 */
+	public MicroProfileServerSettings getServer() {
+		return server;
+	}
+
+	/**
+	 * Sets the server settings.
+	 * 
+	 * @param server the server settings.
+	 */
+	public void setServer(MicroProfileServerSettings server) {
+		this.server = server;
+	}
+
 	/**
 	 * Returns the general settings from the given initialization options
 	 * 
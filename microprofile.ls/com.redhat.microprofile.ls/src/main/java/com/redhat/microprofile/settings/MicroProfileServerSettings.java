@@ -0,0 +1,127 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.settings;
+
+/**
+ * MicroProfile server settings.
+ *
+ * <pre>
+ * "server": {
+ *    "workDir": "~/.quarkus/ls",
+ *    "projectInfoCacheBudget": 100000,
+ *    "warmUp": true
+ * }
+ * </pre>
+ *
+ */
+public class MicroProfileServerSettings {
+
+	/**
+	 * The default maximum number of properties and hints kept in memory for the
+	 * project information.
+	 */
+	public static final int DEFAULT_PROJECT_INFO_CACHE_BUDGET = 100000;
+
+	private String workDir;
+
+	private int projectInfoCacheBudget = DEFAULT_PROJECT_INFO_CACHE_BUDGET;
+
+	private boolean warmUp;
+
+	/**
+	 * Returns the directory where the server stores its cache (ex : snapshots of
+	 * the MicroProfile project information) and null if nothing must be stored on
+	 * the disk.
+	 *
+	 * @return the directory where the server stores its cache and null if nothing
+	 *         must be stored on the disk.
+	 */
+	public String getWorkDir() {
+		return workDir;
+	}
+
+	/**
+	 * Set the directory where the server stores its cache.
+	 *
+	 * @param workDir the directory where the server stores its cache.
+	 */
+	public void setWorkDir(String workDir) {
+		this.workDir = workDir;
+	}
+
+	/**
+	 * Returns the maximum number of properties and hints kept in memory for the
+	 * project information and a value less than or equal to 0 if there is no
+	 * limit.
+	 *
+	 * <p>
+	 * When the budget is exceeded, the project information of projects which have
+	 * no opened properties file are evicted.
+	 * </p>
+	 *
+	 * @return the maximum number of properties and hints kept in memory for the
+	 *         project information.
+	 */
+	public int getProjectInfoCacheBudget() {
+		return projectInfoCacheBudget;
+	}
+
+	/**
+	 * Set the maximum number of properties and hints kept in memory for the
+	 * project information.
+	 *
+	 * @param projectInfoCacheBudget the maximum number of properties and hints
+	 *                               kept in memory for the project information.
+	 */
+	public void setProjectInfoCacheBudget(int projectInfoCacheBudget) {
+		this.projectInfoCacheBudget = projectInfoCacheBudget;
+	}
+
+	/**
+	 * Returns true if the project information of the properties files of the
+	 * workspace folders must be prefetched in the background once the server is
+	 * initialized and false otherwise.
+	 *
+	 * @return true if the project information of the properties files of the
+	 *         workspace folders must be prefetched and false otherwise.
+	 */
+	public boolean isWarmUp() {
+		return warmUp;
+	}
+
+	/**
+	 * Set true if the project information of the properties files of the
+	 * workspace folders must be prefetched in the background.
+	 *
+	 * @param warmUp true if the project information must be prefetched.
+	 */
+	public void setWarmUp(boolean warmUp) {
+		this.warmUp = warmUp;
+	}
+
+	/**
+	 * Returns the normalized work directory (with '~' expanded to the user home)
+	 * and null if no work directory is configured.
+	 *
+	 * @return the normalized work directory and null if no work directory is
+	 *         configured.
+	 */
+	public String getNormalizedWorkDir() {
+		if (workDir == null || workDir.trim().isEmpty()) {
+			return null;
+		}
+		String dir = workDir.trim();
+		if (dir.startsWith("~")) {
+			dir = System.getProperty("user.home") + dir.substring(1);
+		}
+		return dir;
+	}
+
+}
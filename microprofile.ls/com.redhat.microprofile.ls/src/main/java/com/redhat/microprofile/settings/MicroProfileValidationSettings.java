@@ -23,6 +23,12 @@ public class MicroProfileValidationSettings {
 
 	public static final MicroProfileValidationSettings DEFAULT;
 
+	/**
+	 * The default delay in milliseconds without change of a properties file
+	 * before validating it.
+	 */
+	public static final int DEFAULT_DELAY = 200;
+
 	private static final MicroProfileValidationTypeSettings DEFAULT_SYNTAX;
 	private static final MicroProfileValidationTypeSettings DEFAULT_UNKNOWN;
 	private static final MicroProfileValidationTypeSettings DEFAULT_DUPLICATE;
@@ -48,6 +54,8 @@ public class MicroProfileValidationSettings {
 
 	private boolean enabled;
 
+	private int delay = DEFAULT_DELAY;
+
 	private MicroProfileValidationTypeSettings syntax;
 	private MicroProfileValidationTypeSettings unknown;
 	private MicroProfileValidationTypeSettings duplicate;
@@ -76,6 +84,27 @@ public class MicroProfileValidationSettings {
 		this.enabled = enabled;
 	}
 
+	/**
+	 * Returns the delay in milliseconds without change of a properties file before
+	 * validating it.
+	 * 
+	 * @return the delay in milliseconds without change of a properties file before
+	 *         validating it.
+	 */
+	public int getDelay() {
+		return delay;
+	}
+
+	/**
+	 * Set the delay in milliseconds without change of a properties file before
+	 * validating it.
+	 * 
+	 * @param delay the delay in milliseconds.
+	 */
+	public void setDelay(int delay) {
+		this.delay = delay;
+	}
+
 	/**
 	 * Returns the settings for syntax validation.
 	 * 
@@ -188,6 +217,7 @@ public class MicroProfileValidationSettings {
 	 */
 	public void update(MicroProfileValidationSettings newValidation) {
 		this.setEnabled(newValidation.isEnabled());
+		this.setDelay(newValidation.getDelay());
 		this.setSyntax(newValidation.getSyntax());
 		this.setUnknown(newValidation.getUnknown());
 		this.setDuplicate(newValidation.getDuplicate());
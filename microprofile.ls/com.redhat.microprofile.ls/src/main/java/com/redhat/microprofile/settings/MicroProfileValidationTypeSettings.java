@@ -9,14 +9,8 @@
 *******************************************************************************/
 package com.redhat.microprofile.settings;
 
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
 import org.eclipse.lsp4j.DiagnosticSeverity;
 
-import com.redhat.microprofile.utils.AntPathMatcher;
-
 /**
  * Quarkus validation type settings.
  * 
@@ -29,36 +23,34 @@ public class MicroProfileValidationTypeSettings {
 
 	private String[] excluded;
 
-	private transient List<ExcludedProperty> excludedProperties;
+	private transient volatile ResolvedSettings resolved;
+
+	private transient volatile int version;
+
+	/**
+	 * The diagnostic severity and the excluded properties matcher resolved once
+	 * for a severity and an excluded array.
+	 */
+	private static class ResolvedSettings {
 
-	private static class ExcludedProperty {
+		private final String severity;
 
-		private final String pattern;
-		private final AntPathMatcher matcher;
+		private final String[] excluded;
 
-		public ExcludedProperty(String pattern, AntPathMatcher matcher) {
-			this.pattern = pattern;
-			this.matcher = matcher.isPattern(pattern) ? matcher : null;
-		}
+		private final DiagnosticSeverity diagnosticSeverity;
 
-		/**
-		 * Returns true if the given property name matches the pattern and false
-		 * otherwise.
-		 * 
-		 * @param propertyName the property name.
-		 * @return true if the given property name matches the pattern and false
-		 *         otherwise.
-		 */
-		public boolean match(String propertyName) {
-			if (matcher != null) {
-				// the excluded property is a pattern, use pattern matcher to check the match
-				return matcher.match(pattern, propertyName);
-			}
-			// the excluded property is not a pattern, check if the property name is equal
-			// to the pattern
-			return pattern.equals(propertyName);
+		private final ExcludedPropertiesMatcher excludedMatcher;
+
+		public ResolvedSettings(String severity, String[] excluded) {
+			this.severity = severity;
+			this.excluded = excluded;
+			this.diagnosticSeverity = resolveDiagnosticSeverity(severity);
+			this.excludedMatcher = ExcludedPropertiesMatcher.compile(excluded);
 		}
 
+		public boolean isResolvedFor(String severity, String[] excluded) {
+			return this.severity == severity && this.excluded == excluded;
+		}
 	}
 
 	/**
@@ -77,6 +69,7 @@ public class MicroProfileValidationTypeSettings {
 	 */
 	public void setSeverity(String severity) {
 		this.severity = severity;
+		this.version++;
 	}
 
 	/**
@@ -95,6 +88,17 @@ public class MicroProfileValidationTypeSettings {
 	 */
 	public void setExcluded(String[] excluded) {
 		this.excluded = excluded;
+		this.version++;
+	}
+
+	/**
+	 * Returns the version of the settings, incremented each time the severity or
+	 * the excluded properties are updated.
+	 * 
+	 * @return the version of the settings.
+	 */
+	public int getVersion() {
+		return version;
 	}
 
 	/**
@@ -113,14 +117,14 @@ public class MicroProfileValidationTypeSettings {
 		return isExcluded(propertyName) ? null : severity;
 	}
 
-	private DiagnosticSeverity getDiagnosticSeverity() {
-		DiagnosticSeverity[] severities = DiagnosticSeverity.values();
-		for (DiagnosticSeverity severity : severities) {
-			if (severity.name().toUpperCase().equals(this.severity.toUpperCase())) {
-				return severity;
-			}
-		}
-		return null;
+	/**
+	 * Returns the diagnostic severity of the validation type (without checking the
+	 * excluded properties) and null otherwise.
+	 * 
+	 * @return the diagnostic severity of the validation type and null otherwise.
+	 */
+	public DiagnosticSeverity getDiagnosticSeverity() {
+		return getResolvedSettings().diagnosticSeverity;
 	}
 
 	/**
@@ -130,46 +134,37 @@ public class MicroProfileValidationTypeSettings {
 	 * @return true if the given property name must be excluded and false otherwise.
 	 */
 	private boolean isExcluded(String propertyName) {
-		if (excluded == null) {
-			return false;
-		}
-		// Get compiled excluded properties
-		List<ExcludedProperty> excludedProperties = getExcludedProperties();
-		for (ExcludedProperty excluded : excludedProperties) {
-			// the property name matches an excluded pattern
-			if (excluded.match(propertyName)) {
-				return true;
-			}
-		}
-		return false;
+		return getResolvedSettings().excludedMatcher.match(propertyName);
 	}
 
 	/**
-	 * Returns the compiled excluded properties.
+	 * Returns the diagnostic severity and the compiled excluded properties,
+	 * resolved once per severity and excluded array (the JSON deserialization
+	 * doesn't call the setters).
 	 * 
-	 * @return the compiled excluded properties.
+	 * @return the diagnostic severity and the compiled excluded properties.
 	 */
-	private List<ExcludedProperty> getExcludedProperties() {
-		if (excludedProperties != null) {
-			return excludedProperties;
+	private ResolvedSettings getResolvedSettings() {
+		ResolvedSettings resolved = this.resolved;
+		String severity = this.severity;
+		String[] excluded = this.excluded;
+		if (resolved == null || !resolved.isResolvedFor(severity, excluded)) {
+			resolved = new ResolvedSettings(severity, excluded);
+			this.resolved = resolved;
 		}
-		return createExcludedProperties();
+		return resolved;
 	}
 
-	/**
-	 * Create the compiled excluded properties.
-	 * 
-	 * @return the compiled excluded properties.
-	 */
-	private synchronized List<ExcludedProperty> createExcludedProperties() {
-		if (excludedProperties != null) {
-			return excludedProperties;
+	private static DiagnosticSeverity resolveDiagnosticSeverity(String severity) {
+		if (severity == null) {
+			return null;
+		}
+		for (DiagnosticSeverity diagnosticSeverity : DiagnosticSeverity.values()) {
+			if (diagnosticSeverity.name().equalsIgnoreCase(severity)) {
+				return diagnosticSeverity;
+			}
 		}
-		AntPathMatcher matcher = new AntPathMatcher();
-		matcher.setCachePatterns(true);
-		return Stream.of(excluded) //
-				.map(p -> new ExcludedProperty(p, matcher)) //
-				.collect(Collectors.toList());
+		return null;
 	}
 
 }
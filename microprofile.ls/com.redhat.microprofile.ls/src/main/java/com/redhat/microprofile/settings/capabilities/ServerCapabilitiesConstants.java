@@ -42,8 +42,17 @@ public class ServerCapabilitiesConstants {
 	public static final String CODE_ACTION_ID = UUID.randomUUID().toString();
 	public static final String CODE_LENS_ID = UUID.randomUUID().toString();
 
-	public static final CompletionOptions DEFAULT_COMPLETION_OPTIONS = new CompletionOptions(false,
-			Arrays.asList(".", "%", "="));
+	/**
+	 * true if the documentation of the property keys is computed with
+	 * 'completionItem/resolve' and false otherwise.
+	 */
+	public static final boolean COMPLETION_RESOLVE_PROVIDER = true;
+
+	/**
+	 * The completion options.
+	 */
+	public static final CompletionOptions DEFAULT_COMPLETION_OPTIONS = new CompletionOptions(
+			COMPLETION_RESOLVE_PROVIDER, Arrays.asList(".", "%", "="));
 	
 	public static final CodeLensOptions DEFAULT_CODELENS_OPTIONS = new CodeLensOptions();
 }
\ No newline at end of file
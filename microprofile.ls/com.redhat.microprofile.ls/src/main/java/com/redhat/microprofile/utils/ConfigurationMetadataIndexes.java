@@ -0,0 +1,142 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.utils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.redhat.microprofile.commons.metadata.ConfigurationMetadata;
+import com.redhat.microprofile.commons.metadata.ItemHint;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.model.values.ValuesRulesManager;
+
+/**
+ * The indexes computed from a {@link ConfigurationMetadata} (ex :
+ * {@link MicroProfilePropertiesIndex}, {@link MicroProfilePropertyValuesIndex}),
+ * one instance per index type.
+ *
+ * <p>
+ * The indexes of a configuration metadata are kept while the properties and
+ * hints lists instance and size of the configuration metadata don't change
+ * (the snapshots of the project information are immutable) and are released
+ * with the configuration metadata. An index which depends on the values rules
+ * is also rebuilt when the rules change.
+ * </p>
+ *
+ */
+public class ConfigurationMetadataIndexes {
+
+	private static final Map<ConfigurationMetadata, ConfigurationMetadataIndexes> INDEXES = Collections
+			.synchronizedMap(new WeakHashMap<>());
+
+	/**
+	 * An index and the version of the values rules used to build it.
+	 */
+	private static class Index {
+
+		private final Object value;
+
+		private final ValuesRulesManager valuesRulesManager;
+
+		private final int valuesRulesVersion;
+
+		public Index(Object value, ValuesRulesManager valuesRulesManager) {
+			this.value = value;
+			this.valuesRulesManager = valuesRulesManager;
+			this.valuesRulesVersion = valuesRulesManager != null ? valuesRulesManager.getVersion() : 0;
+		}
+
+		public boolean isIndexOf(ValuesRulesManager valuesRulesManager) {
+			return this.valuesRulesManager == valuesRulesManager
+					&& (valuesRulesManager == null || valuesRulesVersion == valuesRulesManager.getVersion());
+		}
+	}
+
+	private final List<ItemMetadata> properties;
+
+	private final int propertiesSize;
+
+	private final List<ItemHint> hints;
+
+	private final int hintsSize;
+
+	private final Map<Class<?>, Index> indexes = new ConcurrentHashMap<>();
+
+	private ConfigurationMetadataIndexes(ConfigurationMetadata configuration) {
+		this.properties = configuration.getProperties();
+		this.propertiesSize = properties != null ? properties.size() : 0;
+		this.hints = configuration.getHints();
+		this.hintsSize = hints != null ? hints.size() : 0;
+	}
+
+	/**
+	 * Returns the index of the given type of the given configuration metadata and
+	 * create it with the given factory if needed.
+	 *
+	 * @param configuration the configuration metadata.
+	 * @param type          the index type.
+	 * @param factory       the factory which creates the index.
+	 * @return the index of the given type of the given configuration metadata.
+	 */
+	public static <T> T getIndex(ConfigurationMetadata configuration, Class<T> type,
+			Function<ConfigurationMetadata, T> factory) {
+		return getIndex(configuration, null, type, (c, rules) -> factory.apply(c));
+	}
+
+	/**
+	 * Returns the index of the given type of the given configuration metadata
+	 * which uses the given values rules and create it with the given factory if
+	 * needed.
+	 *
+	 * @param configuration      the configuration metadata.
+	 * @param valuesRulesManager the values rules manager and null otherwise.
+	 * @param type               the index type.
+	 * @param factory            the factory which creates the index.
+	 * @return the index of the given type of the given configuration metadata.
+	 */
+	public static <T> T getIndex(ConfigurationMetadata configuration, ValuesRulesManager valuesRulesManager,
+			Class<T> type, BiFunction<ConfigurationMetadata, ValuesRulesManager, T> factory) {
+		ConfigurationMetadataIndexes indexes = INDEXES.get(configuration);
+		if (indexes == null || !indexes.isIndexesOf(configuration)) {
+			indexes = new ConfigurationMetadataIndexes(configuration);
+			INDEXES.put(configuration, indexes);
+		}
+		Index index = indexes.indexes.get(type);
+		if (index == null || !index.isIndexOf(valuesRulesManager)) {
+			// the index is created outside of the map, a factory can use another index
+			index = new Index(factory.apply(configuration, valuesRulesManager), valuesRulesManager);
+			indexes.indexes.put(type, index);
+		}
+		return type.cast(index.value);
+	}
+
+	/**
+	 * Invalidate the indexes of the given configuration metadata. This method must
+	 * be called when the properties list is updated.
+	 *
+	 * @param configuration the configuration metadata.
+	 */
+	public static void invalidate(ConfigurationMetadata configuration) {
+		INDEXES.remove(configuration);
+	}
+
+	private boolean isIndexesOf(ConfigurationMetadata configuration) {
+		List<ItemMetadata> otherProperties = configuration.getProperties();
+		List<ItemHint> otherHints = configuration.getHints();
+		return properties == otherProperties
+				&& propertiesSize == (otherProperties != null ? otherProperties.size() : 0) && hints == otherHints
+				&& hintsSize == (otherHints != null ? otherHints.size() : 0);
+	}
+}
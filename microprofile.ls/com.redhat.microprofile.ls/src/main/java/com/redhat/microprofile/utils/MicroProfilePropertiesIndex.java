@@ -0,0 +1,584 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import com.redhat.microprofile.commons.metadata.ConfigurationMetadata;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.settings.MicroProfileValidationTypeSettings;
+
+/**
+ * Immutable index of the properties of a {@link ConfigurationMetadata} used to
+ * retrieve the {@link ItemMetadata} of a property name without scanning all
+ * properties:
+ *
+ * <ul>
+ * <li>a hash map of the names (ex : 'quarkus.http.port',
+ * 'quarkus.log.category.{*}.level') used for the exact names.</li>
+ * <li>a trie of dot segments for the mapped names (ex :
+ * 'quarkus.log.category.{*}.level') where a '{*}' segment is a wildcard
+ * node.</li>
+ * <li>a prefix tree of all names, built on demand, used to collect the
+ * properties which start with a typed key prefix.</li>
+ * <li>a tree of the dot segments of all names with the number of properties of
+ * each subtree, built on demand, used to complete the next segment of a typed
+ * key.</li>
+ * <li>the list of the required properties, and the list of the required
+ * properties which are not excluded by the 'required' validation settings,
+ * computed once per version of the settings.</li>
+ * </ul>
+ *
+ * <p>
+ * When several properties match a property name, the first property in the
+ * list of the configuration metadata wins, like a linear scan.
+ * </p>
+ *
+ */
+public class MicroProfilePropertiesIndex {
+
+	private static final String MAPPED_SEGMENT = "{*}";
+
+	private static class Node {
+
+		private Map<String, Node> children;
+
+		private Node wildcard;
+
+		private List<Integer> indexes;
+
+		private Node getOrCreateChild(String segment) {
+			if (MAPPED_SEGMENT.equals(segment)) {
+				if (wildcard == null) {
+					wildcard = new Node();
+				}
+				return wildcard;
+			}
+			if (children == null) {
+				children = new HashMap<>();
+			}
+			return children.computeIfAbsent(segment, k -> new Node());
+		}
+
+		private void addIndex(int index) {
+			if (indexes == null) {
+				indexes = new ArrayList<>(1);
+			}
+			indexes.add(index);
+		}
+	}
+
+	private static class PrefixNode {
+
+		private Map<Character, PrefixNode> children;
+
+		private PrefixNode wildcard;
+
+		private List<ItemMetadata> properties;
+
+		private PrefixNode getOrCreateChild(char c) {
+			if (children == null) {
+				children = new TreeMap<>();
+			}
+			return children.computeIfAbsent(c, k -> new PrefixNode());
+		}
+
+		private PrefixNode getOrCreateWildcard() {
+			if (wildcard == null) {
+				wildcard = new PrefixNode();
+			}
+			return wildcard;
+		}
+
+		private void addProperty(ItemMetadata property) {
+			if (properties == null) {
+				properties = new ArrayList<>(1);
+			}
+			properties.add(property);
+		}
+	}
+
+	/**
+	 * A dot segment of the property names.
+	 */
+	public static class Segment {
+
+		private final String name;
+
+		private int count;
+
+		private Map<String, Segment> children;
+
+		private List<ItemMetadata> properties;
+
+		private Segment(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Returns the segment name (ex : 'http').
+		 * 
+		 * @return the segment name (ex : 'http').
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Returns true if this segment is a mapped segment (ex : '{*}' in
+		 * 'quarkus.log.category.{*}.level') and false otherwise.
+		 * 
+		 * @return true if this segment is a mapped segment and false otherwise.
+		 */
+		public boolean isMapped() {
+			return name.contains(MAPPED_SEGMENT);
+		}
+
+		/**
+		 * Returns the number of properties which start with this segment.
+		 * 
+		 * @return the number of properties which start with this segment.
+		 */
+		public int getCount() {
+			return count;
+		}
+
+		/**
+		 * Returns the next segments in the alphabetical order.
+		 * 
+		 * @return the next segments in the alphabetical order.
+		 */
+		public Collection<Segment> getChildren() {
+			return children != null ? children.values() : Collections.emptyList();
+		}
+
+		/**
+		 * Returns the properties which end with this segment.
+		 * 
+		 * @return the properties which end with this segment.
+		 */
+		public List<ItemMetadata> getProperties() {
+			return properties != null ? properties : Collections.emptyList();
+		}
+
+		/**
+		 * Returns the property which starts with this segment when the count is 1 and
+		 * null otherwise.
+		 * 
+		 * @return the property which starts with this segment when the count is 1 and
+		 *         null otherwise.
+		 */
+		public ItemMetadata getSingleProperty() {
+			if (count != 1) {
+				return null;
+			}
+			Segment segment = this;
+			while (segment.properties == null) {
+				segment = segment.children.values().iterator().next();
+			}
+			return segment.properties.get(0);
+		}
+	}
+
+	private final ItemMetadata[] properties;
+
+	private final Map<String, Integer> names;
+
+	private final Node mappedNames;
+
+	private final List<Integer> otherMappedNames;
+
+	private volatile PrefixNode prefixTree;
+
+	private volatile Segment segmentTree;
+
+	private final List<ItemMetadata> requiredProperties;
+
+	/**
+	 * The required properties which are not excluded by a version of the
+	 * 'required' validation settings.
+	 */
+	private static class ValidatedRequiredProperties {
+
+		private final MicroProfileValidationTypeSettings settings;
+
+		private final int settingsVersion;
+
+		private final List<ItemMetadata> properties;
+
+		private ValidatedRequiredProperties(MicroProfileValidationTypeSettings settings, int settingsVersion,
+				List<ItemMetadata> properties) {
+			this.settings = settings;
+			this.settingsVersion = settingsVersion;
+			this.properties = properties;
+		}
+	}
+
+	private volatile ValidatedRequiredProperties validatedRequiredProperties;
+
+	private MicroProfilePropertiesIndex(List<ItemMetadata> source) {
+		this.properties = source != null ? source.toArray(new ItemMetadata[0]) : new ItemMetadata[0];
+		this.names = new HashMap<>(properties.length);
+		this.mappedNames = new Node();
+		this.otherMappedNames = new ArrayList<>();
+		List<ItemMetadata> requiredProperties = new ArrayList<>();
+		for (int i = 0; i < properties.length; i++) {
+			ItemMetadata property = properties[i];
+			String name = property != null ? property.getName() : null;
+			if (name == null || name.isEmpty()) {
+				continue;
+			}
+			if (property.isRequired()) {
+				requiredProperties.add(property);
+			}
+			names.putIfAbsent(name, i);
+			if (MicroProfilePropertiesUtils.isMappedProperty(name) && !addMappedName(name, i)) {
+				// '{*}' is not a whole segment (ex : 'foo.bar{*}'), the name is matched with
+				// a scan
+				otherMappedNames.add(i);
+			}
+		}
+		this.requiredProperties = Collections.unmodifiableList(requiredProperties);
+	}
+
+	private boolean addMappedName(String name, int index) {
+		String[] segments = name.split("\\.", -1);
+		for (String segment : segments) {
+			if (!MAPPED_SEGMENT.equals(segment) && segment.contains(MAPPED_SEGMENT)) {
+				return false;
+			}
+		}
+		Node node = mappedNames;
+		for (String segment : segments) {
+			node = node.getOrCreateChild(segment);
+		}
+		node.addIndex(index);
+		return true;
+	}
+
+	/**
+	 * Returns the index of the properties of the given configuration metadata.
+	 *
+	 * <p>
+	 * The index is built once and is rebuilt only if the properties list instance
+	 * or its size changed (see {@link ConfigurationMetadataIndexes}) or if
+	 * {@link #invalidate(ConfigurationMetadata)} was called.
+	 * </p>
+	 *
+	 * @param configuration the configuration metadata.
+	 * @return the index of the properties of the given configuration metadata.
+	 */
+	public static MicroProfilePropertiesIndex getIndex(ConfigurationMetadata configuration) {
+		return ConfigurationMetadataIndexes.getIndex(configuration, MicroProfilePropertiesIndex.class,
+				c -> new MicroProfilePropertiesIndex(c.getProperties()));
+	}
+
+	/**
+	 * Invalidate the index of the given configuration metadata. This method must be
+	 * called when the properties list is updated.
+	 *
+	 * @param configuration the configuration metadata.
+	 */
+	public static void invalidate(ConfigurationMetadata configuration) {
+		ConfigurationMetadataIndexes.invalidate(configuration);
+	}
+
+	/**
+	 * Returns the property with the given name (ex :
+	 * 'quarkus.log.category.{*}.level') and null otherwise.
+	 *
+	 * @param name the property name.
+	 * @return the property with the given name and null otherwise.
+	 */
+	public ItemMetadata getPropertyByName(String name) {
+		Integer index = name != null ? names.get(name) : null;
+		return index != null ? properties[index] : null;
+	}
+
+	/**
+	 * Returns the property which matches the given property name and null
+	 * otherwise.
+	 *
+	 * @param propertyName the property name (ex : 'quarkus.log.category."org".level')
+	 * @return the property which matches the given property name and null
+	 *         otherwise.
+	 */
+	public ItemMetadata getProperty(String propertyName) {
+		if (propertyName == null || propertyName.isEmpty()) {
+			return null;
+		}
+		Integer exact = names.get(propertyName);
+		int best = exact != null ? exact : Integer.MAX_VALUE;
+		if (mappedNames.children != null || mappedNames.wildcard != null) {
+			List<Integer> candidates = new ArrayList<>();
+			collectMappedNames(mappedNames, getSegments(propertyName), 0, candidates);
+			for (Integer candidate : candidates) {
+				if (candidate < best && MicroProfilePropertiesUtils.match(propertyName, properties[candidate].getName())) {
+					best = candidate;
+				}
+			}
+		}
+		for (Integer candidate : otherMappedNames) {
+			if (candidate >= best) {
+				break;
+			}
+			if (MicroProfilePropertiesUtils.match(propertyName, properties[candidate].getName())) {
+				best = candidate;
+			}
+		}
+		return best != Integer.MAX_VALUE ? properties[best] : null;
+	}
+
+	/**
+	 * Visit the properties which start with the given prefix in the alphabetical
+	 * order of their names until the given visitor returns false.
+	 *
+	 * <p>
+	 * A '{*}' in a property name matches any key in the prefix (ex : the prefix
+	 * 'quarkus.log.category."org.acme".l' visits
+	 * 'quarkus.log.category.{*}.level').
+	 * </p>
+	 *
+	 * @param prefix  the property name prefix.
+	 * @param visitor the visitor which returns false to stop the visit.
+	 */
+	public void visitPropertiesStartingWith(String prefix, Predicate<ItemMetadata> visitor) {
+		visitPropertiesStartingWith(getPrefixTree(), prefix != null ? prefix : "", 0, visitor);
+	}
+
+	private PrefixNode getPrefixTree() {
+		PrefixNode root = prefixTree;
+		if (root == null) {
+			root = new PrefixNode();
+			for (ItemMetadata property : properties) {
+				String name = property != null ? property.getName() : null;
+				if (name == null || name.isEmpty()) {
+					continue;
+				}
+				PrefixNode node = root;
+				for (int i = 0; i < name.length(); i++) {
+					if (name.startsWith(MAPPED_SEGMENT, i)) {
+						node = node.getOrCreateWildcard();
+						i += MAPPED_SEGMENT.length() - 1;
+					} else {
+						node = node.getOrCreateChild(name.charAt(i));
+					}
+				}
+				node.addProperty(property);
+			}
+			prefixTree = root;
+		}
+		return root;
+	}
+
+	/**
+	 * Returns the segment of the given path and null otherwise.
+	 *
+	 * @param path the dot segments of the path (ex : 'quarkus.http') and the empty
+	 *             string for the root segment.
+	 * @return the segment of the given path and null otherwise.
+	 */
+	public Segment getSegment(String path) {
+		Segment segment = getSegmentTree();
+		if (path == null || path.isEmpty()) {
+			return segment;
+		}
+		for (String name : path.split("\\.", -1)) {
+			segment = segment.children != null ? segment.children.get(name) : null;
+			if (segment == null) {
+				return null;
+			}
+		}
+		return segment;
+	}
+
+	/**
+	 * Returns the required properties.
+	 *
+	 * @return the required properties.
+	 */
+	public List<ItemMetadata> getRequiredProperties() {
+		return requiredProperties;
+	}
+
+	/**
+	 * Returns the required properties which are not excluded by the given
+	 * 'required' validation settings. The list is computed once per version of
+	 * the settings.
+	 *
+	 * @param settings the 'required' validation settings.
+	 * @return the required properties which are not excluded by the given
+	 *         'required' validation settings.
+	 */
+	public List<ItemMetadata> getRequiredProperties(MicroProfileValidationTypeSettings settings) {
+		ValidatedRequiredProperties validated = validatedRequiredProperties;
+		int settingsVersion = settings.getVersion();
+		if (validated == null || validated.settings != settings || validated.settingsVersion != settingsVersion) {
+			List<ItemMetadata> properties = new ArrayList<>();
+			if (settings.getDiagnosticSeverity() != null) {
+				for (ItemMetadata property : requiredProperties) {
+					if (settings.getDiagnosticSeverity(property.getName()) != null) {
+						properties.add(property);
+					}
+				}
+			}
+			validated = new ValidatedRequiredProperties(settings, settingsVersion,
+					Collections.unmodifiableList(properties));
+			validatedRequiredProperties = validated;
+		}
+		return validated.properties;
+	}
+
+	private Segment getSegmentTree() {
+		Segment root = segmentTree;
+		if (root == null) {
+			root = new Segment("");
+			for (ItemMetadata property : properties) {
+				String name = property != null ? property.getName() : null;
+				if (name == null || name.isEmpty()) {
+					continue;
+				}
+				Segment segment = root;
+				segment.count++;
+				for (String segmentName : name.split("\\.", -1)) {
+					if (segment.children == null) {
+						segment.children = new TreeMap<>();
+					}
+					segment = segment.children.computeIfAbsent(segmentName, Segment::new);
+					segment.count++;
+				}
+				if (segment.properties == null) {
+					segment.properties = new ArrayList<>(1);
+				}
+				segment.properties.add(property);
+			}
+			segmentTree = root;
+		}
+		return root;
+	}
+
+	private static boolean visitPropertiesStartingWith(PrefixNode node, String prefix, int index,
+			Predicate<ItemMetadata> visitor) {
+		if (index >= prefix.length()) {
+			return visitAll(node, visitor);
+		}
+		if (node.children != null) {
+			PrefixNode child = node.children.get(prefix.charAt(index));
+			if (child != null && !visitPropertiesStartingWith(child, prefix, index + 1, visitor)) {
+				return false;
+			}
+		}
+		if (node.wildcard != null) {
+			// the key of the '{*}' is consumed until the end of the segment
+			int end = getSegmentEnd(prefix, index);
+			return visitPropertiesStartingWith(node.wildcard, prefix, end, visitor);
+		}
+		return true;
+	}
+
+	private static boolean visitAll(PrefixNode node, Predicate<ItemMetadata> visitor) {
+		if (node.properties != null) {
+			for (ItemMetadata property : node.properties) {
+				if (!visitor.test(property)) {
+					return false;
+				}
+			}
+		}
+		if (node.children != null) {
+			for (PrefixNode child : node.children.values()) {
+				if (!visitAll(child, visitor)) {
+					return false;
+				}
+			}
+		}
+		if (node.wildcard != null) {
+			return visitAll(node.wildcard, visitor);
+		}
+		return true;
+	}
+
+	private static void collectMappedNames(Node node, List<String> segments, int segmentIndex,
+			List<Integer> candidates) {
+		if (segmentIndex == segments.size()) {
+			if (node.indexes != null) {
+				candidates.addAll(node.indexes);
+			}
+			return;
+		}
+		String segment = segments.get(segmentIndex);
+		if (node.children != null) {
+			Node child = node.children.get(segment);
+			if (child != null) {
+				collectMappedNames(child, segments, segmentIndex + 1, candidates);
+			}
+		}
+		if (node.wildcard != null && !segment.isEmpty()) {
+			collectMappedNames(node.wildcard, segments, segmentIndex + 1, candidates);
+		}
+	}
+
+	/**
+	 * Returns the segments of the given property name by following the rules used
+	 * to match a '{*}' segment: a segment can be quoted (ex : "com.acme") and a dot
+	 * can be escaped.
+	 *
+	 * @param propertyName the property name.
+	 * @return the segments of the given property name.
+	 */
+	private static List<String> getSegments(String propertyName) {
+		List<String> segments = new ArrayList<>();
+		int length = propertyName.length();
+		int start = 0;
+		while (start < length) {
+			int end = getSegmentEnd(propertyName, start);
+			segments.add(propertyName.substring(start, end));
+			if (end == length - 1) {
+				// property name ends with '.'
+				segments.add("");
+			}
+			start = end + 1;
+		}
+		return segments;
+	}
+
+	/**
+	 * Returns the offset of the dot which ends the segment which starts at the
+	 * given offset and the length of the property name if the segment is the last
+	 * segment.
+	 *
+	 * @param propertyName the property name.
+	 * @param start        the start offset of the segment.
+	 * @return the offset of the dot which ends the segment.
+	 */
+	private static int getSegmentEnd(String propertyName, int start) {
+		int length = propertyName.length();
+		int end = start + 1;
+		if (propertyName.charAt(start) == '"') {
+			int quote = propertyName.indexOf('"', start + 1);
+			end = quote != -1 ? quote + 1 : length;
+		}
+		while (end < length && !isSegmentSeparator(propertyName, end)) {
+			end++;
+		}
+		return end;
+	}
+
+	private static boolean isSegmentSeparator(String propertyName, int index) {
+		return propertyName.charAt(index) == '.' && propertyName.charAt(index - 1) != '\\'
+				&& (index < 2 || propertyName.charAt(index - 2) != '\\');
+	}
+}
@@ -14,13 +14,11 @@ import java.util.function.BiConsumer;
 
 import com.redhat.microprofile.commons.MicroProfileProjectInfo;
 import com.redhat.microprofile.commons.metadata.ConfigurationMetadata;
-import com.redhat.microprofile.commons.metadata.ItemHint;
 import com.redhat.microprofile.commons.metadata.ItemHint.ValueHint;
 import com.redhat.microprofile.commons.metadata.ItemMetadata;
 import com.redhat.microprofile.ls.commons.SnippetsBuilder;
 import com.redhat.microprofile.model.PropertiesModel;
 import com.redhat.microprofile.model.values.ValuesRulesManager;
-import com.redhat.microprofile.services.QuarkusModel;
 
 /**
  * Quarkus project information utilities.
@@ -81,17 +79,8 @@ public class MicroProfilePropertiesUtils {
 	 */
 	public static Collection<ValueHint> getEnums(ItemMetadata property, ConfigurationMetadata configuration,
 			PropertiesModel model, ValuesRulesManager valuesRulesManager) {
-		ItemHint hint = configuration.getHint(property);
-		if (hint != null) {
-			return hint.getValues();
-		}
-		if (property.isBooleanType()) {
-			return QuarkusModel.BOOLEAN_ENUMS.getValues();
-		}
-		if (valuesRulesManager != null) {
-			return valuesRulesManager.getValues(property, model);
-		}
-		return null;
+		return MicroProfilePropertyValuesIndex.getIndex(configuration, valuesRulesManager)
+				.getValues(property, configuration).getEnums();
 	}
 
 	/**
@@ -103,17 +92,10 @@ public class MicroProfilePropertiesUtils {
 	 * @return the Quarkus property from the given property name and null otherwise.
 	 */
 	public static ItemMetadata getProperty(String propertyName, MicroProfileProjectInfo info) {
-		Collection<ItemMetadata> properties = info.getProperties();
 		if (propertyName == null || propertyName.isEmpty()) {
 			return null;
 		}
-
-		for (ItemMetadata property : properties) {
-			if (property != null && match(propertyName, property.getName())) {
-				return property;
-			}
-		}
-		return null;
+		return MicroProfilePropertiesIndex.getIndex(info).getProperty(propertyName);
 	}
 
 	/**
@@ -133,7 +115,7 @@ public class MicroProfilePropertiesUtils {
 	 * @return true if the given property name matches the given pattern and false
 	 *         otherwise.
 	 */
-	private static boolean match(String propertyName, String pattern) {
+	static boolean match(String propertyName, String pattern) {
 		int i2 = 0;
 		int len = Math.max(propertyName.length(), pattern.length());
 		for (int i1 = 0; i1 < len; i1++) {
@@ -170,7 +152,9 @@ public class MicroProfilePropertiesUtils {
 				i2++;
 			}
 		}
-		return true;
+		// the property name must be fully consumed (ex : 'quarkus.a.b' must not match
+		// 'quarkus.{*}')
+		return i2 >= propertyName.length();
 	}
 
 	private static char getCharAt(String text, int index) {
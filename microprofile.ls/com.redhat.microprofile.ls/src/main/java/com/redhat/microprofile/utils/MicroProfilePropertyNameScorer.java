@@ -0,0 +1,206 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.utils;
+
+/**
+ * Fuzzy scorer of a property name (ex : 'quarkus.http.cors') against a typed
+ * key (ex : 'q.h.co', 'qhc', 'qkshttpcors').
+ *
+ * <p>
+ * The score is the best of the following kinds of match (from the best to the
+ * worst):
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #PREFIX_SCORE}: the property name starts with the typed
+ * key.</li>
+ * <li>dot-segment: each dot segment of the typed key is the prefix of a dot
+ * segment of the property name, in the same order (ex : 'q.h.co' matches
+ * 'quarkus.http.cors').</li>
+ * <li>camel-hump: each character of the typed key (ignoring the dots) is the
+ * start of a word of the property name ('.', '-', '_' or an upper case
+ * character start a word, ex : 'qhc' matches 'quarkus.http.cors').</li>
+ * <li>subsequence: the characters of the typed key appear in the property name
+ * in the same order, the first one starting a word.</li>
+ * </ul>
+ *
+ * <p>
+ * Inside a kind of match, the score decreases with the number of skipped
+ * segments, words or characters. The comparison is case insensitive.
+ * </p>
+ *
+ */
+public class MicroProfilePropertyNameScorer {
+
+	/**
+	 * The score of a property name which starts with the typed key.
+	 */
+	public static final int PREFIX_SCORE = 4000;
+
+	private static final int SEGMENT_SCORE = 3000;
+
+	private static final int CAMEL_HUMP_SCORE = 2000;
+
+	private static final int SUBSEQUENCE_SCORE = 1000;
+
+	/**
+	 * The score of a property name which doesn't match the typed key.
+	 */
+	public static final int NO_MATCH = -1;
+
+	private MicroProfilePropertyNameScorer() {
+	}
+
+	/**
+	 * Returns the score of the given property name for the given typed key and
+	 * {@link #NO_MATCH} if the property name doesn't match.
+	 *
+	 * @param pattern the typed key.
+	 * @param name    the property name.
+	 * @return the score of the given property name for the given typed key and
+	 *         {@link #NO_MATCH} if the property name doesn't match.
+	 */
+	public static int score(String pattern, String name) {
+		int patternLength = pattern.length();
+		if (patternLength == 0) {
+			return PREFIX_SCORE;
+		}
+		int nameLength = name.length();
+		// cheap rejection: the typed key is longer than the name or its first
+		// character doesn't start a word of the name
+		if (patternLength > nameLength || indexOfWordStart(pattern.charAt(0), name, 0) == -1) {
+			return NO_MATCH;
+		}
+		if (name.regionMatches(true, 0, pattern, 0, patternLength)) {
+			return PREFIX_SCORE;
+		}
+		int skipped = matchSegments(pattern, name);
+		if (skipped >= 0) {
+			return Math.max(SEGMENT_SCORE - skipped, CAMEL_HUMP_SCORE + 1);
+		}
+		skipped = matchCamelHumps(pattern, name);
+		if (skipped >= 0) {
+			return Math.max(CAMEL_HUMP_SCORE - skipped, SUBSEQUENCE_SCORE + 1);
+		}
+		skipped = matchSubsequence(pattern, name);
+		if (skipped >= 0) {
+			return Math.max(SUBSEQUENCE_SCORE - skipped, 1);
+		}
+		return NO_MATCH;
+	}
+
+	/**
+	 * Returns the number of skipped segments of the name when each segment of the
+	 * pattern is the prefix of a segment of the name and -1 otherwise.
+	 */
+	private static int matchSegments(String pattern, String name) {
+		int skipped = 0;
+		int patternStart = 0;
+		int nameStart = 0;
+		int patternLength = pattern.length();
+		int nameLength = name.length();
+		while (patternStart < patternLength) {
+			int patternEnd = pattern.indexOf('.', patternStart);
+			if (patternEnd == -1) {
+				patternEnd = patternLength;
+			}
+			int segmentLength = patternEnd - patternStart;
+			// search the first segment of the name which starts with the segment of the
+			// pattern
+			while (true) {
+				if (nameStart >= nameLength) {
+					return -1;
+				}
+				int nameEnd = name.indexOf('.', nameStart);
+				if (nameEnd == -1) {
+					nameEnd = nameLength;
+				}
+				boolean lastPatternSegment = patternEnd == patternLength;
+				if (segmentLength <= nameEnd - nameStart
+						&& name.regionMatches(true, nameStart, pattern, patternStart, segmentLength)
+						&& (lastPatternSegment || nameEnd < nameLength)) {
+					nameStart = nameEnd + 1;
+					break;
+				}
+				skipped++;
+				nameStart = nameEnd + 1;
+			}
+			patternStart = patternEnd + 1;
+		}
+		return skipped;
+	}
+
+	/**
+	 * Returns the number of skipped words of the name when each character of the
+	 * pattern (ignoring the dots) starts a word of the name and -1 otherwise.
+	 */
+	private static int matchCamelHumps(String pattern, String name) {
+		int skipped = 0;
+		int nameIndex = 0;
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c == '.') {
+				continue;
+			}
+			int index = indexOfWordStart(c, name, nameIndex);
+			if (index == -1) {
+				return -1;
+			}
+			for (int j = nameIndex; j < index; j++) {
+				if (isWordStart(name, j)) {
+					skipped++;
+				}
+			}
+			nameIndex = index + 1;
+		}
+		return skipped;
+	}
+
+	/**
+	 * Returns the number of skipped characters of the name when the characters of
+	 * the pattern appear in the name in the same order, the first one starting a
+	 * word, and -1 otherwise.
+	 */
+	private static int matchSubsequence(String pattern, String name) {
+		int nameIndex = indexOfWordStart(pattern.charAt(0), name, 0);
+		int start = nameIndex;
+		nameIndex++;
+		for (int i = 1; i < pattern.length(); i++) {
+			char c = Character.toLowerCase(pattern.charAt(i));
+			while (nameIndex < name.length() && Character.toLowerCase(name.charAt(nameIndex)) != c) {
+				nameIndex++;
+			}
+			if (nameIndex == name.length()) {
+				return -1;
+			}
+			nameIndex++;
+		}
+		return nameIndex - start - pattern.length();
+	}
+
+	private static int indexOfWordStart(char c, String name, int from) {
+		c = Character.toLowerCase(c);
+		for (int i = from; i < name.length(); i++) {
+			if (Character.toLowerCase(name.charAt(i)) == c && isWordStart(name, i)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean isWordStart(String name, int index) {
+		if (index == 0) {
+			return true;
+		}
+		char previous = name.charAt(index - 1);
+		return previous == '.' || previous == '-' || previous == '_' || previous == '"'
+				|| Character.isUpperCase(name.charAt(index));
+	}
+}
@@ -0,0 +1,156 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.utils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import com.redhat.microprofile.commons.metadata.ConfigurationMetadata;
+import com.redhat.microprofile.commons.metadata.ItemHint;
+import com.redhat.microprofile.commons.metadata.ItemHint.ValueHint;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.model.values.ValuesRule;
+import com.redhat.microprofile.model.values.ValuesRulesManager;
+import com.redhat.microprofile.services.QuarkusModel;
+
+/**
+ * Index of the allowed values of the properties of a
+ * {@link ConfigurationMetadata}, which resolves once the hint (found with the
+ * property name or type) and the values rule of a property.
+ *
+ * <p>
+ * The index is kept while the properties and hints lists instance and size of
+ * the configuration metadata, and the rules of the values rules manager don't
+ * change (see {@link ConfigurationMetadataIndexes}). The values
+ * rules are resolved without the properties model because the property matcher
+ * doesn't use it.
+ * </p>
+ *
+ */
+public class MicroProfilePropertyValuesIndex {
+
+	/**
+	 * The allowed values of a property.
+	 */
+	public static class PropertyValues {
+
+		private static final PropertyValues NO_VALUES = new PropertyValues(null, false, null);
+
+		private final ItemHint hint;
+
+		private final boolean booleanType;
+
+		private final ValuesRule rule;
+
+		private PropertyValues(ItemHint hint, boolean booleanType, ValuesRule rule) {
+			this.hint = hint;
+			this.booleanType = booleanType;
+			this.rule = rule;
+		}
+
+		/**
+		 * Returns the enumeration values of the property (the hint values, the
+		 * boolean values or the values rule values) and null otherwise.
+		 * 
+		 * @return the enumeration values of the property and null otherwise.
+		 */
+		public Collection<ValueHint> getEnums() {
+			if (hint != null) {
+				return hint.getValues();
+			}
+			if (booleanType) {
+				return QuarkusModel.BOOLEAN_ENUMS.getValues();
+			}
+			return rule != null ? rule.getValues() : null;
+		}
+
+		/**
+		 * Returns the value hint of the given value (searched in the hint and then in
+		 * the values rule) and null otherwise.
+		 * 
+		 * @param value the property value.
+		 * @return the value hint of the given value and null otherwise.
+		 */
+		public ValueHint getValue(String value) {
+			if (hint != null) {
+				ValueHint valueHint = hint.getValue(value);
+				if (valueHint != null) {
+					return valueHint;
+				}
+			}
+			return rule != null ? rule.getValue(value) : null;
+		}
+
+		/**
+		 * Returns true if the given value is allowed by the hint and the values rule
+		 * of the property and false otherwise.
+		 * 
+		 * @param value the property value.
+		 * @return true if the given value is allowed by the hint and the values rule
+		 *         of the property and false otherwise.
+		 */
+		public boolean isValidEnum(String value) {
+			if (hint != null && hint.getValue(value) == null) {
+				return false;
+			}
+			return rule == null || rule.getValues() == null || rule.getValue(value) != null;
+		}
+	}
+
+	private final ValuesRulesManager valuesRulesManager;
+
+	// ItemMetadata#hashCode is computed with all fields, use the identity
+	private final Map<ItemMetadata, PropertyValues> values = Collections.synchronizedMap(new IdentityHashMap<>());
+
+	private MicroProfilePropertyValuesIndex(ValuesRulesManager valuesRulesManager) {
+		this.valuesRulesManager = valuesRulesManager;
+	}
+
+	/**
+	 * Returns the values index of the given configuration metadata.
+	 * 
+	 * @param configuration      the configuration metadata.
+	 * @param valuesRulesManager the values rules manager and null otherwise.
+	 * @return the values index of the given configuration metadata.
+	 */
+	public static MicroProfilePropertyValuesIndex getIndex(ConfigurationMetadata configuration,
+			ValuesRulesManager valuesRulesManager) {
+		return ConfigurationMetadataIndexes.getIndex(configuration, valuesRulesManager,
+				MicroProfilePropertyValuesIndex.class, (c, rules) -> new MicroProfilePropertyValuesIndex(rules));
+	}
+
+	/**
+	 * Returns the allowed values of the given property.
+	 * 
+	 * @param property      the property.
+	 * @param configuration the configuration metadata which hosts the property.
+	 * @return the allowed values of the given property.
+	 */
+	public PropertyValues getValues(ItemMetadata property, ConfigurationMetadata configuration) {
+		PropertyValues propertyValues = values.get(property);
+		if (propertyValues == null) {
+			propertyValues = createValues(property, configuration);
+			values.put(property, propertyValues);
+		}
+		return propertyValues;
+	}
+
+	private PropertyValues createValues(ItemMetadata property, ConfigurationMetadata configuration) {
+		ItemHint hint = configuration.getHint(property);
+		boolean booleanType = property.isBooleanType();
+		ValuesRule rule = valuesRulesManager != null ? valuesRulesManager.getRule(property, null) : null;
+		if (hint == null && !booleanType && rule == null) {
+			return PropertyValues.NO_VALUES;
+		}
+		return new PropertyValues(hint, booleanType, rule);
+	}
+}
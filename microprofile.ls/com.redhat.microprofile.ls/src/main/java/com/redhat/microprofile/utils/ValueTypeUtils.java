@@ -0,0 +1,225 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.utils;
+
+import com.redhat.microprofile.commons.metadata.ItemMetadata.TypeKind;
+
+/**
+ * Scanners which check if a property value is valid for a type kind without
+ * allocation.
+ *
+ * <p>
+ * Each scanner accepts exactly the strings accepted by the corresponding
+ * parse method (ex : {@link Integer#parseInt(String)},
+ * {@link Double#parseDouble(String)}) but doesn't throw (and fill the stack
+ * trace of) a {@link NumberFormatException} for an invalid value.
+ * </p>
+ *
+ */
+public class ValueTypeUtils {
+
+	private ValueTypeUtils() {
+	}
+
+	/**
+	 * Returns true if the given value is valid for the given type kind and false
+	 * otherwise.
+	 *
+	 * @param kind  the type kind.
+	 * @param value the value.
+	 * @return true if the given value is valid for the given type kind and false
+	 *         otherwise.
+	 */
+	public static boolean isValid(TypeKind kind, String value) {
+		switch (kind) {
+		case BOOLEAN:
+			return isBooleanString(value);
+		case INTEGER:
+			return isIntegerString(value);
+		case FLOAT:
+			return isFloatString(value);
+		case LONG:
+			return isLongString(value);
+		case DOUBLE:
+			return isDoubleString(value);
+		case SHORT:
+			return isShortString(value);
+		default:
+			return true;
+		}
+	}
+
+	public static boolean isBooleanString(String str) {
+		return "true".equals(str) || "false".equals(str);
+	}
+
+	public static boolean isShortString(String str) {
+		return isIntegralString(str, Short.MIN_VALUE, Short.MAX_VALUE);
+	}
+
+	public static boolean isIntegerString(String str) {
+		return isIntegralString(str, Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+	public static boolean isLongString(String str) {
+		return isIntegralString(str, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Returns true if the given string is a decimal integer between min and max,
+	 * like {@link Long#parseLong(String)}.
+	 */
+	private static boolean isIntegralString(String str, long min, long max) {
+		int length = str.length();
+		if (length == 0) {
+			return false;
+		}
+		int i = 0;
+		boolean negative = false;
+		char first = str.charAt(0);
+		if (first == '-' || first == '+') {
+			negative = first == '-';
+			i++;
+			if (length == 1) {
+				return false;
+			}
+		}
+		// accumulate negatively to reach Long.MIN_VALUE without overflow
+		long limit = negative ? min : -max;
+		long multmin = limit / 10;
+		long result = 0;
+		for (; i < length; i++) {
+			int digit = Character.digit(str.charAt(i), 10);
+			if (digit < 0 || result < multmin) {
+				return false;
+			}
+			result *= 10;
+			if (result < limit + digit) {
+				return false;
+			}
+			result -= digit;
+		}
+		return true;
+	}
+
+	public static boolean isFloatString(String str) {
+		// Float#parseFloat and Double#parseDouble accept the same strings (an
+		// overflow gives an infinity)
+		return isDoubleString(str);
+	}
+
+	/**
+	 * Returns true if the given string is a floating point number accepted by
+	 * {@link Double#parseDouble(String)} (decimal or hexadecimal, 'NaN',
+	 * 'Infinity', with an optional type suffix) and false otherwise.
+	 */
+	public static boolean isDoubleString(String str) {
+		// leading and trailing whitespaces are ignored like String#trim
+		int start = 0;
+		int end = str.length();
+		while (start < end && str.charAt(start) <= ' ') {
+			start++;
+		}
+		while (end > start && str.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		if (start == end) {
+			return false;
+		}
+		int i = start;
+		char c = str.charAt(i);
+		if (c == '+' || c == '-') {
+			i++;
+			if (i == end) {
+				return false;
+			}
+			c = str.charAt(i);
+		}
+		if (c == 'N') {
+			return str.regionMatches(i, "NaN", 0, 3) && i + 3 == end;
+		}
+		if (c == 'I') {
+			return str.regionMatches(i, "Infinity", 0, 8) && i + 8 == end;
+		}
+		if (c == '0' && i + 1 < end && (str.charAt(i + 1) == 'x' || str.charAt(i + 1) == 'X')) {
+			return isHexDoubleString(str, i + 2, end);
+		}
+		int digits = 0;
+		while (i < end && isDigit(str.charAt(i))) {
+			i++;
+			digits++;
+		}
+		if (i < end && str.charAt(i) == '.') {
+			i++;
+			while (i < end && isDigit(str.charAt(i))) {
+				i++;
+				digits++;
+			}
+		}
+		if (digits == 0) {
+			return false;
+		}
+		if (i < end && (str.charAt(i) == 'e' || str.charAt(i) == 'E')) {
+			i = skipExponent(str, i + 1, end);
+			if (i == -1) {
+				return false;
+			}
+		}
+		return isEndWithOptionalSuffix(str, i, end);
+	}
+
+	private static boolean isHexDoubleString(String str, int i, int end) {
+		int digits = 0;
+		while (i < end && Character.digit(str.charAt(i), 16) >= 0 && str.charAt(i) < 128) {
+			i++;
+			digits++;
+		}
+		if (i < end && str.charAt(i) == '.') {
+			i++;
+			while (i < end && Character.digit(str.charAt(i), 16) >= 0 && str.charAt(i) < 128) {
+				i++;
+				digits++;
+			}
+		}
+		// the binary exponent is mandatory
+		if (digits == 0 || i == end || (str.charAt(i) != 'p' && str.charAt(i) != 'P')) {
+			return false;
+		}
+		i = skipExponent(str, i + 1, end);
+		return i != -1 && isEndWithOptionalSuffix(str, i, end);
+	}
+
+	/**
+	 * Returns the index after the signed digits of an exponent starting at the
+	 * given index and -1 if there is no digit.
+	 */
+	private static int skipExponent(String str, int i, int end) {
+		if (i < end && (str.charAt(i) == '+' || str.charAt(i) == '-')) {
+			i++;
+		}
+		int start = i;
+		while (i < end && isDigit(str.charAt(i))) {
+			i++;
+		}
+		return i == start ? -1 : i;
+	}
+
+	private static boolean isEndWithOptionalSuffix(String str, int i, int end) {
+		if (i == end) {
+			return true;
+		}
+		char c = str.charAt(i);
+		return i + 1 == end && (c == 'f' || c == 'F' || c == 'd' || c == 'D');
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.services.MicroProfileAssert;
+import com.redhat.microprofile.settings.MicroProfileValidationTypeSettings;
+import com.redhat.microprofile.utils.AntPathMatcher;
+
+/**
+ * Benchmark of the excluded properties of a validation type with large
+ * exclusion lists (half exact names, half wildcard patterns) against all the
+ * properties of 'all-quarkus-properties.json': the compiled settings and a
+ * loop on the patterns with {@link AntPathMatcher}.
+ *
+ * <p>
+ * Run it with the main method from the test classpath.
+ * </p>
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExcludedPropertiesBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	public int excludedCount;
+
+	private List<ItemMetadata> properties;
+
+	private String[] excluded;
+
+	private MicroProfileValidationTypeSettings settings;
+
+	private AntPathMatcher antMatcher;
+
+	@Setup
+	public void setup() {
+		properties = MicroProfileAssert.getDefaultMicroProfileProjectInfo().getProperties();
+		excluded = new String[excludedCount];
+		for (int i = 0; i < excludedCount; i++) {
+			String name = properties.get((i * 31) % properties.size()).getName();
+			// exclude the exact name or the siblings of the property
+			excluded[i] = i % 2 == 0 ? name : name.substring(0, name.lastIndexOf('.') + 1) + "*" + (i % 10);
+		}
+		settings = new MicroProfileValidationTypeSettings();
+		settings.setSeverity("error");
+		settings.setExcluded(excluded);
+		antMatcher = new AntPathMatcher();
+		antMatcher.setCachePatterns(true);
+	}
+
+	@Benchmark
+	public void compiled(Blackhole blackhole) {
+		for (ItemMetadata property : properties) {
+			blackhole.consume(settings.getDiagnosticSeverity(property.getName()));
+		}
+	}
+
+	@Benchmark
+	public void antPathMatcher(Blackhole blackhole) {
+		for (ItemMetadata property : properties) {
+			blackhole.consume(isExcluded(property.getName()));
+		}
+	}
+
+	private boolean isExcluded(String propertyName) {
+		for (String pattern : excluded) {
+			if (antMatcher.isPattern(pattern) ? antMatcher.match(pattern, propertyName)
+					: pattern.equals(propertyName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ExcludedPropertiesBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4j.CompletionList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.ls.commons.BadLocationException;
+import com.redhat.microprofile.model.PropertiesModel;
+import com.redhat.microprofile.services.MicroProfileAssert;
+import com.redhat.microprofile.services.MicroProfileLanguageService;
+import com.redhat.microprofile.settings.MicroProfileCommandCapabilities;
+import com.redhat.microprofile.settings.MicroProfileCompletionSettings;
+import com.redhat.microprofile.settings.MicroProfileFormattingSettings;
+import com.redhat.microprofile.utils.MicroProfilePropertyNameScorer;
+
+/**
+ * Benchmark of the property key completion with the properties of
+ * 'all-quarkus-properties.json': the fuzzy scorer alone, and the completion
+ * with all the properties (maxItems = 0) or with the best properties (maxItems
+ * = 100).
+ *
+ * <p>
+ * Run it with the main method from the test classpath.
+ * </p>
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyKeyCompletionBenchmark {
+
+	@Param({ "", "quarkus.http.co", "q.h.cors", "qhcm", "qkshttpcors" })
+	public String key;
+
+	@Param({ "0", "100" })
+	public int maxItems;
+
+	private MicroProfileProjectInfo projectInfo;
+
+	private MicroProfileLanguageService languageService;
+
+	private MicroProfileCompletionSettings completionSettings;
+
+	private MicroProfileFormattingSettings formattingSettings;
+
+	private PropertiesModel model;
+
+	@Setup
+	public void setup() {
+		projectInfo = MicroProfileAssert.getDefaultMicroProfileProjectInfo();
+		languageService = new MicroProfileLanguageService();
+		completionSettings = new MicroProfileCompletionSettings();
+		completionSettings.setMaxItems(maxItems);
+		formattingSettings = new MicroProfileFormattingSettings();
+		model = PropertiesModel.parse(key, "application.properties");
+	}
+
+	@Benchmark
+	public void score(Blackhole blackhole) {
+		for (ItemMetadata property : projectInfo.getProperties()) {
+			blackhole.consume(MicroProfilePropertyNameScorer.score(key, property.getName()));
+		}
+	}
+
+	@Benchmark
+	public CompletionList complete() throws BadLocationException {
+		return languageService.doComplete(model, model.positionAt(key.length()), projectInfo, completionSettings,
+				formattingSettings, new MicroProfileCommandCapabilities(), () -> {
+				});
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(PropertyKeyCompletionBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.commons.metadata.ItemMetadata.TypeKind;
+import com.redhat.microprofile.model.PropertiesModel;
+import com.redhat.microprofile.services.MicroProfileAssert;
+import com.redhat.microprofile.services.MicroProfileLanguageService;
+import com.redhat.microprofile.settings.MicroProfileValidationSettings;
+import com.redhat.microprofile.utils.ValueTypeUtils;
+
+/**
+ * Benchmark of the value validation of an application.properties which
+ * declares all the boolean and numeric properties of
+ * 'all-quarkus-properties.json' with valid, invalid or placeholder values: the
+ * value scanners alone, the parse methods (which throw a
+ * {@link NumberFormatException} for an invalid value) and the validation of the
+ * file.
+ *
+ * <p>
+ * Run it with the main method from the test classpath.
+ * </p>
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyValueValidationBenchmark {
+
+	@Param({ "valid", "invalid", "placeholder" })
+	public String values;
+
+	private MicroProfileProjectInfo projectInfo;
+
+	private MicroProfileLanguageService languageService;
+
+	private MicroProfileValidationSettings validationSettings;
+
+	private PropertiesModel model;
+
+	private final List<TypeKind> kinds = new ArrayList<>();
+
+	private final List<String> propertyValues = new ArrayList<>();
+
+	@Setup
+	public void setup() {
+		projectInfo = MicroProfileAssert.getDefaultMicroProfileProjectInfo();
+		languageService = new MicroProfileLanguageService();
+		validationSettings = new MicroProfileValidationSettings();
+		StringBuilder text = new StringBuilder();
+		for (ItemMetadata property : projectInfo.getProperties()) {
+			TypeKind kind = property.getTypeKind();
+			if (kind == TypeKind.OTHER || property.getName().contains("{*}")) {
+				continue;
+			}
+			String value = getValue(kind);
+			kinds.add(kind);
+			propertyValues.add(value);
+			text.append(property.getName()).append('=').append(value).append('\n');
+		}
+		model = PropertiesModel.parse(text.toString(), "application.properties");
+	}
+
+	private String getValue(TypeKind kind) {
+		switch (values) {
+		case "invalid":
+			return "${port";
+		case "placeholder":
+			return "${quarkus.value}";
+		default:
+			return kind == TypeKind.BOOLEAN ? "true" : "12";
+		}
+	}
+
+	@Benchmark
+	public void scan(Blackhole blackhole) {
+		for (int i = 0; i < kinds.size(); i++) {
+			blackhole.consume(ValueTypeUtils.isValid(kinds.get(i), propertyValues.get(i)));
+		}
+	}
+
+	@Benchmark
+	public void parse(Blackhole blackhole) {
+		for (int i = 0; i < kinds.size(); i++) {
+			blackhole.consume(parse(kinds.get(i), propertyValues.get(i)));
+		}
+	}
+
+	@Benchmark
+	public List<Diagnostic> validate() {
+		return languageService.doDiagnostics(model, projectInfo, validationSettings, () -> {
+		});
+	}
+
+	private static boolean parse(TypeKind kind, String value) {
+		try {
+			switch (kind) {
+			case BOOLEAN:
+				return "true".equals(value) || "false".equals(value);
+			case INTEGER:
+				Integer.parseInt(value);
+				return true;
+			case FLOAT:
+				Float.parseFloat(value);
+				return true;
+			case LONG:
+				Long.parseLong(value);
+				return true;
+			case DOUBLE:
+				Double.parseDouble(value);
+				return true;
+			case SHORT:
+				Short.parseShort(value);
+				return true;
+			default:
+				return true;
+			}
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(PropertyValueValidationBenchmark.class.getSimpleName()).build())
+				.run();
+	}
+}
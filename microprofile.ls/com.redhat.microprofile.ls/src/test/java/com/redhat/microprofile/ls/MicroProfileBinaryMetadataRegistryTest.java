@@ -0,0 +1,80 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import static com.redhat.microprofile.ls.MicroProfileProjectInfoHelper.h;
+import static com.redhat.microprofile.ls.MicroProfileProjectInfoHelper.names;
+import static com.redhat.microprofile.ls.MicroProfileProjectInfoHelper.p;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.redhat.microprofile.ls.MicroProfileBinaryMetadataRegistry.BinaryMetadata;
+
+/**
+ * Test for {@link MicroProfileBinaryMetadataRegistry}.
+ *
+ */
+public class MicroProfileBinaryMetadataRegistryTest {
+
+	@Test
+	public void shareExtensions() {
+		MicroProfileBinaryMetadataRegistry registry = new MicroProfileBinaryMetadataRegistry();
+		BinaryMetadata project1 = registry.acquire(
+				Arrays.asList(p("quarkus.application.name", null, "quarkus-core"),
+						p("quarkus.application.version", null, "quarkus-core"),
+						p("quarkus.http.port", null, "quarkus-vertx-http")),
+				Arrays.asList(h("java.util.logging.Level")));
+		BinaryMetadata project2 = registry.acquire(
+				Arrays.asList(p("quarkus.application.name", null, "quarkus-core"),
+						p("quarkus.application.version", null, "quarkus-core"),
+						p("quarkus.datasource.url", null, "quarkus-agroal")),
+				Arrays.asList(h("java.util.logging.Level")));
+
+		// the properties and hints of quarkus-core are hosted once
+		Assert.assertSame(project1.getProperties().get(0), project2.getProperties().get(0));
+		Assert.assertSame(project1.getProperties().get(1), project2.getProperties().get(1));
+		Assert.assertSame(project1.getHints().get(0), project2.getHints().get(0));
+		Assert.assertEquals(Arrays.asList("quarkus.application.name", "quarkus.application.version",
+				"quarkus.datasource.url"), names(project2.getProperties()));
+		Assert.assertEquals(3, registry.getPropertyGroupCount());
+		Assert.assertEquals(1, registry.getHintGroupCount());
+
+		registry.release(project1);
+		Assert.assertEquals(2, registry.getPropertyGroupCount());
+		Assert.assertEquals(1, registry.getHintGroupCount());
+		// releasing twice has no effect
+		registry.release(project1);
+		Assert.assertEquals(2, registry.getPropertyGroupCount());
+
+		registry.release(project2);
+		Assert.assertEquals(0, registry.getPropertyGroupCount());
+		Assert.assertEquals(0, registry.getHintGroupCount());
+	}
+
+	@Test
+	public void extensionVersions() {
+		MicroProfileBinaryMetadataRegistry registry = new MicroProfileBinaryMetadataRegistry();
+		BinaryMetadata project1 = registry.acquire(Arrays.asList(p("quarkus.application.name", null, "quarkus-core")),
+				new ArrayList<>());
+		// another version of quarkus-core
+		BinaryMetadata project2 = registry.acquire(
+				Arrays.asList(p("quarkus.application.name", null, "quarkus-core"),
+						p("quarkus.application.version", null, "quarkus-core")),
+				new ArrayList<>());
+		Assert.assertNotSame(project1.getProperties().get(0), project2.getProperties().get(0));
+		Assert.assertEquals(2, registry.getPropertyGroupCount());
+	}
+
+
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for {@link MicroProfileDiagnosticsPublisher}.
+ *
+ */
+public class MicroProfileDiagnosticsPublisherTest {
+
+	private static final String URI = "application.properties";
+
+	@Test
+	public void suppressUnchangedDiagnostics() {
+		List<PublishDiagnosticsParams> notifications = new ArrayList<>();
+		MicroProfileDiagnosticsPublisher publisher = new MicroProfileDiagnosticsPublisher(notifications::add);
+
+		// no diagnostic for a new URI: the client has nothing to clear
+		Assert.assertFalse(publisher.publish(URI, Collections.emptyList()));
+
+		Assert.assertTrue(publisher.publish(URI, Arrays.asList(d(0, "Unknown property 'a'"))));
+		// same diagnostics computed by a new validation
+		Assert.assertFalse(publisher.publish(URI, Arrays.asList(d(0, "Unknown property 'a'"))));
+		// the range changed
+		Assert.assertTrue(publisher.publish(URI, Arrays.asList(d(1, "Unknown property 'a'"))));
+		// the message changed
+		Assert.assertTrue(publisher.publish(URI, Arrays.asList(d(1, "Unknown property 'b'"))));
+		// the severity changed
+		Diagnostic error = d(1, "Unknown property 'b'");
+		error.setSeverity(DiagnosticSeverity.Error);
+		Assert.assertTrue(publisher.publish(URI, Arrays.asList(error)));
+		// the diagnostics are cleared once
+		Assert.assertTrue(publisher.publish(URI, Collections.emptyList()));
+		Assert.assertFalse(publisher.publish(URI, Collections.emptyList()));
+
+		// another URI
+		Assert.assertTrue(publisher.publish("other.properties", Arrays.asList(d(0, "Unknown property 'a'"))));
+
+		Assert.assertEquals(6, notifications.size());
+		Assert.assertEquals(6, publisher.getPublishedCount());
+		Assert.assertEquals(3, publisher.getSuppressedCount());
+	}
+
+	@Test
+	public void publishWhileSending() throws Exception {
+		List<PublishDiagnosticsParams> notifications = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		MicroProfileDiagnosticsPublisher publisher = new MicroProfileDiagnosticsPublisher(params -> {
+			if (notifications.isEmpty()) {
+				// the client is slow to receive the first notification
+				sending.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			notifications.add(params);
+		});
+		Thread first = new Thread(() -> publisher.publish(URI, Arrays.asList(d(0, "Unknown property 'a'"))));
+		first.start();
+		Assert.assertTrue(sending.await(10, TimeUnit.SECONDS));
+
+		// the diagnostics of the URI are decided while the first notification is sent
+		Thread second = new Thread(() -> publisher.publish(URI, Arrays.asList(d(1, "Unknown property 'a'"))));
+		second.start();
+		// the diagnostics of another URI are not blocked by the client
+		Assert.assertFalse(publisher.publish("other.properties", Collections.emptyList()));
+		release.countDown();
+		first.join(10000);
+		second.join(10000);
+
+		// the client receives the last diagnostics of the URI
+		Assert.assertEquals(2, notifications.size());
+		Assert.assertEquals(d(1, "Unknown property 'a'"), notifications.get(1).getDiagnostics().get(0));
+		Assert.assertFalse(publisher.publish(URI, Arrays.asList(d(1, "Unknown property 'a'"))));
+	}
+
+	@Test
+	public void publishFromClient() {
+		List<PublishDiagnosticsParams> notifications = new ArrayList<>();
+		MicroProfileDiagnosticsPublisher[] publisher = new MicroProfileDiagnosticsPublisher[1];
+		publisher[0] = new MicroProfileDiagnosticsPublisher(params -> {
+			notifications.add(params);
+			if (URI.equals(params.getUri())) {
+				// the client publishes the diagnostics of another URI when it receives a
+				// notification
+				publisher[0].publish("other.properties", Arrays.asList(d(0, "Unknown property 'a'")));
+			}
+		});
+		Assert.assertTrue(publisher[0].publish(URI, Arrays.asList(d(0, "Unknown property 'a'"))));
+		Assert.assertEquals(2, notifications.size());
+	}
+
+	private static Diagnostic d(int line, String message) {
+		return new Diagnostic(new Range(new Position(line, 0), new Position(line, 5)), message,
+				DiagnosticSeverity.Warning, "microprofile", "unknown");
+	}
+}
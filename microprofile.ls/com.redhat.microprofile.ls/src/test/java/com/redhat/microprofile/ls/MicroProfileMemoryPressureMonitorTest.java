@@ -0,0 +1,44 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for {@link MicroProfileMemoryPressureMonitor}.
+ *
+ */
+public class MicroProfileMemoryPressureMonitorTest {
+
+	@Test
+	public void resetThresholdsOnStop() {
+		List<Long> before = getCollectionUsageThresholds();
+		MicroProfileMemoryPressureMonitor monitor = new MicroProfileMemoryPressureMonitor(() -> {
+		});
+		monitor.start();
+		monitor.stop();
+		// the JVM-wide thresholds are restored
+		Assert.assertEquals(before, getCollectionUsageThresholds());
+	}
+
+	private static List<Long> getCollectionUsageThresholds() {
+		List<Long> thresholds = new ArrayList<>();
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			thresholds.add(pool.isCollectionUsageThresholdSupported() ? pool.getCollectionUsageThreshold() : -1L);
+		}
+		return thresholds;
+	}
+}
@@ -0,0 +1,296 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import static com.redhat.microprofile.ls.MicroProfileProjectInfoHelper.createInfo;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.MicroProfileProjectInfoParams;
+import com.redhat.microprofile.commons.MicroProfilePropertiesChangeEvent;
+import com.redhat.microprofile.commons.MicroProfilePropertiesScope;
+import com.redhat.microprofile.ls.api.MicroProfileProjectInfoProvider;
+
+/**
+ * Test for {@link MicroProfileProjectInfoCache}.
+ *
+ */
+public class MicroProfileProjectInfoCacheTest {
+
+	private static final String PROJECT1 = "project1";
+
+	private static final String PROJECT1_APPLICATION_PROPERTIES = PROJECT1 + "/application.properties";
+
+	private static final String PROJECT1_MICROPROFILE_CONFIG_PROPERTIES = PROJECT1
+			+ "/META-INF/microprofile-config.properties";
+
+	/**
+	 * Provider which answers when the test completes the pending requests. The
+	 * requests which only resolve the project of a properties file are answered
+	 * immediately.
+	 */
+	private static class PendingProjectInfoProvider implements MicroProfileProjectInfoProvider {
+
+		private final List<MicroProfileProjectInfoParams> requests = new CopyOnWriteArrayList<>();
+
+		private final List<CompletableFuture<MicroProfileProjectInfo>> pending = new CopyOnWriteArrayList<>();
+
+		@Override
+		public CompletableFuture<MicroProfileProjectInfo> getProjectInfo(MicroProfileProjectInfoParams params) {
+			if (params.getScopes().isEmpty()) {
+				return CompletableFuture.completedFuture(createInfo(PROJECT1));
+			}
+			MicroProfileProjectInfoParams request = new MicroProfileProjectInfoParams(params.getUri());
+			request.setScopes(params.getScopes());
+			requests.add(request);
+			CompletableFuture<MicroProfileProjectInfo> future = new CompletableFuture<>();
+			pending.add(future);
+			return future;
+		}
+
+		public void completeAll(MicroProfileProjectInfo info) {
+			for (CompletableFuture<MicroProfileProjectInfo> future : pending) {
+				future.complete(info);
+			}
+			pending.clear();
+		}
+
+		public void failAll() {
+			for (CompletableFuture<MicroProfileProjectInfo> future : pending) {
+				future.completeExceptionally(new IllegalStateException("JDT LS is not available"));
+			}
+			pending.clear();
+		}
+	}
+
+	@Test
+	public void concurrentRequestsShareOneProviderRequest() throws Exception {
+		PendingProjectInfoProvider provider = new PendingProjectInfoProvider();
+		MicroProfileProjectInfoCache cache = new MicroProfileProjectInfoCache(provider);
+
+		CompletableFuture<MicroProfileProjectInfo> validation = getProjectInfo(cache);
+		CompletableFuture<MicroProfileProjectInfo> completion = getProjectInfo(cache);
+		CompletableFuture<MicroProfileProjectInfo> hover = getProjectInfo(cache);
+		Assert.assertEquals(1, provider.requests.size());
+		Assert.assertEquals(MicroProfilePropertiesScope.SOURCES_AND_DEPENDENCIES,
+				provider.requests.get(0).getScopes());
+
+		// cancelling one caller doesn't cancel the others
+		hover.cancel(true);
+
+		provider.completeAll(createInfo(PROJECT1, "quarkus.http.port", "greeting.message"));
+		Assert.assertSame(validation.get(), completion.get());
+		Assert.assertSame(validation.get(), getProjectInfo(cache).get());
+		Assert.assertEquals(1, provider.requests.size());
+	}
+
+	@Test
+	public void concurrentReloadFromSourceShareOneProviderRequest() throws Exception {
+		PendingProjectInfoProvider provider = new PendingProjectInfoProvider();
+		MicroProfileProjectInfoCache cache = new MicroProfileProjectInfoCache(provider);
+		CompletableFuture<MicroProfileProjectInfo> first = getProjectInfo(cache);
+		provider.completeAll(createInfo(PROJECT1, "quarkus.http.port", "greeting.message"));
+		first.get();
+
+		// java sources changed
+		cache.microprofilePropertiesChanged(createJavaSourcesChangedEvent());
+		CompletableFuture<MicroProfileProjectInfo> validation = getProjectInfo(cache);
+		CompletableFuture<MicroProfileProjectInfo> completion = getProjectInfo(cache);
+		Assert.assertEquals(2, provider.requests.size());
+		Assert.assertEquals(MicroProfilePropertiesScope.ONLY_SOURCES, provider.requests.get(1).getScopes());
+
+		// java sources changed again while the request is pending
+		cache.microprofilePropertiesChanged(createJavaSourcesChangedEvent());
+		CompletableFuture<MicroProfileProjectInfo> hover = getProjectInfo(cache);
+		Assert.assertEquals(3, provider.requests.size());
+
+		provider.completeAll(createInfo(PROJECT1, "greeting.suffix"));
+		Assert.assertSame(validation.get(), completion.get());
+		Assert.assertEquals(2, validation.get().getProperties().size());
+		Assert.assertEquals(2, hover.get().getProperties().size());
+		// all changes are loaded
+		getProjectInfo(cache);
+		Assert.assertEquals(3, provider.requests.size());
+	}
+
+	@Test
+	public void propertiesFilesOfProjectShareOneEntry() throws Exception {
+		PendingProjectInfoProvider provider = new PendingProjectInfoProvider();
+		MicroProfileProjectInfoCache cache = new MicroProfileProjectInfoCache(provider);
+
+		CompletableFuture<MicroProfileProjectInfo> applicationProperties = getProjectInfo(cache);
+		CompletableFuture<MicroProfileProjectInfo> microprofileConfigProperties = getProjectInfo(cache,
+				PROJECT1_MICROPROFILE_CONFIG_PROPERTIES);
+		Assert.assertEquals(1, provider.requests.size());
+
+		provider.completeAll(createInfo(PROJECT1, "quarkus.http.port", "greeting.message"));
+		Assert.assertSame(applicationProperties.get(), microprofileConfigProperties.get());
+
+		// java sources changed: both properties files are impacted and share the reload
+		MicroProfilePropertiesChangeEvent event = createJavaSourcesChangedEvent();
+		Assert.assertEquals(
+				new HashSet<>(Arrays.asList(PROJECT1_APPLICATION_PROPERTIES, PROJECT1_MICROPROFILE_CONFIG_PROPERTIES)),
+				new HashSet<>(cache.microprofilePropertiesChanged(event)));
+		applicationProperties = getProjectInfo(cache);
+		microprofileConfigProperties = getProjectInfo(cache, PROJECT1_MICROPROFILE_CONFIG_PROPERTIES);
+		Assert.assertEquals(2, provider.requests.size());
+		provider.completeAll(createInfo(PROJECT1, "greeting.suffix"));
+		Assert.assertSame(applicationProperties.get(), microprofileConfigProperties.get());
+	}
+
+	@Test
+	public void binaryPropertiesSharedBetweenProjects() throws Exception {
+		MicroProfileProjectInfoCache cache = new MicroProfileProjectInfoCache(params -> {
+			String projectURI = params.getUri().substring(0, params.getUri().indexOf('/'));
+			MicroProfileProjectInfo info = createInfo(PROJECT1, "quarkus.http.port", projectURI + ".message");
+			info.setProjectURI(projectURI);
+			return CompletableFuture.completedFuture(info);
+		});
+		MicroProfileProjectInfo project1 = getProjectInfo(cache).get();
+		MicroProfileProjectInfo project2 = getProjectInfo(cache, "project2/application.properties").get();
+		Assert.assertSame(project1.getProperties().get(0), project2.getProperties().get(0));
+		Assert.assertNotSame(project1.getProperties().get(1), project2.getProperties().get(1));
+		Assert.assertEquals(1, cache.getBinaryMetadataRegistry().getPropertyGroupCount());
+
+		// classpath of the projects changed: the refreshed project information share
+		// the binary properties again
+		MicroProfilePropertiesChangeEvent event = new MicroProfilePropertiesChangeEvent();
+		event.setType(Arrays.asList(MicroProfilePropertiesScope.sources, MicroProfilePropertiesScope.dependencies));
+		event.setProjectURIs(new HashSet<>(Arrays.asList(PROJECT1, "project2")));
+		cache.microprofilePropertiesChanged(event);
+		Assert.assertEquals(1, cache.getBinaryMetadataRegistry().getPropertyGroupCount());
+
+		// the evicted project information release the binary properties
+		cache.evictOnMemoryPressure();
+		Assert.assertEquals(0, cache.getBinaryMetadataRegistry().getPropertyGroupCount());
+	}
+
+	@Test
+	public void serveStaleWhileClasspathChanges() throws Exception {
+		PendingProjectInfoProvider provider = new PendingProjectInfoProvider();
+		List<String> refreshedURIs = new CopyOnWriteArrayList<>();
+		MicroProfileProjectInfoCache cache = new MicroProfileProjectInfoCache(provider, null,
+				(uri, diff) -> refreshedURIs.add(uri), uri -> true);
+		CompletableFuture<MicroProfileProjectInfo> first = getProjectInfo(cache);
+		provider.completeAll(createInfo(PROJECT1, "quarkus.http.port", "greeting.message"));
+		MicroProfileProjectInfo staleInfo = first.get();
+
+		// classpath changed
+		MicroProfilePropertiesChangeEvent event = new MicroProfilePropertiesChangeEvent();
+		event.setType(MicroProfilePropertiesScope.SOURCES_AND_DEPENDENCIES);
+		event.setProjectURIs(new HashSet<>(Arrays.asList(PROJECT1)));
+		Assert.assertTrue(cache.microprofilePropertiesChanged(event).isEmpty());
+		Assert.assertEquals(2, provider.requests.size());
+
+		// the stale project information is served while the new one is loaded
+		CompletableFuture<MicroProfileProjectInfo> stale = getProjectInfo(cache);
+		Assert.assertTrue(stale.isDone());
+		Assert.assertSame(staleInfo, stale.get());
+		Assert.assertEquals(2, provider.requests.size());
+
+		provider.completeAll(createInfo(PROJECT1, "quarkus.http.port", "quarkus.http.host", "greeting.message"));
+		Assert.assertEquals(Arrays.asList(PROJECT1_APPLICATION_PROPERTIES), refreshedURIs);
+		Assert.assertEquals(3, getProjectInfo(cache).get().getProperties().size());
+
+		// classpath changed without changes of properties
+		cache.microprofilePropertiesChanged(event);
+		provider.completeAll(createInfo(PROJECT1, "quarkus.http.port", "quarkus.http.host", "greeting.message"));
+		Assert.assertEquals(1, refreshedURIs.size());
+	}
+
+	@Test
+	public void refreshStaleAfterFailure() throws Exception {
+		PendingProjectInfoProvider provider = new PendingProjectInfoProvider();
+		List<String> refreshedURIs = new CopyOnWriteArrayList<>();
+		MicroProfileProjectInfoCache cache = new MicroProfileProjectInfoCache(provider, null,
+				(uri, diff) -> refreshedURIs.add(uri), uri -> true);
+		CompletableFuture<MicroProfileProjectInfo> first = getProjectInfo(cache);
+		provider.completeAll(createInfo(PROJECT1, "quarkus.http.port", "greeting.message"));
+		MicroProfileProjectInfo staleInfo = first.get();
+
+		// classpath changed and the refresh fails
+		MicroProfilePropertiesChangeEvent event = new MicroProfilePropertiesChangeEvent();
+		event.setType(MicroProfilePropertiesScope.SOURCES_AND_DEPENDENCIES);
+		event.setProjectURIs(new HashSet<>(Arrays.asList(PROJECT1)));
+		cache.microprofilePropertiesChanged(event);
+		provider.failAll();
+		Assert.assertEquals(2, provider.requests.size());
+
+		// the stale project information is served and the refresh is sent again
+		Assert.assertSame(staleInfo, getProjectInfo(cache).get());
+		Assert.assertEquals(3, provider.requests.size());
+		Assert.assertSame(staleInfo, getProjectInfo(cache).get());
+		Assert.assertEquals(3, provider.requests.size());
+
+		provider.completeAll(createInfo(PROJECT1, "quarkus.http.port", "quarkus.http.host", "greeting.message"));
+		Assert.assertEquals(Arrays.asList(PROJECT1_APPLICATION_PROPERTIES), refreshedURIs);
+		Assert.assertEquals(3, getProjectInfo(cache).get().getProperties().size());
+		Assert.assertEquals(3, provider.requests.size());
+	}
+
+	@Test
+	public void evictLeastRecentlyUsedClosedProjects() throws Exception {
+		List<String> requestedURIs = new CopyOnWriteArrayList<>();
+		Set<String> openedURIs = new HashSet<>(Arrays.asList("project1/application.properties"));
+		MicroProfileProjectInfoCache cache = new MicroProfileProjectInfoCache(params -> {
+			String projectURI = params.getUri().substring(0, params.getUri().indexOf('/'));
+			if (!params.getScopes().isEmpty()) {
+				requestedURIs.add(params.getUri());
+			}
+			MicroProfileProjectInfo info = createInfo(PROJECT1, "quarkus.http.port", projectURI + ".message");
+			info.setProjectURI(projectURI);
+			return CompletableFuture.completedFuture(info);
+		}, null, null, openedURIs::contains);
+		// each project information has 2 properties
+		cache.setBudget(5);
+
+		getProjectInfo(cache, "project1/application.properties").get();
+		getProjectInfo(cache, "project2/application.properties").get();
+		getProjectInfo(cache, "project3/application.properties").get();
+		// project2 is the least recently used closed project
+		getProjectInfo(cache, "project1/application.properties").get();
+		getProjectInfo(cache, "project3/application.properties").get();
+		Assert.assertEquals(3, requestedURIs.size());
+		getProjectInfo(cache, "project2/application.properties").get();
+		Assert.assertEquals(4, requestedURIs.size());
+
+		// memory pressure evicts all closed projects
+		cache.evictOnMemoryPressure();
+		getProjectInfo(cache, "project1/application.properties").get();
+		Assert.assertEquals(4, requestedURIs.size());
+		getProjectInfo(cache, "project3/application.properties").get();
+		Assert.assertEquals(5, requestedURIs.size());
+	}
+
+	private static CompletableFuture<MicroProfileProjectInfo> getProjectInfo(MicroProfileProjectInfoCache cache) {
+		return getProjectInfo(cache, PROJECT1_APPLICATION_PROPERTIES);
+	}
+
+	private static CompletableFuture<MicroProfileProjectInfo> getProjectInfo(MicroProfileProjectInfoCache cache,
+			String uri) {
+		return cache.getMicroProfileProjectInfo(new MicroProfileProjectInfoParams(uri));
+	}
+
+	private static MicroProfilePropertiesChangeEvent createJavaSourcesChangedEvent() {
+		MicroProfilePropertiesChangeEvent event = new MicroProfilePropertiesChangeEvent();
+		event.setType(Arrays.asList(MicroProfilePropertiesScope.sources));
+		event.setProjectURIs(new HashSet<>(Arrays.asList(PROJECT1)));
+		return event;
+	}
+}
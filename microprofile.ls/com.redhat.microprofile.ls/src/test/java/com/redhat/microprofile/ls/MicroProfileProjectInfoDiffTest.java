@@ -0,0 +1,79 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import static com.redhat.microprofile.ls.MicroProfileProjectInfoHelper.createInfo;
+import static com.redhat.microprofile.ls.MicroProfileProjectInfoHelper.h;
+import static com.redhat.microprofile.ls.MicroProfileProjectInfoHelper.p;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.model.PropertiesModel;
+
+/**
+ * Test for {@link MicroProfileProjectInfoDiff}.
+ *
+ */
+public class MicroProfileProjectInfoDiffTest {
+
+	@Test
+	public void addedProperty() {
+		MicroProfileProjectInfo oldInfo = createInfo(p("quarkus.http.port", null));
+		MicroProfileProjectInfo newInfo = createInfo(p("quarkus.http.port", null),
+				p("quarkus.log.category.{*}.level", null));
+		MicroProfileProjectInfoDiff diff = MicroProfileProjectInfoDiff.diff(oldInfo, newInfo);
+		Assert.assertFalse(diff.isEmpty());
+		Assert.assertTrue(diff.isAffected(parse("quarkus.log.category.\"org.acme\".level=DEBUG")));
+		Assert.assertFalse(diff.isAffected(parse("quarkus.http.port=8080\n%dev.greeting.message=hello")));
+	}
+
+	@Test
+	public void sameProperties() {
+		MicroProfileProjectInfo oldInfo = createInfo(p("quarkus.http.port", null));
+		MicroProfileProjectInfo newInfo = createInfo(p("quarkus.http.port", null));
+		MicroProfileProjectInfoDiff diff = MicroProfileProjectInfoDiff.diff(oldInfo, newInfo);
+		Assert.assertTrue(diff.isEmpty());
+		Assert.assertFalse(diff.isAffected(parse("quarkus.http.port=8080")));
+	}
+
+	@Test
+	public void changedHint() {
+		MicroProfileProjectInfo oldInfo = createInfo(p("quarkus.log.level", "java.util.logging.Level"),
+				p("quarkus.http.port", null));
+		oldInfo.getHints().add(h("java.util.logging.Level", "INFO"));
+		MicroProfileProjectInfo newInfo = createInfo(p("quarkus.log.level", "java.util.logging.Level"),
+				p("quarkus.http.port", null));
+		newInfo.getHints().add(h("java.util.logging.Level", "INFO", "DEBUG"));
+		MicroProfileProjectInfoDiff diff = MicroProfileProjectInfoDiff.diff(oldInfo, newInfo);
+		Assert.assertTrue(diff.isAffected(parse("%dev.quarkus.log.level=DEBUG")));
+		Assert.assertFalse(diff.isAffected(parse("quarkus.http.port=8080")));
+	}
+
+	@Test
+	public void removedRequiredProperty() {
+		ItemMetadata required = p("greeting.message", null);
+		required.setRequired(true);
+		MicroProfileProjectInfo oldInfo = createInfo(p("quarkus.http.port", null), required);
+		MicroProfileProjectInfo newInfo = createInfo(p("quarkus.http.port", null));
+		MicroProfileProjectInfoDiff diff = MicroProfileProjectInfoDiff.diff(oldInfo, newInfo);
+		// the 'Missing required property' diagnostic disappears
+		Assert.assertTrue(diff.isAffected(parse("quarkus.http.port=8080")));
+	}
+
+	private static PropertiesModel parse(String text) {
+		return PropertiesModel.parse(text, "application.properties");
+	}
+
+
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.metadata.ItemHint;
+import com.redhat.microprofile.commons.metadata.ItemHint.ValueHint;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+
+/**
+ * Helper to create the MicroProfile project information used in the tests.
+ *
+ */
+public class MicroProfileProjectInfoHelper {
+
+	/**
+	 * Returns the project information of the given project with the properties
+	 * of the given names.
+	 *
+	 * @param projectURI the project URI.
+	 * @param names      the property names.
+	 * @return the project information of the given project.
+	 */
+	public static MicroProfileProjectInfo createInfo(String projectURI, String... names) {
+		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
+		info.setProjectURI(projectURI);
+		info.setProperties(Arrays.stream(names).map(MicroProfileProjectInfoHelper::p).collect(Collectors.toList()));
+		info.setHints(new ArrayList<>());
+		return info;
+	}
+
+	/**
+	 * Returns the project information with the given properties.
+	 *
+	 * @param properties the properties.
+	 * @return the project information with the given properties.
+	 */
+	public static MicroProfileProjectInfo createInfo(ItemMetadata... properties) {
+		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
+		info.setProperties(new ArrayList<>(Arrays.asList(properties)));
+		info.setHints(new ArrayList<>());
+		return info;
+	}
+
+	/**
+	 * Returns the project information of the project which contains the given
+	 * document with the given properties.
+	 *
+	 * @param documentURI the document URI (ex :
+	 *                    project1/src/main/resources/application.properties).
+	 * @param properties  the properties.
+	 * @return the project information of the project which contains the given
+	 *         document.
+	 */
+	public static MicroProfileProjectInfo createInfoForDocument(String documentURI, ItemMetadata... properties) {
+		MicroProfileProjectInfo info = createInfo(properties);
+		int index = documentURI.indexOf("/src/");
+		info.setProjectURI(documentURI.substring(0, index != -1 ? index : documentURI.lastIndexOf('/')));
+		return info;
+	}
+
+	/**
+	 * Returns the property of the given name. A property which doesn't start
+	 * with 'quarkus.' comes from the Java sources.
+	 *
+	 * @param name the property name.
+	 * @return the property of the given name.
+	 */
+	public static ItemMetadata p(String name) {
+		ItemMetadata property = new ItemMetadata();
+		property.setName(name);
+		if (!name.startsWith("quarkus.")) {
+			property.setSource(Boolean.TRUE);
+		}
+		return property;
+	}
+
+	/**
+	 * Returns the property of the given name and type.
+	 *
+	 * @param name the property name.
+	 * @param type the property type and null otherwise.
+	 * @return the property of the given name and type.
+	 */
+	public static ItemMetadata p(String name, String type) {
+		ItemMetadata property = p(name);
+		property.setType(type);
+		return property;
+	}
+
+	/**
+	 * Returns the property of the given name and type declared by the given
+	 * extension.
+	 *
+	 * @param name          the property name.
+	 * @param type          the property type and null otherwise.
+	 * @param extensionName the extension name.
+	 * @return the property of the given name and type declared by the given
+	 *         extension.
+	 */
+	public static ItemMetadata p(String name, String type, String extensionName) {
+		ItemMetadata property = p(name, type);
+		property.setExtensionName(extensionName);
+		return property;
+	}
+
+	/**
+	 * Returns the hint of the given name with the given values.
+	 *
+	 * @param name   the hint name.
+	 * @param values the values.
+	 * @return the hint of the given name with the given values.
+	 */
+	public static ItemHint h(String name, String... values) {
+		ItemHint hint = new ItemHint();
+		hint.setName(name);
+		hint.setValues(new ArrayList<>());
+		for (String value : values) {
+			ValueHint valueHint = new ValueHint();
+			valueHint.setValue(value);
+			hint.getValues().add(valueHint);
+		}
+		return hint;
+	}
+
+	/**
+	 * Returns the names of the given properties.
+	 *
+	 * @param properties the properties.
+	 * @return the names of the given properties.
+	 */
+	public static List<String> names(List<ItemMetadata> properties) {
+		return properties.stream().map(ItemMetadata::getName).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import static com.redhat.microprofile.ls.MicroProfileProjectInfoHelper.names;
+import static com.redhat.microprofile.ls.MicroProfileProjectInfoHelper.p;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+
+/**
+ * Test for {@link MicroProfileProjectInfoSnapshot}.
+ *
+ */
+public class MicroProfileProjectInfoSnapshotTest {
+
+	@Test
+	public void partitions() {
+		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
+		info.setProjectURI("project1");
+		info.setProperties(Arrays.asList(p("quarkus.http.port"), p("greeting.message"), p("quarkus.http.host")));
+		MicroProfileProjectInfoSnapshot snapshot = new MicroProfileProjectInfoSnapshot(info);
+
+		Assert.assertEquals(1, snapshot.getVersion());
+		Assert.assertEquals(Arrays.asList("quarkus.http.port", "quarkus.http.host"),
+				names(snapshot.getBinaryProperties()));
+		Assert.assertEquals(Arrays.asList("greeting.message"), names(snapshot.getSourceProperties()));
+		Assert.assertEquals(Arrays.asList("quarkus.http.port", "quarkus.http.host", "greeting.message"),
+				names(snapshot.getProperties()));
+		Assert.assertTrue(snapshot.getHints().isEmpty());
+	}
+
+	@Test
+	public void withSources() {
+		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
+		info.setProjectURI("project1");
+		info.setProperties(Arrays.asList(p("quarkus.http.port"), p("greeting.message")));
+		MicroProfileProjectInfoSnapshot snapshot = new MicroProfileProjectInfoSnapshot(info);
+
+		List<ItemMetadata> propertiesFromSources = new ArrayList<>(
+				Arrays.asList(p("greeting.suffix"), p("greeting.prefix")));
+		MicroProfileProjectInfoSnapshot newSnapshot = snapshot.withSources(propertiesFromSources, null);
+		propertiesFromSources.clear();
+
+		Assert.assertEquals(2, newSnapshot.getVersion());
+		Assert.assertSame(snapshot.getBinaryProperties(), newSnapshot.getBinaryProperties());
+		Assert.assertEquals(Arrays.asList("quarkus.http.port", "greeting.suffix", "greeting.prefix"),
+				names(newSnapshot.getProperties()));
+		// the previous snapshot is not modified
+		Assert.assertEquals(Arrays.asList("quarkus.http.port", "greeting.message"), names(snapshot.getProperties()));
+	}
+
+	@Test
+	public void hasSameItems() {
+		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
+		info.setProjectURI("project1");
+		info.setProperties(Arrays.asList(p("greeting.message"), p("quarkus.http.port"),
+				p("greeting.suffix"), p("quarkus.http.host")));
+		MicroProfileProjectInfoSnapshot snapshot = new MicroProfileProjectInfoSnapshot(info);
+
+		MicroProfileProjectInfo sameInfo = new MicroProfileProjectInfo();
+		sameInfo.setProperties(Arrays.asList(p("greeting.message"), p("quarkus.http.port"),
+				p("greeting.suffix"), p("quarkus.http.host")));
+		Assert.assertTrue(snapshot.hasSameItems(sameInfo));
+
+		// the order of the source properties changes
+		MicroProfileProjectInfo otherInfo = new MicroProfileProjectInfo();
+		otherInfo.setProperties(Arrays.asList(p("greeting.suffix"), p("quarkus.http.port"),
+				p("greeting.message"), p("quarkus.http.host")));
+		Assert.assertFalse(snapshot.hasSameItems(otherInfo));
+
+		// a binary property becomes a source property
+		ItemMetadata sourcePort = p("quarkus.http.port");
+		sourcePort.setSource(Boolean.TRUE);
+		otherInfo.setProperties(Arrays.asList(p("greeting.message"), sourcePort,
+				p("greeting.suffix"), p("quarkus.http.host")));
+		Assert.assertFalse(snapshot.hasSameItems(otherInfo));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void immutable() {
+		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
+		info.setProperties(Arrays.asList(p("quarkus.http.port")));
+		new MicroProfileProjectInfoSnapshot(info).getProperties().add(p("greeting.message"));
+	}
+
+}
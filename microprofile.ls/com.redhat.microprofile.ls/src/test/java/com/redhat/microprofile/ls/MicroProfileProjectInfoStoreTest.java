@@ -0,0 +1,139 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.MicroProfileProjectInfoParams;
+
+/**
+ * Test with persisted snapshots of the MicroProfile project information.
+ *
+ */
+public class MicroProfileProjectInfoStoreTest {
+
+	private static final String APPLICATION_PROPERTIES = "project1/application.properties";
+
+	@Rule
+	public TemporaryFolder workDir = new TemporaryFolder();
+
+	@Test
+	public void saveAndLoad() throws IOException {
+		MicroProfileProjectInfoStore store = createStore();
+		Assert.assertNull(store.load(APPLICATION_PROPERTIES));
+
+		store.save(APPLICATION_PROPERTIES, createInfo("fingerprint1", "quarkus.application.name"));
+		MicroProfileProjectInfo info = store.load(APPLICATION_PROPERTIES);
+		Assert.assertNotNull(info);
+		Assert.assertEquals("fingerprint1", info.getClasspathFingerprint());
+		Assert.assertEquals(1, info.getProperties().size());
+		Assert.assertEquals("quarkus.application.name", info.getProperties().get(0).getName());
+
+		store.delete(APPLICATION_PROPERTIES);
+		Assert.assertNull(store.load(APPLICATION_PROPERTIES));
+	}
+
+	@Test
+	public void disabled() {
+		MicroProfileProjectInfoStore store = new MicroProfileProjectInfoStore();
+		Assert.assertFalse(store.isEnabled());
+		store.save(APPLICATION_PROPERTIES, createInfo("fingerprint1", "quarkus.application.name"));
+		Assert.assertNull(store.load(APPLICATION_PROPERTIES));
+	}
+
+	@Test
+	public void serveSnapshotAndRevalidate() throws Exception {
+		MicroProfileProjectInfoStore store = createStore();
+		store.save(APPLICATION_PROPERTIES, createInfo("fingerprint1", "quarkus.application.name"));
+
+		CompletableFuture<MicroProfileProjectInfo> projectInfoFromProvider = new CompletableFuture<>();
+		List<String> refreshedURIs = new CopyOnWriteArrayList<>();
+		MicroProfileProjectInfoCache cache = new MicroProfileProjectInfoCache(params -> projectInfoFromProvider,
+				store, (uri, diff) -> refreshedURIs.add(uri), uri -> false);
+
+		// the snapshot is served although the provider has not answered
+		MicroProfileProjectInfo info = getProjectInfo(cache);
+		Assert.assertEquals("fingerprint1", info.getClasspathFingerprint());
+		Assert.assertTrue(refreshedURIs.isEmpty());
+
+		// the provider answers with a new classpath
+		projectInfoFromProvider
+				.complete(createInfo("fingerprint2", "quarkus.application.name", "quarkus.application.version"));
+		Assert.assertEquals(Arrays.asList(APPLICATION_PROPERTIES), refreshedURIs);
+		info = getProjectInfo(cache);
+		Assert.assertEquals("fingerprint2", info.getClasspathFingerprint());
+		Assert.assertEquals(2, info.getProperties().size());
+	}
+
+	@Test
+	public void serveSnapshotUnchanged() throws Exception {
+		MicroProfileProjectInfoStore store = createStore();
+		store.save(APPLICATION_PROPERTIES, createInfo("fingerprint1", "quarkus.application.name"));
+
+		List<String> refreshedURIs = new CopyOnWriteArrayList<>();
+		MicroProfileProjectInfoCache cache = new MicroProfileProjectInfoCache(
+				params -> CompletableFuture.completedFuture(createInfo("fingerprint1", "quarkus.application.name")),
+				store, (uri, diff) -> refreshedURIs.add(uri), uri -> false);
+
+		MicroProfileProjectInfo snapshot = getProjectInfo(cache);
+		Assert.assertSame(snapshot, getProjectInfo(cache));
+		Assert.assertTrue(refreshedURIs.isEmpty());
+	}
+
+	@Test
+	public void serveSnapshotUnchangedWithSourceProperties() throws Exception {
+		MicroProfileProjectInfoStore store = createStore();
+		// the snapshot lists the binary properties before the source properties
+		store.save(APPLICATION_PROPERTIES,
+				createInfo("fingerprint1", "greeting.message", "quarkus.application.name", "greeting.suffix"));
+
+		List<String> refreshedURIs = new CopyOnWriteArrayList<>();
+		MicroProfileProjectInfoCache cache = new MicroProfileProjectInfoCache(
+				params -> CompletableFuture.completedFuture(createInfo("fingerprint1", "greeting.message",
+						"quarkus.application.name", "greeting.suffix")),
+				store, (uri, diff) -> refreshedURIs.add(uri), uri -> false);
+
+		MicroProfileProjectInfo snapshot = getProjectInfo(cache);
+		Assert.assertSame(snapshot, getProjectInfo(cache));
+		Assert.assertTrue(refreshedURIs.isEmpty());
+	}
+
+	private MicroProfileProjectInfoStore createStore() throws IOException {
+		File dir = workDir.newFolder();
+		MicroProfileProjectInfoStore store = new MicroProfileProjectInfoStore();
+		store.setWorkDir(dir.getAbsolutePath());
+		return store;
+	}
+
+	private static MicroProfileProjectInfo getProjectInfo(MicroProfileProjectInfoCache cache)
+			throws InterruptedException, ExecutionException, Exception {
+		return cache.getMicroProfileProjectInfo(new MicroProfileProjectInfoParams(APPLICATION_PROPERTIES)).get(10,
+				TimeUnit.SECONDS);
+	}
+
+	private static MicroProfileProjectInfo createInfo(String fingerprint, String... names) {
+		MicroProfileProjectInfo info = MicroProfileProjectInfoHelper.createInfo("project1", names);
+		info.setClasspathFingerprint(fingerprint);
+		return info;
+	}
+}
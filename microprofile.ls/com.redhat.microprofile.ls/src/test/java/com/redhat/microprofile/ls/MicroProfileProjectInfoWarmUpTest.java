@@ -0,0 +1,114 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import static com.redhat.microprofile.ls.MicroProfileProjectInfoHelper.createInfoForDocument;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.MicroProfileProjectInfoParams;
+
+/**
+ * Test for {@link MicroProfileProjectInfoWarmUp}.
+ *
+ */
+public class MicroProfileProjectInfoWarmUpTest {
+
+	@Rule
+	public TemporaryFolder workspace = new TemporaryFolder();
+
+	@Test
+	public void findPropertiesFiles() throws IOException {
+		Path folder = createWorkspace();
+		List<String> files = MicroProfileProjectInfoWarmUp.findPropertiesFiles(folder).stream()
+				.map(file -> folder.relativize(file).toString().replace(File.separatorChar, '/')).sorted()
+				.collect(Collectors.toList());
+		Assert.assertEquals(Arrays.asList("project1/src/main/resources/META-INF/microprofile-config.properties",
+				"project1/src/main/resources/application.properties",
+				"project2/src/main/resources/application.properties"), files);
+	}
+
+	@Test
+	public void prefetch() throws IOException {
+		Path folder = createWorkspace();
+		List<String> requestedURIs = new CopyOnWriteArrayList<>();
+		MicroProfileProjectInfoCache cache = new MicroProfileProjectInfoCache(params -> {
+			if (!params.getScopes().isEmpty()) {
+				requestedURIs.add(params.getUri());
+			}
+			return CompletableFuture.completedFuture(createInfoForDocument(params.getUri()));
+		});
+		new MicroProfileProjectInfoWarmUp(cache, Arrays.asList(folder)).run();
+		// project1 has 2 properties files which share the same project information
+		Assert.assertEquals(2, requestedURIs.size());
+
+		// the foreground requests are served by the cache
+		String uri = folder.resolve("project2/src/main/resources/application.properties").toUri().toString();
+		Assert.assertTrue(cache.getMicroProfileProjectInfo(new MicroProfileProjectInfoParams(uri)).isDone());
+		Assert.assertEquals(2, requestedURIs.size());
+	}
+
+	@Test
+	public void cancelOnForegroundRequest() throws IOException {
+		Path folder = createWorkspace();
+		List<CompletableFuture<MicroProfileProjectInfo>> pending = new CopyOnWriteArrayList<>();
+		MicroProfileProjectInfoCache cache = new MicroProfileProjectInfoCache(params -> {
+			CompletableFuture<MicroProfileProjectInfo> future = new CompletableFuture<>();
+			pending.add(future);
+			return future;
+		});
+		MicroProfileProjectInfoWarmUp warmUp = new MicroProfileProjectInfoWarmUp(cache, Arrays.asList(folder));
+		cache.setForegroundRequestListener(warmUp::cancel);
+
+		// a prefetch is served without cancelling the warm-up
+		cache.prefetchMicroProfileProjectInfo(new MicroProfileProjectInfoParams("project3/application.properties"));
+		Assert.assertFalse(warmUp.isCancelled());
+
+		// a foreground request requires the JDT LS extension
+		cache.getMicroProfileProjectInfo(new MicroProfileProjectInfoParams("project4/application.properties"));
+		Assert.assertTrue(warmUp.isCancelled());
+
+		// the cancelled warm-up doesn't prefetch anything
+		int requests = pending.size();
+		warmUp.run();
+		Assert.assertEquals(requests, pending.size());
+	}
+
+	private Path createWorkspace() throws IOException {
+		Path folder = workspace.getRoot().toPath();
+		createFile(folder, "project1/src/main/resources/application.properties");
+		createFile(folder, "project1/src/main/resources/META-INF/microprofile-config.properties");
+		createFile(folder, "project1/target/classes/application.properties");
+		createFile(folder, "project2/src/main/resources/application.properties");
+		createFile(folder, "project2/.settings/application.properties");
+		createFile(folder, "project2/pom.xml");
+		return folder;
+	}
+
+	private static void createFile(Path folder, String path) throws IOException {
+		Path file = folder.resolve(path);
+		Files.createDirectories(file.getParent());
+		Files.createFile(file);
+	}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for {@link MicroProfileValidationScheduler}.
+ *
+ */
+public class MicroProfileValidationSchedulerTest {
+
+	private static final String URI = "application.properties";
+
+	@Test
+	public void debounce() throws InterruptedException {
+		MicroProfileValidationScheduler scheduler = new MicroProfileValidationScheduler(100);
+		AtomicInteger validated = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(1);
+		for (int i = 0; i < 30; i++) {
+			int index = i;
+			scheduler.schedule(URI, cancelChecker -> CompletableFuture.runAsync(() -> {
+				validated.incrementAndGet();
+				Assert.assertEquals(29, index);
+				done.countDown();
+			}), false);
+		}
+		Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+		waitForCompleted(scheduler, 1);
+		Assert.assertEquals(1, validated.get());
+		Assert.assertEquals(30, scheduler.getRequestedCount());
+		Assert.assertEquals(29, scheduler.getDebouncedCount());
+		Assert.assertEquals(0, scheduler.getCancelledCount());
+	}
+
+	@Test
+	public void cancelSuperseded() throws InterruptedException {
+		MicroProfileValidationScheduler scheduler = new MicroProfileValidationScheduler(0);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		// a long validation which stops only when it is cancelled
+		scheduler.schedule(URI, cancelChecker -> CompletableFuture.runAsync(() -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			started.countDown();
+			try {
+				while (true) {
+					cancelChecker.checkCanceled();
+					Thread.sleep(5);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				running.decrementAndGet();
+			}
+		}), false);
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		CountDownLatch done = new CountDownLatch(1);
+		scheduler.schedule(URI, cancelChecker -> CompletableFuture.runAsync(() -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			running.decrementAndGet();
+			done.countDown();
+		}), false);
+		Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+		waitForCompleted(scheduler, 1);
+		Assert.assertEquals(1, maxRunning.get());
+		Assert.assertEquals(1, scheduler.getCancelledCount());
+	}
+
+	private static void waitForCompleted(MicroProfileValidationScheduler scheduler, int expected)
+			throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while (scheduler.getCompletedCount() < expected && System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		Assert.assertEquals(expected, scheduler.getCompletedCount());
+	}
+}
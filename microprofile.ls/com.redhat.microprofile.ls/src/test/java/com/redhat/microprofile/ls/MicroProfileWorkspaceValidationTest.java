@@ -0,0 +1,111 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.ls;
+
+import static com.redhat.microprofile.ls.MicroProfileProjectInfoHelper.createInfoForDocument;
+import static com.redhat.microprofile.ls.MicroProfileProjectInfoHelper.p;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.ls.api.MicroProfileWorkspaceValidationResult;
+import com.redhat.microprofile.services.MicroProfileLanguageService;
+import com.redhat.microprofile.settings.MicroProfileValidationSettings;
+
+/**
+ * Test for {@link MicroProfileWorkspaceValidation}.
+ *
+ */
+public class MicroProfileWorkspaceValidationTest {
+
+	@Rule
+	public TemporaryFolder workspace = new TemporaryFolder();
+
+	private final ForkJoinPool pool = new ForkJoinPool(2);
+
+	@After
+	public void shutdown() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	public void validateWorkspace() throws Exception {
+		Path folder = workspace.getRoot().toPath();
+		Path file1 = createFile(folder, "project1/src/main/resources/application.properties",
+				"quarkus.http.port=abcd\nunknown.property=1");
+		Path file2 = createFile(folder, "project2/src/main/resources/application.properties", "quarkus.http.port=8080");
+		createFile(folder, "project2/target/classes/application.properties", "quarkus.http.port=abcd");
+		Path opened = createFile(folder, "project3/src/main/resources/application.properties",
+				"quarkus.http.port=abcd");
+		String openedURI = opened.toUri().toString();
+
+		Map<String, List<Diagnostic>> published = new ConcurrentHashMap<>();
+		MicroProfileProjectInfoCache cache = new MicroProfileProjectInfoCache(
+				params -> CompletableFuture.completedFuture(createInfoForDocument(params.getUri(), p("quarkus.http.port", "int"))));
+		MicroProfileWorkspaceValidation validation = new MicroProfileWorkspaceValidation(cache,
+				new MicroProfileLanguageService(), new MicroProfileValidationSettings(),
+				uri -> openedURI.equals(uri), params -> published.put(params.getUri(), params.getDiagnostics()), pool);
+		MicroProfileWorkspaceValidationResult result = validation.validate(Arrays.asList(folder)).get(10,
+				TimeUnit.SECONDS);
+
+		Assert.assertEquals(2, result.getFileCount());
+		Assert.assertEquals(0, result.getFailedFileCount());
+		Assert.assertEquals(2, result.getDiagnosticCount());
+		Assert.assertEquals(2, published.size());
+		// type mismatch and unknown property
+		Assert.assertEquals(2, published.get(file1.toUri().toString()).size());
+		Assert.assertEquals(0, published.get(file2.toUri().toString()).size());
+		// the opened document is validated by the validation scheduler
+		Assert.assertFalse(published.containsKey(openedURI));
+	}
+
+	@Test
+	public void failedFile() throws Exception {
+		Path folder = workspace.getRoot().toPath();
+		createFile(folder, "project1/src/main/resources/application.properties", "quarkus.http.port=8080");
+		// the project information of the file cannot be loaded
+		MicroProfileProjectInfoCache cache = new MicroProfileProjectInfoCache(params -> {
+			CompletableFuture<MicroProfileProjectInfo> info = new CompletableFuture<>();
+			info.completeExceptionally(new IllegalStateException("JDT LS is not available"));
+			return info;
+		});
+		MicroProfileWorkspaceValidation validation = new MicroProfileWorkspaceValidation(cache,
+				new MicroProfileLanguageService(), new MicroProfileValidationSettings(), uri -> false, params -> {
+				}, pool);
+		MicroProfileWorkspaceValidationResult result = validation.validate(Arrays.asList(folder)).get(10,
+				TimeUnit.SECONDS);
+		Assert.assertEquals(0, result.getFileCount());
+		Assert.assertEquals(1, result.getFailedFileCount());
+	}
+
+	private static Path createFile(Path folder, String path, String content) throws IOException {
+		Path file = folder.resolve(path);
+		Files.createDirectories(file.getParent());
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
@@ -9,11 +9,15 @@
 *******************************************************************************/
 package com.redhat.microprofile.parser;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+
 import org.junit.Assert;
 import org.junit.Test;
 
 import com.redhat.microprofile.model.Node;
 import com.redhat.microprofile.model.PropertiesModel;
+import com.redhat.microprofile.model.PropertiesModelIndex;
 import com.redhat.microprofile.model.Property;
 import com.redhat.microprofile.model.Node.NodeType;
 
@@ -25,6 +29,31 @@ import com.redhat.microprofile.model.Node.NodeType;
  */
 public class PropertiesModelTest {
 
+	@Test
+	public void index() {
+		String text = "# comment\n" + //
+				"quarkus.http.port=8080\n" + //
+				"%dev.quarkus.http.port=9090\n" + //
+				"%dev.\n" + //
+				"quarkus.http.port=8081\n" + //
+				"%prod.quarkus.ssl.native=true";
+		PropertiesModel model = PropertiesModel.parse(text, "application.properties");
+		PropertiesModelIndex index = model.getIndex();
+		Assert.assertSame(index, model.getIndex());
+
+		Assert.assertEquals(5, index.getProperties().size());
+		Assert.assertEquals(Arrays.asList("quarkus.http.port", "%dev.quarkus.http.port", "%dev.",
+				"%prod.quarkus.ssl.native"), new ArrayList<>(index.getPropertyNamesWithProfile()));
+		Assert.assertEquals(Arrays.asList("quarkus.http.port", "quarkus.ssl.native"),
+				new ArrayList<>(index.getPropertyNames()));
+		Assert.assertEquals(Arrays.asList("dev", "prod"), new ArrayList<>(index.getProfiles()));
+
+		Assert.assertEquals(2, index.getPropertiesWithProfile("quarkus.http.port").size());
+		Assert.assertEquals(3, index.getProperties("quarkus.http.port").size());
+		Assert.assertEquals(1, index.getProperties("quarkus.ssl.native").size());
+		Assert.assertTrue(index.getProperties("quarkus.unknown").isEmpty());
+	}
+
 	@Test
 	public void parseCommentsAndTwoProperties() {
 		String text = " # comment \na = b\n c=d";
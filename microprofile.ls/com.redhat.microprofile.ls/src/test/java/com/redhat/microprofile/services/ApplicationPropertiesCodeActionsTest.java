@@ -57,6 +57,25 @@ public class ApplicationPropertiesCodeActionsTest {
 				ca("Exclude 'quarkus.application.nme' from unknown property validation?", command, d));
 	};
 
+	@Test
+	public void codeActionsForUnknownMappedProperties() throws BadLocationException {
+		String value = "quarkus.log.categry.\"org.acme\".level=DEBUG";
+		Diagnostic d = d(0, 0, 36, "Unknown property 'quarkus.log.categry.\"org.acme\".level'",
+				DiagnosticSeverity.Warning, ValidationType.unknown);
+
+		ConfigurationItemEdit configItemEdit = new ConfigurationItemEdit("quarkus.tools.validation.unknown.excluded",
+				ConfigurationItemEditType.add, "quarkus.log.categry.\"org.acme\".level");
+
+		Command command = new Command("Add quarkus.log.categry.\"org.acme\".level to unknown excluded array",
+				CommandKind.COMMAND_CONFIGURATION_UPDATE, Arrays.asList(configItemEdit));
+
+		testDiagnosticsFor(value, d);
+		testCodeActionsFor(value, d,
+				ca("Did you mean 'quarkus.log.category.\"org.acme\".level' ?",
+						te(0, 0, 0, 36, "quarkus.log.category.\"org.acme\".level"), d),
+				ca("Exclude 'quarkus.log.categry.\"org.acme\".level' from unknown property validation?", command, d));
+	};
+
 	@Test
 	public void codeActionsForUnknownLogLevelValue() throws BadLocationException {
 		String value = "quarkus.log.level=WARNIN";
@@ -12,15 +12,25 @@ package com.redhat.microprofile.services;
 import static com.redhat.microprofile.services.MicroProfileAssert.c;
 import static com.redhat.microprofile.services.MicroProfileAssert.r;
 import static com.redhat.microprofile.services.MicroProfileAssert.testCompletionFor;
+import static com.redhat.microprofile.services.MicroProfileAssert.testCompletionWithMaxItemsFor;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionList;
+import org.junit.Assert;
 import org.junit.Test;
 
+import com.google.gson.Gson;
+
 import com.redhat.microprofile.commons.metadata.ItemMetadata;
 import com.redhat.microprofile.commons.MicroProfileProjectInfo;
 import com.redhat.microprofile.ls.commons.BadLocationException;
+import com.redhat.microprofile.model.PropertiesModel;
+import com.redhat.microprofile.settings.MicroProfileCommandCapabilities;
+import com.redhat.microprofile.settings.MicroProfileCompletionSettings;
+import com.redhat.microprofile.settings.MicroProfileFormattingSettings;
 
 /**
  * Test with completion in 'application.properties' file.
@@ -230,6 +240,97 @@ public class ApplicationPropertiesCompletionTest {
 		testCompletionFor(value, true, c("OFF", "OFF", r(0, 23, 24)), c("SEVERE", "SEVERE", r(0, 23, 24)));
 	}
 
+	@Test
+	public void completionOnKeyWithMaxItems() throws BadLocationException {
+		// the completion list is truncated
+		String value = "|";
+		CompletionList list = testCompletionWithMaxItemsFor(value, false, 10, 10);
+		Assert.assertTrue(list.isIncomplete());
+
+		// the properties which start with the typed key are returned first
+		value = "quarkus.http.co|";
+		list = testCompletionWithMaxItemsFor(value, false, 100, null,
+				c("quarkus.http.cors", "quarkus.http.cors=false", r(0, 0, 15)));
+		Assert.assertFalse(list.isIncomplete());
+		List<CompletionItem> items = new ArrayList<>(list.getItems());
+		items.sort((i1, i2) -> i1.getSortText().compareTo(i2.getSortText()));
+		Assert.assertEquals("quarkus.http.cors", items.get(0).getLabel());
+		boolean prefixMatch = true;
+		for (CompletionItem item : items) {
+			if (prefixMatch) {
+				prefixMatch = item.getLabel().startsWith("quarkus.http.co");
+			} else {
+				Assert.assertFalse(item.getLabel(), item.getLabel().startsWith("quarkus.http.co"));
+			}
+		}
+
+		// 5 'quarkus.http.cors*' properties and 3 fuzzy matches
+		value = "%dev.quarkus.http.cor|";
+		testCompletionWithMaxItemsFor(value, false, 100, 8,
+				c("quarkus.http.cors", "%dev.quarkus.http.cors=false", r(0, 0, 21)));
+
+		// mapped property
+		value = "quarkus.log.category.\"org.acme\".l|";
+		testCompletionWithMaxItemsFor(value, false, 100, 1,
+				c("quarkus.log.category.{*}.level", "quarkus.log.category.{*}.level=inherit", r(0, 0, 33)));
+
+		value = "quarkus.unknown|";
+		list = testCompletionWithMaxItemsFor(value, false, 100, 0);
+		Assert.assertFalse(list.isIncomplete());
+	}
+
+	@Test
+	public void completionOnKeyWithSegments() throws BadLocationException {
+		// the first segments
+		String value = "|";
+		CompletionList list = MicroProfileAssert.testCompletionWithSegmentsFor(value, 50, null,
+				c("quarkus", "quarkus.", r(0, 0, 0)));
+		CompletionItem quarkus = list.getItems().stream().filter(item -> "quarkus".equals(item.getLabel()))
+				.findFirst().get();
+		Assert.assertEquals("editor.action.triggerSuggest", quarkus.getCommand().getCommand());
+		Assert.assertTrue(quarkus.getDetail().endsWith(" properties"));
+
+		// the next segments
+		value = "%dev.quarkus.ht|";
+		// 'quarkus.servlet' has a single property which is completed with the full key
+		list = MicroProfileAssert.testCompletionWithSegmentsFor(value, 50, null,
+				c("http", "%dev.quarkus.http.", r(0, 0, 15)),
+				c("quarkus.servlet.context-path", "%dev.quarkus.servlet.context-path=", r(0, 0, 15)));
+		Assert.assertFalse(list.getItems().stream().anyMatch(item -> "quarkus.http.port".equals(item.getLabel())));
+
+		// the full keys when the subtree is small
+		value = "quarkus.http.cors.|";
+		MicroProfileAssert.testCompletionWithSegmentsFor(value, 50, 5,
+				c("quarkus.http.cors.methods", "quarkus.http.cors.methods=", r(0, 0, 18)));
+
+		// the '{*}' segment is completed with the full keys
+		value = "quarkus.log.category.|";
+		list = MicroProfileAssert.testCompletionWithSegmentsFor(value, 1, null,
+				c("quarkus.log.category.{*}.level", "quarkus.log.category.{*}.level=inherit", r(0, 0, 21)));
+		Assert.assertFalse(list.getItems().stream().anyMatch(item -> item.getLabel().equals("{*}")));
+
+		// a mapped key
+		value = "quarkus.log.category.\"org.acme\".l|";
+		MicroProfileAssert.testCompletionWithSegmentsFor(value, 1, null,
+				c("quarkus.log.category.{*}.level", "quarkus.log.category.{*}.level=inherit", r(0, 0, 33)));
+	}
+
+	@Test
+	public void completionOnKeyWithSegmentsWithoutTriggerSuggest() throws BadLocationException {
+		PropertiesModel model = PropertiesModel.parse("", "application.properties");
+		MicroProfileProjectInfo projectInfo = MicroProfileAssert.getDefaultMicroProfileProjectInfo();
+		MicroProfileCompletionSettings completionSettings = new MicroProfileCompletionSettings();
+		completionSettings.setSegmentThreshold(50);
+		MicroProfileLanguageService languageService = new MicroProfileLanguageService();
+
+		// the client doesn't support the command which triggers the completion
+		CompletionItem quarkus = languageService.doComplete(model, model.positionAt(0), projectInfo,
+				completionSettings, new MicroProfileFormattingSettings(), new MicroProfileCommandCapabilities(), () -> {
+				}).getItems().stream().filter(item -> "quarkus".equals(item.getLabel())).findFirst().get();
+		Assert.assertEquals("quarkus.", quarkus.getTextEdit().getNewText());
+		Assert.assertNull(quarkus.getCommand());
+	}
+
 	@Test
 	public void completionSpacingSurroundingEquals() throws BadLocationException {
 		String value = "|";
@@ -237,4 +338,37 @@ public class ApplicationPropertiesCompletionTest {
 		testCompletionFor(value, true, true, c("quarkus.http.cors", "quarkus.http.cors = ${1|false,true|}", r(0, 0, 0)));
 	}
 
+	@Test
+	public void completionWithResolve() throws BadLocationException {
+		String value = "%dev.quarkus.http.cor";
+		PropertiesModel model = PropertiesModel.parse(value, "application.properties");
+		MicroProfileProjectInfo projectInfo = MicroProfileAssert.getDefaultMicroProfileProjectInfo();
+		MicroProfileCompletionSettings completionSettings = new MicroProfileCompletionSettings();
+		MicroProfileFormattingSettings formattingSettings = new MicroProfileFormattingSettings();
+		MicroProfileLanguageService languageService = new MicroProfileLanguageService();
+
+		CompletionItem expected = languageService.doComplete(model, model.positionAt(value.length()), projectInfo,
+				completionSettings, formattingSettings, new MicroProfileCommandCapabilities(), () -> {
+				}).getItems().stream().filter(item -> "quarkus.http.cors".equals(item.getLabel())).findFirst().get();
+		Assert.assertNotNull(expected.getDocumentation());
+
+		// the documentation is not computed with the completion
+		completionSettings.setResolveSupported(true);
+		CompletionItem item = languageService.doComplete(model, model.positionAt(value.length()), projectInfo,
+				completionSettings, formattingSettings, new MicroProfileCommandCapabilities(), () -> {
+				}).getItems().stream().filter(i -> "quarkus.http.cors".equals(i.getLabel())).findFirst().get();
+		Assert.assertNull(item.getDocumentation());
+		Assert.assertEquals(expected.getTextEdit(), item.getTextEdit());
+
+		// the client sends back the data as JSON
+		item.setData(new Gson().toJsonTree(item.getData()));
+		MicroProfileCompletionItemData data = MicroProfileCompletionItemData.getData(item);
+		Assert.assertEquals("application.properties", data.getUri());
+		Assert.assertEquals("dev", data.getProfile());
+
+		CompletionItem resolved = languageService.resolveCompletionItem(item, projectInfo, completionSettings,
+				formattingSettings);
+		Assert.assertEquals(expected.getDocumentation(), resolved.getDocumentation());
+	}
+
 }
@@ -229,16 +229,17 @@ public class ApplicationPropertiesDiagnosticsTest {
 
 		MicroProfileValidationSettings settings = new MicroProfileValidationSettings();
 
+		// duplicates are reported in the order of the first declaration
 		testDiagnosticsFor(value, getDefaultMicroProfileProjectInfo(), settings,
-				d(1, 0, 18, "Duplicate property 'quarkus.ssl.native'", DiagnosticSeverity.Warning,
-						ValidationType.duplicate),
-				d(5, 0, 18, "Duplicate property 'quarkus.ssl.native'", DiagnosticSeverity.Warning,
-						ValidationType.duplicate),
 				d(0, 0, 17, "Duplicate property 'quarkus.http.port'", DiagnosticSeverity.Warning,
 						ValidationType.duplicate),
 				d(2, 0, 17, "Duplicate property 'quarkus.http.port'", DiagnosticSeverity.Warning,
 						ValidationType.duplicate),
 				d(4, 0, 17, "Duplicate property 'quarkus.http.port'", DiagnosticSeverity.Warning,
+						ValidationType.duplicate),
+				d(1, 0, 18, "Duplicate property 'quarkus.ssl.native'", DiagnosticSeverity.Warning,
+						ValidationType.duplicate),
+				d(5, 0, 18, "Duplicate property 'quarkus.ssl.native'", DiagnosticSeverity.Warning,
 						ValidationType.duplicate));
 	};
 
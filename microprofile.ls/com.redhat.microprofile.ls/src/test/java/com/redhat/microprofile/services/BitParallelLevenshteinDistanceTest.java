@@ -0,0 +1,123 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.services;
+
+import static com.redhat.microprofile.services.MicroProfileAssert.getDefaultMicroProfileProjectInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+
+/**
+ * Test for {@link BitParallelLevenshteinDistance} which must give the same
+ * results than {@link LevenshteinDistance} with a threshold.
+ *
+ */
+public class BitParallelLevenshteinDistanceTest {
+
+	@Test
+	public void distance() {
+		assertDistance("", "", 0, 0);
+		assertDistance("aaapppp", "", 8, 7);
+		assertDistance("aaapppp", "", 7, 7);
+		assertDistance("aaapppp", "", 6, -1);
+		assertDistance("elephant", "hippo", 7, 7);
+		assertDistance("elephant", "hippo", 6, -1);
+		assertDistance("hippo", "elephant", 7, 7);
+		assertDistance("hippo", "elephant", 6, -1);
+		assertDistance("frog", "fog", 1, 1);
+		assertDistance("quarkus.application.name", "quarkus.application.nme", 2, 1);
+		assertDistance("quarkus.log.level", "quarkus.log.levél", 1, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nullString() {
+		BitParallelLevenshteinDistance.apply(null, "a", 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeThreshold() {
+		BitParallelLevenshteinDistance.apply("a", "a", -1);
+	}
+
+	@Test
+	public void sameDistanceThanLevenshteinDistanceForRandomStrings() {
+		Random random = new Random(0);
+		// a small alphabet with non ASCII characters to have many matches
+		char[] alphabet = { 'a', 'b', 'c', '.', 'é', ' ' };
+		for (int i = 0; i < 5000; i++) {
+			// more than 64 and 128 characters to use several blocks
+			String left = randomString(random.nextInt(150), alphabet, random);
+			String right = random.nextBoolean() ? randomString(random.nextInt(150), alphabet, random)
+					: addTypos(left, random.nextInt(10), alphabet, random);
+			int threshold = random.nextInt(Math.max(left.length(), right.length()) + 2);
+			assertSameDistance(left, right, threshold);
+		}
+	}
+
+	@Test
+	public void sameDistanceThanLevenshteinDistanceForPropertyNames() {
+		List<String> names = new ArrayList<>();
+		for (ItemMetadata property : getDefaultMicroProfileProjectInfo().getProperties()) {
+			names.add(property.getName());
+		}
+		Random random = new Random(0);
+		char[] alphabet = "abcdefghijklmnopqrstuvwxyz.-".toCharArray();
+		for (int i = 0; i < 5000; i++) {
+			String name = names.get(random.nextInt(names.size()));
+			String key = addTypos(name, random.nextInt(5), alphabet, random);
+			for (int threshold = 0; threshold <= key.length(); threshold++) {
+				assertSameDistance(name, key, threshold);
+			}
+		}
+	}
+
+	private static void assertSameDistance(String left, String right, int threshold) {
+		int expected = new LevenshteinDistance(threshold).apply(left, right);
+		Assert.assertEquals("'" + left + "' / '" + right + "' (" + threshold + ")", expected,
+				BitParallelLevenshteinDistance.apply(left, right, threshold));
+	}
+
+	private static void assertDistance(String left, String right, int threshold, int expected) {
+		Assert.assertEquals(expected, BitParallelLevenshteinDistance.apply(left, right, threshold));
+	}
+
+	private static String randomString(int length, char[] alphabet, Random random) {
+		StringBuilder str = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			str.append(alphabet[random.nextInt(alphabet.length)]);
+		}
+		return str.toString();
+	}
+
+	private static String addTypos(String str, int count, char[] alphabet, Random random) {
+		StringBuilder typo = new StringBuilder(str);
+		for (int i = 0; i < count && typo.length() > 0; i++) {
+			int index = random.nextInt(typo.length());
+			char c = alphabet[random.nextInt(alphabet.length)];
+			switch (random.nextInt(3)) {
+			case 0:
+				typo.insert(index, c);
+				break;
+			case 1:
+				typo.deleteCharAt(index);
+				break;
+			default:
+				typo.setCharAt(index, c);
+			}
+		}
+		return typo.toString();
+	}
+}
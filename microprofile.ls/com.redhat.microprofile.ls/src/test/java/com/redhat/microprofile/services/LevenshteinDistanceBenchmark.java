@@ -0,0 +1,88 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.services;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+
+/**
+ * Benchmark of the bounded edit distance between a property key with a typo
+ * and all the property names of 'all-quarkus-properties.json' with the
+ * threshold of the 'Did you mean' code actions (10% of the name length):
+ * {@link LevenshteinDistance} and {@link BitParallelLevenshteinDistance}.
+ *
+ * <p>
+ * The benchmark is in the services package because both implementations are
+ * package-private. Run it with the main method from the test classpath.
+ * </p>
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevenshteinDistanceBenchmark {
+
+	@Param({ "quarkus.application.nme", "quarkus.hibernate-orm.database.generatin.halt-on-error" })
+	public String key;
+
+	private String[] names;
+
+	private int[] thresholds;
+
+	@Setup
+	public void setup() {
+		List<ItemMetadata> properties = MicroProfileAssert.getDefaultMicroProfileProjectInfo().getProperties();
+		names = new String[properties.size()];
+		thresholds = new int[properties.size()];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = properties.get(i).getName();
+			thresholds[i] = MicroProfilePropertySimilarityIndex.getMaxDistance(names[i].length());
+		}
+	}
+
+	@Benchmark
+	public void levenshteinDistance(Blackhole blackhole) {
+		for (int i = 0; i < names.length; i++) {
+			blackhole.consume(new LevenshteinDistance(thresholds[i]).apply(names[i], key));
+		}
+	}
+
+	@Benchmark
+	public void bitParallel(Blackhole blackhole) {
+		for (int i = 0; i < names.length; i++) {
+			blackhole.consume(BitParallelLevenshteinDistance.apply(names[i], key, thresholds[i]));
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(LevenshteinDistanceBenchmark.class.getSimpleName()).build()).run();
+	}
+}
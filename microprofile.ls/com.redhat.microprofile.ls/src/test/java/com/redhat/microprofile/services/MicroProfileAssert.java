@@ -130,6 +130,25 @@ public class MicroProfileAssert {
 	public static void testCompletionFor(String value, boolean snippetSupport, boolean insertSpacing,
 			String fileURI, Integer expectedCount, MicroProfileProjectInfo projectInfo, 
 			CompletionItem... expectedItems) throws BadLocationException {
+		testCompletionFor(value, snippetSupport, insertSpacing, 0, 0, fileURI, expectedCount, projectInfo,
+				expectedItems);
+	}
+
+	public static CompletionList testCompletionWithMaxItemsFor(String value, boolean snippetSupport, int maxItems,
+			Integer expectedCount, CompletionItem... expectedItems) throws BadLocationException {
+		return testCompletionFor(value, snippetSupport, false, maxItems, 0, null, expectedCount,
+				getDefaultMicroProfileProjectInfo(), expectedItems);
+	}
+
+	public static CompletionList testCompletionWithSegmentsFor(String value, int segmentThreshold,
+			Integer expectedCount, CompletionItem... expectedItems) throws BadLocationException {
+		return testCompletionFor(value, false, false, 0, segmentThreshold, null, expectedCount,
+				getDefaultMicroProfileProjectInfo(), expectedItems);
+	}
+
+	private static CompletionList testCompletionFor(String value, boolean snippetSupport, boolean insertSpacing,
+			int maxItems, int segmentThreshold, String fileURI, Integer expectedCount, MicroProfileProjectInfo projectInfo,
+			CompletionItem... expectedItems) throws BadLocationException {
 		int offset = value.indexOf('|');
 		value = value.substring(0, offset) + value.substring(offset + 1);
 
@@ -142,15 +161,24 @@ public class MicroProfileAssert {
 		completionItemCapabilities.setSnippetSupport(snippetSupport);
 		CompletionCapabilities completionCapabilities = new CompletionCapabilities(completionItemCapabilities);
 		completionSettings.setCapabilities(completionCapabilities);
+		completionSettings.setMaxItems(maxItems);
+		completionSettings.setSegmentThreshold(segmentThreshold);
 
 		MicroProfileFormattingSettings formattingSettings = new MicroProfileFormattingSettings();
 		formattingSettings.setSurroundEqualsWithSpaces(insertSpacing);
 
+		// the client supports the command which triggers the completion (ex : VSCode)
+		MicroProfileCommandCapabilities commandCapabilities = new MicroProfileCommandCapabilities();
+		commandCapabilities.setCapabilities(new CommandCapabilities(
+				new CommandKindCapabilities(Arrays.asList(CommandKind.COMMAND_TRIGGER_SUGGEST))));
+
 		MicroProfileLanguageService languageService = new MicroProfileLanguageService();
-		CompletionList list = languageService.doComplete(model, position, projectInfo, completionSettings, formattingSettings, () -> {
-		});
+		CompletionList list = languageService.doComplete(model, position, projectInfo, completionSettings,
+				formattingSettings, commandCapabilities, () -> {
+				});
 
 		assertCompletions(list, expectedCount, expectedItems);
+		return list;
 	}
 
 	public static void assertCompletions(CompletionList actual, Integer expectedCount,
@@ -0,0 +1,95 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.metadata.ItemHint.ValueHint;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.model.values.PropertyMatcher;
+import com.redhat.microprofile.model.values.ValuesRule;
+import com.redhat.microprofile.model.values.ValuesRulesManager;
+import com.redhat.microprofile.services.MicroProfileCompletionTemplates.PropertyTemplate;
+
+/**
+ * Test for {@link MicroProfileCompletionTemplates}.
+ *
+ */
+public class MicroProfileCompletionTemplatesTest {
+
+	@Test
+	public void reuseTemplates() {
+		ValuesRulesManager valuesRulesManager = new ValuesRulesManager(false);
+		ItemMetadata property = createProperty("quarkus.http.port", "8080");
+		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
+		info.setProperties(new ArrayList<>(Arrays.asList(property)));
+
+		PropertyTemplate template = MicroProfileCompletionTemplates.getTemplates(info, valuesRulesManager)
+				.getTemplate(property, info, true, true, false);
+		Assert.assertEquals("quarkus.http.port=${0:8080}", template.getInsertText(null));
+		Assert.assertEquals("%dev.quarkus.http.port", template.getFilterText("dev"));
+		Assert.assertEquals("%dev.quarkus.http.port=${0:8080}", template.getInsertText("dev"));
+		Assert.assertSame(template.getDocumentation("dev"), template.getDocumentation("dev"));
+
+		// same snapshot, same capabilities
+		Assert.assertSame(template, MicroProfileCompletionTemplates.getTemplates(info, valuesRulesManager)
+				.getTemplate(property, info, true, true, false));
+
+		// other capabilities
+		PropertyTemplate plainText = MicroProfileCompletionTemplates.getTemplates(info, valuesRulesManager)
+				.getTemplate(property, info, false, false, true);
+		Assert.assertEquals("quarkus.http.port = 8080", plainText.getInsertText(null));
+
+		// the properties changed
+		info.getProperties().add(createProperty("quarkus.http.host", null));
+		Assert.assertNotSame(template, MicroProfileCompletionTemplates.getTemplates(info, valuesRulesManager)
+				.getTemplate(property, info, true, true, false));
+	}
+
+	@Test
+	public void registerRules() {
+		ValuesRulesManager valuesRulesManager = new ValuesRulesManager(false);
+		ItemMetadata property = createProperty("foo.bar", null);
+		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
+		info.setProperties(Arrays.asList(property));
+
+		PropertyTemplate template = MicroProfileCompletionTemplates.getTemplates(info, valuesRulesManager)
+				.getTemplate(property, info, true, false, false);
+		Assert.assertEquals("foo.bar=$0", template.getInsertText(null));
+
+		ValueHint value = new ValueHint();
+		value.setValue("a");
+		PropertyMatcher matcher = new PropertyMatcher();
+		matcher.setNames(Arrays.asList("foo.bar"));
+		ValuesRule rule = new ValuesRule();
+		rule.setMatcher(matcher);
+		rule.setValues(Arrays.asList(value));
+		valuesRulesManager.registerRules(Collections.singletonList(rule));
+
+		// the values of the new rule are proposed with a choice
+		template = MicroProfileCompletionTemplates.getTemplates(info, valuesRulesManager).getTemplate(property, info,
+				true, false, false);
+		Assert.assertEquals("foo.bar=${1|a|}", template.getInsertText(null));
+	}
+
+	private static ItemMetadata createProperty(String name, String defaultValue) {
+		ItemMetadata property = new ItemMetadata();
+		property.setName(name);
+		property.setType("int");
+		property.setDefaultValue(defaultValue);
+		return property;
+	}
+}
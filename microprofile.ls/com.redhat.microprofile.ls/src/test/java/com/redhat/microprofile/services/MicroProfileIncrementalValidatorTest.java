@@ -0,0 +1,180 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.services;
+
+import static com.redhat.microprofile.services.MicroProfileAssert.getDefaultMicroProfileProjectInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.metadata.ItemHint.ValueHint;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.ls.commons.BadLocationException;
+import com.redhat.microprofile.ls.commons.TextDocument;
+import com.redhat.microprofile.model.PropertiesModel;
+import com.redhat.microprofile.model.values.PropertyMatcher;
+import com.redhat.microprofile.model.values.ValuesRule;
+import com.redhat.microprofile.model.values.ValuesRulesManager;
+import com.redhat.microprofile.settings.MicroProfileValidationSettings;
+import com.redhat.microprofile.settings.MicroProfileValidationTypeSettings;
+
+/**
+ * Test for {@link MicroProfileIncrementalValidator}.
+ *
+ */
+public class MicroProfileIncrementalValidatorTest {
+
+	private final MicroProfileLanguageService languageService = new MicroProfileLanguageService();
+
+	private final MicroProfileIncrementalValidator validator = new MicroProfileIncrementalValidator();
+
+	private final MicroProfileProjectInfo projectInfo = createProjectInfo();
+
+	private final MicroProfileValidationSettings settings = createValidationSettings();
+
+	@Test
+	public void revalidateChangedLines() throws BadLocationException {
+		String value = "quarkus.http.port=8080\n" + //
+				"quarkus.http.cors=XXX\n" + //
+				"unknown.property=1\n" + //
+				"# comment\n" + //
+				"%dev.quarkus.http.port=abc\n" + //
+				"quarkus.required.property=";
+		TextDocument document = new TextDocument(value, "application.properties");
+		document.setIncremental(true);
+
+		assertSameAsFullValidation(document, 5);
+
+		// update a value
+		update(document, 1, 18, 1, 21, "true");
+		assertSameAsFullValidation(document, 1);
+
+		// insert lines (the diagnostics of the next properties are moved)
+		update(document, 0, 0, 0, 0, "quarkus.http.host=localhost\nquarkus.http.host=0.0.0.0\n");
+		assertSameAsFullValidation(document, 2);
+
+		// remove a duplicate
+		update(document, 1, 0, 2, 0, "");
+		assertSameAsFullValidation(document, 0);
+
+		// add a duplicate of the next property
+		update(document, 0, 0, 0, 0, "unknown.property=2\n");
+		assertSameAsFullValidation(document, 1);
+
+		// set the value of the required property
+		update(document, 6, 26, 6, 26, "foo");
+		assertSameAsFullValidation(document, 1);
+
+		// several updates before the validation
+		update(document, 5, 0, 6, 0, "");
+		update(document, 5, 0, 5, 0, "a.b=c\n");
+		update(document, 6, 0, 6, 0, "\n\n");
+		assertSameAsFullValidation(document, 1);
+
+		// replace the whole text
+		document.update(
+				Arrays.asList(new TextDocumentContentChangeEvent("quarkus.http.port=8080\nquarkus.http.port=8081")));
+		assertSameAsFullValidation(document, 2);
+	}
+
+	@Test
+	public void changeProjectInfo() throws BadLocationException {
+		TextDocument document = new TextDocument("quarkus.http.port=8080\nfoo=bar", "application.properties");
+		document.setIncremental(true);
+		assertSameAsFullValidation(document, 2);
+		assertSameAsFullValidation(document, 0);
+
+		MicroProfileProjectInfo projectInfo = new MicroProfileProjectInfo();
+		projectInfo.setProperties(new ArrayList<>());
+		PropertiesModel model = PropertiesModel.parse(document);
+		List<Diagnostic> actual = languageService.doDiagnostics(model, projectInfo, settings, validator, () -> {
+		});
+		Assert.assertEquals(languageService.doDiagnostics(model, projectInfo, settings, () -> {
+		}), actual);
+		Assert.assertEquals(2, validator.getRevalidatedCount());
+	}
+
+	@Test
+	public void registerRules() {
+		ItemMetadata property = new ItemMetadata();
+		property.setName("foo.bar");
+		property.setType("java.lang.String");
+		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
+		info.setProperties(Arrays.asList(property));
+		TextDocument document = new TextDocument("foo.bar=foo", "application.properties");
+		document.setIncremental(true);
+		PropertiesModel model = PropertiesModel.parse(document);
+		ValuesRulesManager valuesRulesManager = new ValuesRulesManager(false);
+		Assert.assertEquals(0, validator.validate(model, info, valuesRulesManager, settings, () -> {
+		}).size());
+
+		ValueHint value = new ValueHint();
+		value.setValue("bar");
+		PropertyMatcher matcher = new PropertyMatcher();
+		matcher.setNames(Arrays.asList("foo.bar"));
+		ValuesRule rule = new ValuesRule();
+		rule.setMatcher(matcher);
+		rule.setValues(Arrays.asList(value));
+		valuesRulesManager.registerRules(Collections.singletonList(rule));
+
+		// the unchanged property is re-checked with the new rule
+		Assert.assertEquals(1, validator.validate(model, info, valuesRulesManager, settings, () -> {
+		}).size());
+		Assert.assertEquals(1, validator.getRevalidatedCount());
+	}
+
+	private void assertSameAsFullValidation(TextDocument document, int expectedRevalidatedCount) {
+		PropertiesModel model = PropertiesModel.parse(document);
+		List<Diagnostic> actual = languageService.doDiagnostics(model, projectInfo, settings, validator, () -> {
+		});
+		List<Diagnostic> expected = languageService.doDiagnostics(model, projectInfo, settings, () -> {
+		});
+		Assert.assertEquals(expected, actual);
+		Assert.assertEquals(expectedRevalidatedCount, validator.getRevalidatedCount());
+	}
+
+	private static void update(TextDocument document, int startLine, int startCharacter, int endLine,
+			int endCharacter, String text) throws BadLocationException {
+		Range range = new Range(new Position(startLine, startCharacter), new Position(endLine, endCharacter));
+		int length = document.offsetAt(range.getEnd()) - document.offsetAt(range.getStart());
+		document.update(Arrays.asList(new TextDocumentContentChangeEvent(range, length, text)));
+	}
+
+	private static MicroProfileProjectInfo createProjectInfo() {
+		MicroProfileProjectInfo defaultProjectInfo = getDefaultMicroProfileProjectInfo();
+		List<ItemMetadata> properties = new ArrayList<>(defaultProjectInfo.getProperties());
+		ItemMetadata required = new ItemMetadata();
+		required.setName("quarkus.required.property");
+		required.setRequired(true);
+		properties.add(required);
+		MicroProfileProjectInfo projectInfo = new MicroProfileProjectInfo();
+		projectInfo.setProperties(properties);
+		projectInfo.setHints(defaultProjectInfo.getHints());
+		return projectInfo;
+	}
+
+	private static MicroProfileValidationSettings createValidationSettings() {
+		MicroProfileValidationSettings settings = new MicroProfileValidationSettings();
+		MicroProfileValidationTypeSettings error = new MicroProfileValidationTypeSettings();
+		error.setSeverity("error");
+		settings.setRequired(error);
+		return settings;
+	}
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.services;
+
+import static com.redhat.microprofile.services.MicroProfileAssert.getDefaultMicroProfileProjectInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.utils.MicroProfilePropertiesUtils;
+
+/**
+ * Test for {@link MicroProfilePropertySimilarityIndex}.
+ *
+ */
+public class MicroProfilePropertySimilarityIndexTest {
+
+	private final MicroProfileProjectInfo projectInfo = getDefaultMicroProfileProjectInfo();
+
+	private final MicroProfilePropertySimilarityIndex index = MicroProfilePropertySimilarityIndex
+			.getIndex(projectInfo);
+
+	@Test
+	public void similarNames() {
+		Assert.assertEquals(Arrays.asList("quarkus.application.name"),
+				index.findSimilarNames("quarkus.application.nme", 10));
+		Assert.assertEquals(Arrays.asList("quarkus.http.port"), index.findSimilarNames("quarkus.htp.port", 10));
+		// too far
+		Assert.assertEquals(Collections.emptyList(), index.findSimilarNames("quarkus.appli.nme", 10));
+		Assert.assertEquals(Collections.emptyList(), index.findSimilarNames("", 10));
+	}
+
+	@Test
+	public void nearestFirst() {
+		// 'quarkus.http.ssl-port' is at distance 1 and 'quarkus.http.port' at
+		// distance 4
+		List<String> names = index.findSimilarNames("quarkus.http.ssl-prt", 10);
+		Assert.assertFalse(names.isEmpty());
+		Assert.assertEquals("quarkus.http.ssl-port", names.get(0));
+		Assert.assertEquals(1, index.findSimilarNames("quarkus.http.ssl-prt", 1).size());
+	}
+
+	@Test
+	public void similarMappedNames() {
+		Assert.assertEquals(Arrays.asList("quarkus.log.category.\"org.acme\".level"),
+				index.findSimilarNames("quarkus.log.categry.\"org.acme\".level", 10));
+		Assert.assertEquals(Arrays.asList("quarkus.log.category.foo.level"),
+				index.findSimilarNames("quarkus.log.category.foo.levl", 10));
+		Assert.assertEquals(Arrays.asList("quarkus.datasource.users.url"),
+				index.findSimilarNames("quarkus.datasorce.users.url", 10));
+		// the number of segments is not the same
+		Assert.assertEquals(Collections.emptyList(), index.findSimilarNames("quarkus.log.categry.level", 10));
+	}
+
+	@Test
+	public void sameNamesThanScan() {
+		List<String> names = new ArrayList<>();
+		for (ItemMetadata property : projectInfo.getProperties()) {
+			if (!MicroProfilePropertiesUtils.isMappedProperty(property.getName())) {
+				names.add(property.getName());
+			}
+		}
+		Random random = new Random(0);
+		for (int i = 0; i < 1000; i++) {
+			String name = names.get(random.nextInt(names.size()));
+			String typo = addTypos(name, random.nextInt(4), random);
+			Set<String> similarNames = new HashSet<>(index.findSimilarNames(typo, Integer.MAX_VALUE));
+			// ignore the names built from the mapped names
+			similarNames.retainAll(names);
+			Assert.assertEquals(typo, scan(names, typo), similarNames);
+		}
+	}
+
+	private static Set<String> scan(List<String> names, String propertyName) {
+		Set<String> similarNames = new HashSet<>();
+		for (String name : names) {
+			int maxDistance = MicroProfilePropertySimilarityIndex.getMaxDistance(name.length());
+			if (new LevenshteinDistance(maxDistance).apply(name, propertyName) != -1) {
+				similarNames.add(name);
+			}
+		}
+		return similarNames;
+	}
+
+	private static String addTypos(String name, int count, Random random) {
+		StringBuilder typo = new StringBuilder(name);
+		for (int i = 0; i < count && typo.length() > 0; i++) {
+			int index = random.nextInt(typo.length());
+			char c = (char) ('a' + random.nextInt(26));
+			switch (random.nextInt(3)) {
+			case 0:
+				typo.insert(index, c);
+				break;
+			case 1:
+				typo.deleteCharAt(index);
+				break;
+			default:
+				typo.setCharAt(index, c);
+			}
+		}
+		return typo.toString();
+	}
+}
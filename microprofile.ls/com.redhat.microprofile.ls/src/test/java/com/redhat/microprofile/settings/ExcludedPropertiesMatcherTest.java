@@ -0,0 +1,104 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.settings;
+
+import java.util.Random;
+
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.redhat.microprofile.utils.AntPathMatcher;
+
+/**
+ * Test with {@link ExcludedPropertiesMatcher}, which must match the same
+ * property names than {@link AntPathMatcher}.
+ *
+ */
+public class ExcludedPropertiesMatcherTest {
+
+	@Test
+	public void sameResultAsAntPathMatcher() {
+		String[] patterns = { "quarkus.http.port", "quarkus.datasource.*", "*.url", "*/mp-rest/url", "*/mp-rest/*",
+				"quarkus.log.category.?.level", "quarkus.**", "**", "quarkus.*.enabled", "a*b*c", "{name}.url",
+				"quarkus.{x}.port", "quarkus.log.category.{*}.level", "{}", "a{x:b}", "*", "?" };
+		String[] names = { "quarkus.http.port", "quarkus.http.ports", "quarkus.datasource.url",
+				"quarkus.datasource", "org.acme.Service/mp-rest/url", "org.acme.Service/mp-rest/scope",
+				"quarkus.log.category.a.level", "quarkus.log.category.ab.level", "quarkus.log.category.{*}.level", "quarkus.ssl.enabled", "abc",
+				"axxbyyc", "acb", "", "a", "/a", "a/", "a//b", "quarkus.\n.enabled", "x.url" };
+		for (String pattern : patterns) {
+			for (String name : names) {
+				assertSameResult(new String[] { pattern }, name);
+			}
+		}
+		for (String name : names) {
+			assertSameResult(patterns, name);
+		}
+	}
+
+	@Test
+	public void randomSameResultAsAntPathMatcher() {
+		Random random = new Random(42);
+		char[] alphabet = "ab.*?/{}:x".toCharArray();
+		for (int i = 0; i < 2000; i++) {
+			String[] patterns = new String[1 + random.nextInt(4)];
+			for (int j = 0; j < patterns.length; j++) {
+				patterns[j] = randomString(random, alphabet, 6);
+			}
+			ExcludedPropertiesMatcher matcher = ExcludedPropertiesMatcher.compile(patterns);
+			for (int j = 0; j < 50; j++) {
+				String name = randomString(random, "ab./".toCharArray(), 8);
+				Assert.assertEquals(String.join(", ", patterns) + " with '" + name + "'", antMatch(patterns, name),
+						matcher.match(name));
+			}
+		}
+	}
+
+	@Test
+	public void resolvedSettings() {
+		MicroProfileValidationTypeSettings settings = new MicroProfileValidationTypeSettings();
+		settings.setSeverity("warning");
+		settings.setExcluded(new String[] { "quarkus.datasource.*" });
+		Assert.assertEquals(DiagnosticSeverity.Warning, settings.getDiagnosticSeverity("quarkus.http.port"));
+		Assert.assertNull(settings.getDiagnosticSeverity("quarkus.datasource.url"));
+
+		settings.setExcluded(new String[] { "quarkus.http.port" });
+		Assert.assertNull(settings.getDiagnosticSeverity("quarkus.http.port"));
+		Assert.assertEquals(DiagnosticSeverity.Warning, settings.getDiagnosticSeverity("quarkus.datasource.url"));
+
+		settings.setSeverity("ERROR");
+		Assert.assertEquals(DiagnosticSeverity.Error, settings.getDiagnosticSeverity("quarkus.datasource.url"));
+		settings.setSeverity("none");
+		Assert.assertNull(settings.getDiagnosticSeverity("quarkus.datasource.url"));
+	}
+
+	private static void assertSameResult(String[] patterns, String name) {
+		Assert.assertEquals(String.join(", ", patterns) + " with '" + name + "'", antMatch(patterns, name),
+				ExcludedPropertiesMatcher.compile(patterns).match(name));
+	}
+
+	private static boolean antMatch(String[] patterns, String name) {
+		AntPathMatcher matcher = new AntPathMatcher();
+		for (String pattern : patterns) {
+			if (matcher.isPattern(pattern) ? matcher.match(pattern, name) : pattern.equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String randomString(Random random, char[] alphabet, int maxLength) {
+		char[] chars = new char[random.nextInt(maxLength + 1)];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = alphabet[random.nextInt(alphabet.length)];
+		}
+		return new String(chars);
+	}
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.metadata.ItemHint;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.model.values.ValuesRule;
+import com.redhat.microprofile.model.values.ValuesRulesManager;
+
+/**
+ * Test for {@link ConfigurationMetadataIndexes}.
+ *
+ */
+public class ConfigurationMetadataIndexesTest {
+
+	@Test
+	public void reuseIndexes() {
+		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
+		info.setProperties(new ArrayList<>());
+		info.setHints(new ArrayList<>());
+
+		Object index = ConfigurationMetadataIndexes.getIndex(info, Object.class, c -> new Object());
+		Assert.assertSame(index, ConfigurationMetadataIndexes.getIndex(info, Object.class, c -> new Object()));
+		// another index type
+		Assert.assertNotSame(index, ConfigurationMetadataIndexes.getIndex(info, String.class, c -> "index"));
+
+		// the hints changed
+		info.getHints().add(new ItemHint());
+		Object updated = ConfigurationMetadataIndexes.getIndex(info, Object.class, c -> new Object());
+		Assert.assertNotSame(index, updated);
+
+		// the properties changed
+		info.getProperties().add(new ItemMetadata());
+		Assert.assertNotSame(updated, ConfigurationMetadataIndexes.getIndex(info, Object.class, c -> new Object()));
+	}
+
+	@Test
+	public void rebuildWhenValuesRulesChange() {
+		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
+		info.setProperties(new ArrayList<>());
+		ValuesRulesManager valuesRulesManager = new ValuesRulesManager(false);
+
+		Object index = ConfigurationMetadataIndexes.getIndex(info, valuesRulesManager, Object.class,
+				(c, rules) -> new Object());
+		Assert.assertSame(index, ConfigurationMetadataIndexes.getIndex(info, valuesRulesManager, Object.class,
+				(c, rules) -> new Object()));
+
+		valuesRulesManager.registerRules(Collections.singletonList(new ValuesRule()));
+		Assert.assertNotSame(index, ConfigurationMetadataIndexes.getIndex(info, valuesRulesManager, Object.class,
+				(c, rules) -> new Object()));
+	}
+}
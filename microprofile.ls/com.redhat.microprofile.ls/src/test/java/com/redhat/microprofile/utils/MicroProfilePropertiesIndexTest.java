@@ -0,0 +1,134 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.utils;
+
+import static com.redhat.microprofile.services.MicroProfileAssert.getDefaultMicroProfileProjectInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.settings.MicroProfileValidationTypeSettings;
+
+/**
+ * Test for {@link MicroProfilePropertiesIndex}.
+ *
+ */
+public class MicroProfilePropertiesIndexTest {
+
+	@Test
+	public void sameResultAsScan() {
+		MicroProfileProjectInfo info = getDefaultMicroProfileProjectInfo();
+		MicroProfilePropertiesIndex index = MicroProfilePropertiesIndex.getIndex(info);
+		List<String> keys = Arrays.asList("foo", "\"com.acme\"", "com\\.acme", "a.b", "");
+		for (ItemMetadata property : info.getProperties()) {
+			String name = property.getName();
+			assertSameResultAsScan(name, index, info);
+			assertSameResultAsScan(name + ".", index, info);
+			assertSameResultAsScan(name + ".foo", index, info);
+			assertSameResultAsScan(name.substring(0, name.length() - 1), index, info);
+			for (String key : keys) {
+				assertSameResultAsScan(name.replace("{*}", key), index, info);
+			}
+		}
+	}
+
+	@Test
+	public void firstPropertyWins() {
+		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
+		info.setProperties(new ArrayList<>(Arrays.asList(createProperty("quarkus.log.category.{*}.level"),
+				createProperty("quarkus.log.category.com.level"))));
+		MicroProfilePropertiesIndex index = MicroProfilePropertiesIndex.getIndex(info);
+		Assert.assertEquals("quarkus.log.category.{*}.level",
+				index.getProperty("quarkus.log.category.com.level").getName());
+		Assert.assertEquals("quarkus.log.category.{*}.level",
+				index.getProperty("quarkus.log.category.\"com.acme\".level").getName());
+		Assert.assertNull(index.getProperty("quarkus.log.category..level"));
+		Assert.assertNull(index.getProperty("quarkus.log.category.level"));
+	}
+
+	@Test
+	public void propertyByName() {
+		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
+		info.setProperties(new ArrayList<>(Arrays.asList(createProperty("quarkus.log.category.{*}.{*}"),
+				createProperty("quarkus.log.category.{*}.level"), createProperty("quarkus.log.level"))));
+		MicroProfilePropertiesIndex index = MicroProfilePropertiesIndex.getIndex(info);
+		Assert.assertEquals("quarkus.log.category.{*}.level",
+				index.getPropertyByName("quarkus.log.category.{*}.level").getName());
+		Assert.assertEquals("quarkus.log.level", index.getPropertyByName("quarkus.log.level").getName());
+		// the exact name is required
+		Assert.assertNull(index.getPropertyByName("quarkus.log.category.com.level"));
+		Assert.assertNull(index.getPropertyByName(null));
+	}
+
+	@Test
+	public void updatedProperties() {
+		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
+		info.setProperties(new ArrayList<>(Arrays.asList(createProperty("quarkus.http.port"))));
+		Assert.assertNotNull(MicroProfilePropertiesUtils.getProperty("quarkus.http.port", info));
+		Assert.assertNull(MicroProfilePropertiesUtils.getProperty("greeting.message", info));
+
+		info.getProperties().add(createProperty("greeting.message"));
+		Assert.assertNotNull(MicroProfilePropertiesUtils.getProperty("greeting.message", info));
+
+		info.getProperties().set(0, createProperty("quarkus.http.host"));
+		MicroProfilePropertiesIndex.invalidate(info);
+		Assert.assertNull(MicroProfilePropertiesUtils.getProperty("quarkus.http.port", info));
+		Assert.assertNotNull(MicroProfilePropertiesUtils.getProperty("quarkus.http.host", info));
+	}
+
+	@Test
+	public void requiredProperties() {
+		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
+		ItemMetadata url = createProperty("quarkus.datasource.url");
+		url.setRequired(true);
+		ItemMetadata port = createProperty("quarkus.http.port");
+		ItemMetadata driver = createProperty("quarkus.datasource.driver");
+		driver.setRequired(true);
+		info.setProperties(new ArrayList<>(Arrays.asList(url, port, driver)));
+		MicroProfilePropertiesIndex index = MicroProfilePropertiesIndex.getIndex(info);
+		Assert.assertEquals(Arrays.asList(url, driver), index.getRequiredProperties());
+
+		MicroProfileValidationTypeSettings settings = new MicroProfileValidationTypeSettings();
+		settings.setSeverity("warning");
+		Assert.assertEquals(Arrays.asList(url, driver), index.getRequiredProperties(settings));
+		// the filtered list is reused while the settings don't change
+		Assert.assertSame(index.getRequiredProperties(settings), index.getRequiredProperties(settings));
+
+		settings.setExcluded(new String[] { "quarkus.datasource.d*" });
+		Assert.assertEquals(Arrays.asList(url), index.getRequiredProperties(settings));
+
+		settings.setSeverity("none");
+		Assert.assertTrue(index.getRequiredProperties(settings).isEmpty());
+	}
+
+	private static void assertSameResultAsScan(String propertyName, MicroProfilePropertiesIndex index,
+			MicroProfileProjectInfo info) {
+		ItemMetadata expected = null;
+		for (ItemMetadata property : info.getProperties()) {
+			if (MicroProfilePropertiesUtils.match(propertyName, property.getName())) {
+				expected = property;
+				break;
+			}
+		}
+		Assert.assertSame("Property for '" + propertyName + "'", expected, index.getProperty(propertyName));
+	}
+
+	private static ItemMetadata createProperty(String name) {
+		ItemMetadata property = new ItemMetadata();
+		property.setName(name);
+		return property;
+	}
+}
@@ -0,0 +1,59 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.utils;
+
+import static com.redhat.microprofile.utils.MicroProfilePropertyNameScorer.NO_MATCH;
+import static com.redhat.microprofile.utils.MicroProfilePropertyNameScorer.PREFIX_SCORE;
+import static com.redhat.microprofile.utils.MicroProfilePropertyNameScorer.score;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for {@link MicroProfilePropertyNameScorer}.
+ *
+ */
+public class MicroProfilePropertyNameScorerTest {
+
+	@Test
+	public void kindsOfMatch() {
+		String name = "quarkus.http.cors.methods";
+		Assert.assertEquals(PREFIX_SCORE, score("", name));
+		Assert.assertEquals(PREFIX_SCORE, score("quarkus.http.co", name));
+		Assert.assertEquals(PREFIX_SCORE, score("Quarkus.HTTP", name));
+
+		int segment = score("q.h.cors", name);
+		int camelHump = score("qhcm", name);
+		int subsequence = score("qkshttpcors", name);
+		Assert.assertTrue(segment < PREFIX_SCORE);
+		Assert.assertTrue(camelHump < segment);
+		Assert.assertTrue(subsequence < camelHump);
+		Assert.assertTrue(subsequence > 0);
+
+		Assert.assertEquals(NO_MATCH, score("http.cors.x", name));
+		Assert.assertEquals(NO_MATCH, score("uarkus", name));
+		Assert.assertEquals(NO_MATCH, score("quarkus.http.cors.methods.x", name));
+	}
+
+	@Test
+	public void lessSkipsIsBetter() {
+		Assert.assertTrue(score("q.h.port", "quarkus.http.port") > score("q.h.port", "quarkus.http.ssl.port"));
+		Assert.assertTrue(score("http.port", "quarkus.http.port") > score("http.port", "quarkus.vertx.http.port"));
+		Assert.assertTrue(score("qhp", "quarkus.http.port") > score("qhp", "quarkus.http.ssl.port"));
+		Assert.assertTrue(score("qkport", "quarkus.port") > score("qkport", "quarkus.http.port"));
+	}
+
+	@Test
+	public void wordStarts() {
+		Assert.assertTrue(score("qhcm", "quarkus.http.cors-methods") > 0);
+		Assert.assertTrue(score("mcfg", "mp.configFile") > 0);
+		Assert.assertTrue(score("qns", "quarkus.\"name\".secret") > score("qsc", "quarkus.\"name\".secret"));
+	}
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.utils;
+
+import static com.redhat.microprofile.services.MicroProfileAssert.getDefaultMicroProfileProjectInfo;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.redhat.microprofile.commons.MicroProfileProjectInfo;
+import com.redhat.microprofile.commons.metadata.ItemHint;
+import com.redhat.microprofile.commons.metadata.ItemHint.ValueHint;
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.model.values.PropertyMatcher;
+import com.redhat.microprofile.model.values.ValuesRule;
+import com.redhat.microprofile.model.values.ValuesRulesManager;
+import com.redhat.microprofile.services.QuarkusModel;
+import com.redhat.microprofile.utils.MicroProfilePropertyValuesIndex.PropertyValues;
+
+/**
+ * Test for {@link MicroProfilePropertyValuesIndex}.
+ *
+ */
+public class MicroProfilePropertyValuesIndexTest {
+
+	@Test
+	public void sameResultAsScan() {
+		MicroProfileProjectInfo info = getDefaultMicroProfileProjectInfo();
+		ValuesRulesManager valuesRulesManager = new ValuesRulesManager(true);
+		MicroProfilePropertyValuesIndex index = MicroProfilePropertyValuesIndex.getIndex(info, valuesRulesManager);
+		for (ItemMetadata property : info.getProperties()) {
+			ItemHint hint = info.getHint(property);
+			Collection<ValueHint> expected = hint != null ? hint.getValues()
+					: property.isBooleanType() ? QuarkusModel.BOOLEAN_ENUMS.getValues()
+							: valuesRulesManager.getValues(property, null);
+			PropertyValues values = index.getValues(property, info);
+			Assert.assertSame(property.getName(), expected, values.getEnums());
+			if (expected != null && !property.isBooleanType()) {
+				for (ValueHint value : expected) {
+					Assert.assertSame(value, values.getValue(value.getValue()));
+					Assert.assertTrue(values.isValidEnum(value.getValue()));
+				}
+				Assert.assertNull(values.getValue("XXX"));
+				Assert.assertFalse(property.getName(), values.isValidEnum("XXX"));
+			} else if (expected == null) {
+				Assert.assertTrue(values.isValidEnum("XXX"));
+			}
+		}
+		Assert.assertSame(index, MicroProfilePropertyValuesIndex.getIndex(info, valuesRulesManager));
+	}
+
+	@Test
+	public void registerRules() {
+		MicroProfileProjectInfo info = new MicroProfileProjectInfo();
+		ItemMetadata property = new ItemMetadata();
+		property.setName("foo.bar");
+		property.setType("java.lang.String");
+		info.setProperties(Arrays.asList(property));
+		ValuesRulesManager valuesRulesManager = new ValuesRulesManager(false);
+
+		MicroProfilePropertyValuesIndex index = MicroProfilePropertyValuesIndex.getIndex(info, valuesRulesManager);
+		Assert.assertNull(index.getValues(property, info).getEnums());
+		Assert.assertTrue(index.getValues(property, info).isValidEnum("XXX"));
+
+		ValueHint value = new ValueHint();
+		value.setValue("a");
+		PropertyMatcher matcher = new PropertyMatcher();
+		matcher.setNames(Arrays.asList("foo.bar"));
+		ValuesRule rule = new ValuesRule();
+		rule.setMatcher(matcher);
+		rule.setValues(Arrays.asList(value));
+		valuesRulesManager.registerRules(Collections.singletonList(rule));
+
+		index = MicroProfilePropertyValuesIndex.getIndex(info, valuesRulesManager);
+		Assert.assertEquals(Arrays.asList(value), index.getValues(property, info).getEnums());
+		Assert.assertSame(value, index.getValues(property, info).getValue("a"));
+		Assert.assertFalse(index.getValues(property, info).isValidEnum("XXX"));
+	}
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+* Copyright (c) 2019 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v20.html
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+package com.redhat.microprofile.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.redhat.microprofile.commons.metadata.ItemMetadata;
+import com.redhat.microprofile.commons.metadata.ItemMetadata.TypeKind;
+
+/**
+ * Test with {@link ValueTypeUtils}, which must accept the same values than the
+ * parse methods.
+ *
+ */
+public class ValueTypeUtilsTest {
+
+	private static final List<String> VALUES = Arrays.asList("", " ", "0", "-0", "+0", "-", "+", "1", "-1", "+1",
+			"123", "12a", "a12", "1 ", " 1", "${port}", "true", "false", "TRUE", "32767", "32768", "-32768", "-32769",
+			"2147483647", "2147483648", "-2147483648", "-2147483649", "9223372036854775807", "9223372036854775808",
+			"-9223372036854775808", "-9223372036854775809", "99999999999999999999", "١٢", "1.", ".1", ".",
+			"1.5", "-1.5e10", "1e", "1e+", "1e-5", "1E5", "1.5f", "1.5F", "1d", "1D", "1.5fd", "1x", "NaN", "-NaN",
+			"NaNd", "Infinity", "-Infinity", "+Infinity", "Infinityf", "infinity", "0x1p3", "0X1.8P-2", "0x.8p1",
+			"0x1", "0xp1", "0x1p", "0x1p3f", "0x1.p3d", "0xgp1", "1e400", "1e-400", ".e5", "1.e5", "\t1.5\n", "1..2",
+			"--1", "+-1", "１");
+
+	@Test
+	public void sameResultAsParse() {
+		for (String value : VALUES) {
+			assertSameResultAsParse(value);
+		}
+	}
+
+	@Test
+	public void randomSameResultAsParse() {
+		Random random = new Random(42);
+		char[] alphabet = "0123456789+-.eExXpPfFdDaNnIity \t١".toCharArray();
+		List<String> values = new ArrayList<>();
+		for (int i = 0; i < 20000; i++) {
+			char[] chars = new char[random.nextInt(8)];
+			for (int j = 0; j < chars.length; j++) {
+				chars[j] = alphabet[random.nextInt(alphabet.length)];
+			}
+			values.add(new String(chars));
+			values.add(Long.toString(random.nextLong() >> random.nextInt(64)));
+			values.add(Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20)));
+		}
+		for (String value : values) {
+			assertSameResultAsParse(value);
+		}
+	}
+
+	@Test
+	public void typeKind() {
+		assertTypeKind(TypeKind.BOOLEAN, "boolean", "java.lang.Boolean", "java.util.Optional<java.lang.Boolean>");
+		assertTypeKind(TypeKind.INTEGER, "int", "java.lang.Integer", "java.util.OptionalInt",
+				"java.util.Optional<java.lang.Integer>");
+		assertTypeKind(TypeKind.FLOAT, "float", "java.lang.Float", "java.util.Optional<java.lang.Float>");
+		assertTypeKind(TypeKind.LONG, "long", "java.lang.Long", "java.util.OptionalLong",
+				"java.util.Optional<java.lang.Long>");
+		assertTypeKind(TypeKind.DOUBLE, "double", "java.lang.Double", "java.util.OptionalDouble",
+				"java.util.Optional<java.lang.Double>");
+		assertTypeKind(TypeKind.SHORT, "short", "java.lang.Short", "java.util.Optional<java.lang.Short>");
+		assertTypeKind(TypeKind.OTHER, null, "java.lang.String", "java.util.Optional<java.lang.String>");
+
+		ItemMetadata property = new ItemMetadata();
+		property.setType("int");
+		Assert.assertTrue(property.isIntegerType());
+		property.setType("java.lang.Boolean");
+		Assert.assertFalse(property.isIntegerType());
+		Assert.assertTrue(property.isBooleanType());
+	}
+
+	private static void assertTypeKind(TypeKind expected, String... types) {
+		for (String type : types) {
+			Assert.assertEquals("Kind of '" + type + "'", expected, TypeKind.of(type));
+		}
+	}
+
+	private static void assertSameResultAsParse(String value) {
+		assertSameResult(TypeKind.BOOLEAN, value, v -> "true".equals(v) || "false".equals(v));
+		assertSameResultAsParse(TypeKind.SHORT, value, Short::parseShort);
+		assertSameResultAsParse(TypeKind.INTEGER, value, Integer::parseInt);
+		assertSameResultAsParse(TypeKind.LONG, value, Long::parseLong);
+		assertSameResultAsParse(TypeKind.FLOAT, value, Float::parseFloat);
+		assertSameResultAsParse(TypeKind.DOUBLE, value, Double::parseDouble);
+		Assert.assertTrue(ValueTypeUtils.isValid(TypeKind.OTHER, value));
+	}
+
+	private static void assertSameResult(TypeKind kind, String value, Predicate<String> validator) {
+		Assert.assertEquals(kind + " '" + value + "'", validator.test(value), ValueTypeUtils.isValid(kind, value));
+	}
+
+	private static void assertSameResultAsParse(TypeKind kind, String value, Parser parser) {
+		boolean expected;
+		try {
+			parser.parse(value);
+			expected = true;
+		} catch (NumberFormatException e) {
+			expected = false;
+		}
+		Assert.assertEquals(kind + " '" + value + "'", expected, ValueTypeUtils.isValid(kind, value));
+	}
+
+	@FunctionalInterface
+	private static interface Parser {
+
+		void parse(String value);
+	}
+}